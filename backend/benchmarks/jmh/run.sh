@@ -0,0 +1,14 @@
+#!/usr/bin/env bash
+# Builds the backend and the benchmarks, runs them and compares the results with baseline/results.json.
+# Arguments go to JMH, e.g. `./run.sh Dashboard` or `./run.sh -f 3`.
+set -euo pipefail
+
+here="$(cd "$(dirname "$0")" && pwd)"
+backend="$(cd "$here/../.." && pwd)"
+
+(cd "$backend" && mvn -B -q install -DskipTests)
+(cd "$here" && mvn -B -q package)
+
+java -jar "$here/target/benchmarks.jar" -rf json -rff "$here/target/results.json" "$@"
+java -cp "$here/target/benchmarks.jar" com.neurofleetx.benchmarks.BaselineComparison \
+    "$here/baseline/results.json" "$here/target/results.json" "${THRESHOLD_PERCENT:-10}"
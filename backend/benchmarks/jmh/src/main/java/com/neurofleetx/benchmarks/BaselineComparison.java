@@ -0,0 +1,85 @@
+package com.neurofleetx.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compares a JMH JSON result file with the checked-in baseline and exits with 1 when a benchmark got slower
+// by more than the threshold and by more than both runs' error margins combined.
+// Usage: BaselineComparison <baseline.json> <results.json> [threshold-percent, default 10]
+public class BaselineComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <results.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> results = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-62s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode current = entry.getValue().get("primaryMetric");
+            JsonNode previous = baseline.containsKey(entry.getKey())
+                    ? baseline.get(entry.getKey()).get("primaryMetric") : null;
+            String unit = current.get("scoreUnit").asText();
+            if (previous == null) {
+                System.out.printf("%-62s %14s %14s %9s%n", entry.getKey(), "-", format(current, unit), "new");
+                continue;
+            }
+            double before = previous.get("score").asDouble();
+            double after = current.get("score").asDouble();
+            // Throughput improves upwards; the time modes improve downwards
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().get("mode").asText());
+            double change = (after - before) / before * 100.0;
+            double worse = higherIsBetter ? -change : change;
+            double margin = error(previous) + error(current);
+            boolean regressed = worse > threshold && Math.abs(after - before) > margin;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-62s %14s %14s %+8.1f%%%s%n", entry.getKey(), format(previous, unit),
+                    format(current, unit), change, regressed ? "  REGRESSION" : "");
+        }
+        for (String name : baseline.keySet()) {
+            if (!results.containsKey(name)) {
+                System.out.printf("%-62s %14s %14s %9s%n", name, format(baseline.get(name).get("primaryMetric"),
+                        baseline.get(name).get("primaryMetric").get("scoreUnit").asText()), "-", "missing");
+            }
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark method and parameter values
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(result.get("benchmark").asText()
+                    .replace("com.neurofleetx.benchmarks.", ""));
+            JsonNode params = result.get("params");
+            if (params != null) {
+                params.fields().forEachRemaining(param ->
+                        name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            }
+            byName.put(name.toString(), result);
+        }
+        return byName;
+    }
+
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0.0);
+        return Double.isNaN(error) ? 0.0 : error;
+    }
+
+    private static String format(JsonNode metric, String unit) {
+        return String.format("%.3f %s", metric.get("score").asDouble(), unit.replace("/op", ""));
+    }
+}
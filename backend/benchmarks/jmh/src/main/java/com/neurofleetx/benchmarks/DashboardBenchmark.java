@@ -0,0 +1,68 @@
+package com.neurofleetx.benchmarks;
+
+import com.neurofleetx.model.Vehicle;
+import com.neurofleetx.service.FleetMetricsAggregator;
+import com.neurofleetx.service.TelemetrySimulatorService;
+import com.neurofleetx.service.VehicleTelemetryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The dashboard endpoints' aggregation: fleet counters and route analytics, the telemetry dashboard over
+// the sliding windows, and the periodic full rebuild of the counters from the database
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+
+    // Samples per vehicle before measuring, so every analytics window holds data for the whole fleet
+    private static final int SAMPLES_PER_VEHICLE = 5;
+
+    private FleetMetricsAggregator fleetMetrics;
+    private VehicleTelemetryService telemetryService;
+
+    @Setup(Level.Trial)
+    public void setUp(FleetApplication application) {
+        fleetMetrics = application.bean(FleetMetricsAggregator.class);
+        telemetryService = application.bean(VehicleTelemetryService.class);
+        TelemetrySimulatorService simulator = application.bean(TelemetrySimulatorService.class);
+        for (int i = 0; i < SAMPLES_PER_VEHICLE; i++) {
+            for (Vehicle vehicle : application.fleet()) {
+                telemetryService.saveTelemetry(simulator.generateSimulatedTelemetry(vehicle));
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> fleetDashboardStats() {
+        return fleetMetrics.getDashboardStats();
+    }
+
+    @Benchmark
+    public Map<String, Object> routeAnalytics() {
+        return fleetMetrics.getRouteAnalytics();
+    }
+
+    @Benchmark
+    public Map<String, Object> telemetryDashboardStats() {
+        return telemetryService.getDashboardStats();
+    }
+
+    @Benchmark
+    public void reconcileFleetMetrics() {
+        fleetMetrics.reconcile();
+    }
+}
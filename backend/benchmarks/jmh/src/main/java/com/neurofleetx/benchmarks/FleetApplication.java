@@ -0,0 +1,101 @@
+package com.neurofleetx.benchmarks;
+
+import com.neurofleetx.FleetManagementApplication;
+import com.neurofleetx.model.Vehicle;
+import com.neurofleetx.repository.VehicleRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// The whole application on embedded H2, started once per fork, with a seeded fleet. Background jobs that
+// would compete with the measured code (simulator, dispatch) are off; everything else runs as in production.
+@State(Scope.Benchmark)
+public class FleetApplication {
+
+    public static final int FLEET_SIZE = 1000;
+
+    private static final long SEED = 42L;
+
+    private static final String[] ARGUMENTS = {
+        "--server.port=0",
+        "--spring.main.banner-mode=off",
+        "--spring.datasource.url=jdbc:h2:mem:benchmarks;NON_KEYWORDS=YEAR",
+        "--spring.jpa.show-sql=false",
+        "--spring.h2.console.enabled=false",
+        "--logging.level.root=WARN",
+        "--logging.level.com.neurofleetx=WARN",
+        "--logging.level.org.springframework.security=WARN",
+        "--neurofleetx.telemetry.simulator.enabled=false",
+        "--neurofleetx.dispatch.enabled=false"
+    };
+
+    private ConfigurableApplicationContext context;
+    private List<Vehicle> fleet;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = run();
+        fleet = Collections.unmodifiableList(seedFleet());
+    }
+
+    // Benchmarks that need a different database or profile pass their own arguments. A repeated option would be
+    // joined with a comma rather than replaced, so an override takes the place of the default with its name.
+    static ConfigurableApplicationContext run(String... overrides) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        for (String argument : ARGUMENTS) {
+            arguments.put(argument.substring(0, argument.indexOf('=')), argument);
+        }
+        for (String argument : overrides) {
+            arguments.put(argument.substring(0, argument.indexOf('=')), argument);
+        }
+        return new SpringApplicationBuilder(FleetManagementApplication.class)
+                .logStartupInfo(false)
+                .run(arguments.values().toArray(new String[0]));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // The seeded vehicles plus the few from DataInitializer
+    public List<Vehicle> fleet() {
+        return fleet;
+    }
+
+    // Same fleet on every run: statuses cycle and positions are spread over Delhi NCR from a fixed seed
+    private List<Vehicle> seedFleet() {
+        Random random = new Random(SEED);
+        Vehicle.VehicleStatus[] statuses = Vehicle.VehicleStatus.values();
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            Vehicle vehicle = new Vehicle(String.format("BENCH-%04d", i), i % 3 == 0 ? "Van" : "Truck",
+                    "Model " + (i % 7), 500 + (i % 10) * 250, i % 4 == 0 ? "Electric" : "Diesel",
+                    statuses[i % statuses.length], 28.40 + random.nextDouble() * 0.50,
+                    76.90 + random.nextDouble() * 0.60);
+            vehicle.setLicensePlate(String.format("DL-BM-%04d", i));
+            vehicle.setIsElectric(i % 4 == 0);
+            vehicle.setFuelLevel(40.0 + random.nextDouble() * 60.0);
+            vehicle.setBatteryLevel(40 + random.nextInt(60));
+            vehicle.setMileage(random.nextDouble() * 20000.0);
+            vehicles.add(vehicle);
+        }
+        VehicleRepository repository = bean(VehicleRepository.class);
+        repository.saveAll(vehicles);
+        return repository.findAll();
+    }
+}
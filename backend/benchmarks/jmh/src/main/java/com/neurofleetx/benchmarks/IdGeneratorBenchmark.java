@@ -0,0 +1,60 @@
+package com.neurofleetx.benchmarks;
+
+import com.neurofleetx.service.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Booking and trip ID generation in millions per second, on one thread and on one thread per core all
+// sharing the generator. randomFormattedId is the scheme it replaced, which collided after a few dozen IDs.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+    private IdGenerator idGenerator;
+    private final Random random = new Random();
+
+    @Setup(Level.Trial)
+    public void setUp(FleetApplication application) {
+        idGenerator = application.bean(IdGenerator.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String nextIdOneThread() {
+        return idGenerator.nextId("BK-");
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String nextIdAllCores() {
+        return idGenerator.nextId("BK-");
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long nextNumericIdAllCores() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String randomFormattedIdAllCores() {
+        return "BK-" + String.format("%03d", random.nextInt(1000));
+    }
+}
@@ -0,0 +1,50 @@
+package com.neurofleetx.benchmarks;
+
+import com.neurofleetx.security.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+// Token work done on sign-in and on every authenticated request, with the configured HS256 key. The filter
+// uses the single-parse getSubjectIfValid; validateThenGetUserName is the two-parse sequence it replaced.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp(FleetApplication application) {
+        jwtUtils = application.bean(JwtUtils.class);
+        token = jwtUtils.generateJwtToken("admin@neurofleetx.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateJwtToken("admin@neurofleetx.com");
+    }
+
+    @Benchmark
+    public String getSubjectIfValid() {
+        return jwtUtils.getSubjectIfValid(token);
+    }
+
+    @Benchmark
+    public String validateThenGetUserName() {
+        return jwtUtils.validateJwtToken(token) ? jwtUtils.getUserNameFromJwtToken(token) : null;
+    }
+}
@@ -0,0 +1,230 @@
+package com.neurofleetx.benchmarks;
+
+import com.neurofleetx.model.Booking;
+import com.neurofleetx.model.Trip;
+import com.neurofleetx.model.User;
+import com.neurofleetx.model.VehicleTelemetry;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.TripRepository;
+import com.neurofleetx.repository.UserRepository;
+import com.neurofleetx.repository.VehicleTelemetryRepository;
+import com.neurofleetx.service.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// The prod persistence profile on a file database, against the same profile without its tuning: "unindexed"
+// stops the migrations at V1, before the query indexes, and turns JDBC batching and statement ordering off. Reads are the
+// per-driver, per-customer and per-vehicle repository queries over seeded history; the insert is a customer
+// booking burst saved in one transaction. Both variants draw IDs from the sequences, since the ID strategy
+// is fixed in the entity mappings.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    private static final int DRIVERS = 100;
+    private static final int CUSTOMERS = 100;
+    private static final int TRIPS_PER_DRIVER = 200;
+    private static final int BOOKINGS_PER_CUSTOMER = 200;
+    private static final int TELEMETRY_VEHICLES = 100;
+    private static final int SAMPLES_PER_VEHICLE = 1000;
+    private static final int INSERT_BATCH = 100;
+
+    // Seeded rows take IDs far above anything the sequences hand out during a run
+    private static final long SEED_ID_BASE = 1_000_000_000L;
+
+    @Param({"unindexed", "tuned"})
+    public String persistence;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private TripRepository tripRepository;
+    private BookingRepository bookingRepository;
+    private UserRepository userRepository;
+    private VehicleTelemetryRepository telemetryRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private IdGenerator idGenerator;
+    private LocalDateTime seededAt;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        directory = Files.createTempDirectory("persistence-benchmark");
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.profiles.active=prod",
+                "--spring.datasource.url=jdbc:h2:file:" + directory.resolve("fleet")
+                        + ";NON_KEYWORDS=YEAR;DB_CLOSE_ON_EXIT=FALSE"));
+        if ("unindexed".equals(persistence)) {
+            arguments.add("--spring.flyway.target=1");
+            arguments.add("--spring.jpa.properties.hibernate.jdbc.batch_size=0");
+            arguments.add("--spring.jpa.properties.hibernate.order_inserts=false");
+            arguments.add("--spring.jpa.properties.hibernate.order_updates=false");
+        }
+        context = FleetApplication.run(arguments.toArray(new String[0]));
+        tripRepository = context.getBean(TripRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        telemetryRepository = context.getBean(VehicleTelemetryRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        idGenerator = context.getBean(IdGenerator.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    // Keeps the bookings table at its seeded size from one iteration to the next
+    @Setup(Level.Iteration)
+    public void clearInsertedBookings() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE id < ? AND customer_id >= ?", SEED_ID_BASE, SEED_ID_BASE);
+    }
+
+    @Benchmark
+    public List<Trip> driverTripHistory() {
+        return tripRepository.findByDriverIdOrderByCreatedAtDesc(nextDriverId());
+    }
+
+    @Benchmark
+    public Optional<Trip> driverCurrentTrip() {
+        return tripRepository.findCurrentTripByDriverId(nextDriverId());
+    }
+
+    @Benchmark
+    public List<Booking> customerBookings() {
+        return bookingRepository.findByCustomerIdOrderByCreatedAtDesc(SEED_ID_BASE + DRIVERS + nextIndex(CUSTOMERS));
+    }
+
+    @Benchmark
+    public List<VehicleTelemetry> vehicleTelemetryLastHour() {
+        return telemetryRepository.findByVehicleIdInRange(vehicleId(nextIndex(TELEMETRY_VEHICLES)),
+                seededAt.minusHours(1), seededAt);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSERT_BATCH)
+    public List<Booking> insertBookings() {
+        return transactionTemplate.execute(status -> {
+            User customer = userRepository.getReferenceById(SEED_ID_BASE + DRIVERS + nextIndex(CUSTOMERS));
+            List<Booking> bookings = new ArrayList<>(INSERT_BATCH);
+            for (int i = 0; i < INSERT_BATCH; i++) {
+                Booking booking = new Booking(idGenerator.nextId("BK-"), customer, "Connaught Place", "Dwarka",
+                        18.5, 1487.0);
+                booking.setLoadWeight(100);
+                bookings.add(booking);
+            }
+            return bookingRepository.saveAll(bookings);
+        });
+    }
+
+    private long nextDriverId() {
+        return SEED_ID_BASE + nextIndex(DRIVERS);
+    }
+
+    private int nextIndex(int bound) {
+        next = (next + 1) % bound;
+        return next;
+    }
+
+    private static String vehicleId(int index) {
+        return String.format("PERSIST-%03d", index);
+    }
+
+    // Plain JDBC batches: drivers and customers, one vehicle per driver, a trip history per driver with one trip
+    // in progress, a booking history per customer and one sample a minute per vehicle
+    private void seed() {
+        seededAt = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < DRIVERS + CUSTOMERS; i++) {
+            boolean driver = i < DRIVERS;
+            users.add(new Object[] {SEED_ID_BASE + i, "Seed", "User" + i, "seed" + i + "@persistence.local",
+                    "NeuroFleetX", "unused-password-hash", driver ? "driver" : "customer", "USER"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, first_name, last_name, email, company, password, " +
+                "user_type, role) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users);
+
+        List<Object[]> vehicles = new ArrayList<>();
+        for (int i = 0; i < DRIVERS; i++) {
+            vehicles.add(new Object[] {SEED_ID_BASE + i, String.format("PERSIST-V%03d", i), "Truck", "Model",
+                    1000, "Diesel", "EN_ROUTE", 28.6, 77.2, SEED_ID_BASE + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO vehicles (id, vehicle_id, type, model, capacity, fuel_type, status, " +
+                "latitude, longitude, assigned_driver_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", vehicles);
+
+        String[] tripStatuses = {"COMPLETED", "COMPLETED", "CANCELLED", "SCHEDULED"};
+        List<Object[]> trips = new ArrayList<>();
+        for (int d = 0; d < DRIVERS; d++) {
+            for (int t = 0; t < TRIPS_PER_DRIVER; t++) {
+                long id = SEED_ID_BASE + (long) d * TRIPS_PER_DRIVER + t;
+                String status = t == 0 ? "IN_PROGRESS" : tripStatuses[t % tripStatuses.length];
+                trips.add(new Object[] {id, "SEED-TR-" + id, SEED_ID_BASE + d, SEED_ID_BASE + d, "Origin",
+                        "Destination", 12.5, 900.0, status, Timestamp.valueOf(seededAt.minusHours(t))});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO trips (id, trip_id, driver_id, vehicle_id, origin, destination, " +
+                "distance, earnings, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", trips);
+
+        String[] bookingStatuses = {"DELIVERED", "DELIVERED", "CANCELLED", "IN_TRANSIT"};
+        List<Object[]> bookings = new ArrayList<>();
+        for (int c = 0; c < CUSTOMERS; c++) {
+            for (int b = 0; b < BOOKINGS_PER_CUSTOMER; b++) {
+                long id = SEED_ID_BASE + (long) c * BOOKINGS_PER_CUSTOMER + b;
+                bookings.add(new Object[] {id, "SEED-BK-" + id, SEED_ID_BASE + DRIVERS + c, "Pickup", "Delivery",
+                        12.5, 1000.0, bookingStatuses[b % bookingStatuses.length],
+                        Timestamp.valueOf(seededAt.minusHours(b))});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, booking_id, customer_id, pickup_location, " +
+                "delivery_location, distance, estimated_cost, status, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", bookings);
+
+        for (int v = 0; v < TELEMETRY_VEHICLES; v++) {
+            List<Object[]> samples = new ArrayList<>(SAMPLES_PER_VEHICLE);
+            for (int s = 0; s < SAMPLES_PER_VEHICLE; s++) {
+                samples.add(new Object[] {vehicleId(v), 45.0, 70.0, 100.0, 1000.0 + s, 28.6, 77.2,
+                        Timestamp.valueOf(seededAt.minusMinutes(s)), "HEALTHY"});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO vehicle_telemetry (vehicle_id, speed, fuel_level, battery_level, " +
+                    "mileage, latitude, longitude, timestamp, maintenance_status) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", samples);
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
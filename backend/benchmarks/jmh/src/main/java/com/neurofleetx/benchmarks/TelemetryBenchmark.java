@@ -0,0 +1,98 @@
+package com.neurofleetx.benchmarks;
+
+import com.neurofleetx.model.Vehicle;
+import com.neurofleetx.model.VehicleTelemetry;
+import com.neurofleetx.service.TelemetrySimulatorService;
+import com.neurofleetx.service.VehicleTelemetryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Simulator sample generation, and ingest through to the H2 insert. The persisted figure is per sample and
+// covers the synchronous ingest stages plus the batched writer, measured until the whole batch is stored.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class TelemetryBenchmark {
+
+    // Matches the writer's batch size, so each invocation is one full batch
+    private static final int BATCH = 500;
+
+    private TelemetrySimulatorService simulator;
+    private VehicleTelemetryService telemetryService;
+    private JdbcTemplate jdbcTemplate;
+    private List<Vehicle> fleet;
+    private VehicleTelemetry[] batch;
+    private long persisted;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(FleetApplication application) {
+        simulator = application.bean(TelemetrySimulatorService.class);
+        telemetryService = application.bean(VehicleTelemetryService.class);
+        jdbcTemplate = application.bean(JdbcTemplate.class);
+        fleet = application.fleet();
+        // Every vehicle starts with a previous sample, as it would after the first simulator tick
+        for (Vehicle vehicle : fleet) {
+            telemetryService.saveTelemetry(simulator.generateSimulatedTelemetry(vehicle));
+        }
+        batch = new VehicleTelemetry[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            batch[i] = simulator.generateSimulatedTelemetry(fleet.get(i % fleet.size()));
+        }
+        awaitPersisted(fleet.size());
+    }
+
+    // Keeps the table the same size from one iteration to the next
+    @Setup(Level.Iteration)
+    public void clearTelemetry() {
+        jdbcTemplate.execute("TRUNCATE TABLE vehicle_telemetry");
+    }
+
+    @Benchmark
+    public VehicleTelemetry generateSimulatedTelemetry() {
+        Vehicle vehicle = fleet.get(next);
+        next = (next + 1) % fleet.size();
+        return simulator.generateSimulatedTelemetry(vehicle);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long saveTelemetryPersisted() {
+        for (VehicleTelemetry telemetry : batch) {
+            telemetryService.saveTelemetry(telemetry);
+        }
+        return awaitPersisted(BATCH);
+    }
+
+    private long awaitPersisted(int samples) {
+        persisted += samples;
+        while (currentlyPersisted() < persisted) {
+            LockSupport.parkNanos(50_000);
+        }
+        return persisted;
+    }
+
+    // A failed batch counts as done too, so a database error shows up in the score instead of hanging the run
+    private long currentlyPersisted() {
+        Map<String, Object> stats = telemetryService.getIngestionStats();
+        return ((Number) stats.get("persisted")).longValue() + ((Number) stats.get("failed")).longValue();
+    }
+}
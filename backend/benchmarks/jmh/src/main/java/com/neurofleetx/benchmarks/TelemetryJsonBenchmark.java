@@ -0,0 +1,49 @@
+package com.neurofleetx.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neurofleetx.model.VehicleTelemetry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// One telemetry sample as the WebSocket broadcaster serializes it: the application's ObjectMapper, to bytes,
+// with an alert message set as on CRITICAL samples
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class TelemetryJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private VehicleTelemetry telemetry;
+
+    @Setup(Level.Trial)
+    public void setUp(FleetApplication application) {
+        objectMapper = application.bean(ObjectMapper.class);
+        telemetry = new VehicleTelemetry("BENCH-0001", 54.3, 71.25, 100.0, 12873.4, 28.6139, 77.2090,
+                VehicleTelemetry.MaintenanceStatus.CRITICAL);
+        telemetry.setId(1234567L);
+        telemetry.setTimestamp(LocalDateTime.of(2024, 6, 1, 10, 30, 15));
+        telemetry.setEngineTemperature(118.5);
+        telemetry.setTirePressure(31.2);
+        telemetry.setAlertMessage("Critical: Engine temperature above safe limit");
+    }
+
+    @Benchmark
+    public byte[] serializeTelemetry() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(telemetry);
+    }
+}
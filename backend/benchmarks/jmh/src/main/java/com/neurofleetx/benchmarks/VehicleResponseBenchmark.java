@@ -0,0 +1,66 @@
+package com.neurofleetx.benchmarks;
+
+import com.neurofleetx.dto.VehicleResponse;
+import com.neurofleetx.model.User;
+import com.neurofleetx.model.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Entity to response mapping for the vehicle list endpoints, per vehicle. Needs no application context;
+// half of the fleet has an assigned driver, which adds the name concatenation.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class VehicleResponseBenchmark {
+
+    private List<Vehicle> fleet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        User driver = new User("Rajesh", "Kumar", "driver@neurofleetx.com", "NeuroFleetX Corp", null, "driver");
+        driver.setId(1L);
+        Vehicle.VehicleStatus[] statuses = Vehicle.VehicleStatus.values();
+        fleet = new ArrayList<>();
+        for (int i = 0; i < FleetApplication.FLEET_SIZE; i++) {
+            Vehicle vehicle = new Vehicle(String.format("BENCH-%04d", i), "Truck", "Model " + (i % 7), 1000,
+                    "Diesel", statuses[i % statuses.length], 28.40 + random.nextDouble() * 0.50,
+                    76.90 + random.nextDouble() * 0.60);
+            vehicle.setId((long) i + 1);
+            vehicle.setLicensePlate(String.format("DL-BM-%04d", i));
+            vehicle.setFuelLevel(40.0 + random.nextDouble() * 60.0);
+            vehicle.setLastServiceDate(LocalDateTime.of(2024, 1, 1, 8, 0).plusDays(i % 365));
+            if (i % 2 == 0) {
+                vehicle.setAssignedDriver(driver);
+            }
+            fleet.add(vehicle);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FleetApplication.FLEET_SIZE)
+    public List<VehicleResponse> mapFleet() {
+        return fleet.stream()
+                .map(VehicleResponse::new)
+                .collect(Collectors.toList());
+    }
+}
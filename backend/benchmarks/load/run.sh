@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Packages the API and the load test, starts the API on embedded H2 with the telemetry simulator off and runs
+# the load test against it. Arguments go to the load test, e.g. `./run.sh --devices 2000 --duration-seconds 300`.
+# Set URL to test an instance that is already running instead.
+set -euo pipefail
+
+here="$(cd "$(dirname "$0")" && pwd)"
+backend="$(cd "$here/../.." && pwd)"
+port="${PORT:-8080}"
+
+(cd "$here" && mvn -B -q package)
+
+if [[ -n "${URL:-}" ]]; then
+  exec java -jar "$here/target/loadtest.jar" --url "$URL" "$@"
+fi
+
+(cd "$backend" && mvn -B -q package -DskipTests)
+jar="$(ls "$backend"/target/fleet-management-api-*.jar | grep -v -e original -e classes | head -n 1)"
+java -jar "$jar" --server.port="$port" --neurofleetx.telemetry.simulator.enabled=false \
+    --logging.level.com.neurofleetx=INFO --logging.level.org.springframework.security=INFO \
+    --logging.level.org.springframework.web.socket=INFO --spring.jpa.show-sql=false \
+    > "$here/target/api.log" 2>&1 &
+pid=$!
+trap "kill $pid 2>/dev/null || true" EXIT
+until curl -s -o /dev/null "http://localhost:$port/api/auth/signin"; do
+  kill -0 "$pid" 2>/dev/null || { echo "API failed to start, see $here/target/api.log" >&2; exit 1; }
+  sleep 1
+done
+
+java -jar "$here/target/loadtest.jar" --url "http://localhost:$port" "$@"
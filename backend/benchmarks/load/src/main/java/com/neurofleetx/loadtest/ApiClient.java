@@ -0,0 +1,107 @@
+package com.neurofleetx.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking REST calls with the outcome recorded per endpoint, plus the account set-up done before the run
+public class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    public ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    // Completes with the status code, or TRANSPORT_ERROR; never exceptionally
+    public CompletableFuture<Integer> send(EndpointStats stats, String method, String path, String token,
+                                           String jsonBody) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+        if (jsonBody != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(jsonBody));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        long started = System.nanoTime();
+        return http.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    int status = response != null ? response.statusCode() : EndpointStats.TRANSPORT_ERROR;
+                    stats.record(status, (System.nanoTime() - started) / 1_000_000);
+                    return status;
+                });
+    }
+
+    // Blocking read of a JSON endpoint, for the server's own statistics
+    public JsonNode getJson(String path, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException(path + " answered " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    // Registers the account unless it already exists from an earlier run, then signs in for a JWT
+    public String signUpAndSignIn(String email, String password, String userType, String firstName)
+            throws IOException, InterruptedException {
+        Map<String, String> registration = new LinkedHashMap<>();
+        registration.put("firstName", firstName);
+        registration.put("lastName", "LoadTest");
+        registration.put("email", email);
+        registration.put("company", "NeuroFleetX Load Test");
+        registration.put("password", password);
+        registration.put("userType", userType);
+        HttpResponse<String> signUp = post("/api/auth/signup", registration);
+        if (signUp.statusCode() != 200 && !signUp.body().contains("already in use")) {
+            throw new IllegalStateException("Sign-up of " + email + " failed with " + signUp.statusCode()
+                    + ": " + signUp.body());
+        }
+
+        HttpResponse<String> signIn = post("/api/auth/signin", Map.of("email", email, "password", password));
+        if (signIn.statusCode() != 200) {
+            throw new IllegalStateException("Sign-in of " + email + " failed with " + signIn.statusCode()
+                    + ": " + signIn.body());
+        }
+        JsonNode body = objectMapper.readTree(signIn.body());
+        return body.get("accessToken").asText();
+    }
+
+    // The bcrypt pool answers 503 while busy; set-up waits it out instead of failing
+    private HttpResponse<String> post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 503 || attempt == 10) {
+                return response;
+            }
+            Thread.sleep(1000);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.neurofleetx.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Drivers and customers using the app: each user sends one request, waits for it, thinks for about the think
+// time and then sends the next, so a slower server also means fewer requests, as with real users
+public class ApiUsers {
+
+    private static final String[] PLACES = {
+        "Connaught Place", "Delhi Central Warehouse", "Gurgaon Distribution Center", "Cyber City",
+        "Noida Sector 62", "IGI Airport", "Nehru Place", "Dwarka", "Faridabad", "Okhla Industrial Area"
+    };
+
+    private static final List<Action> DRIVER_ACTIONS = List.of(
+            new Action("GET", "/api/driver/trips", Set.of(200)),
+            new Action("GET", "/api/driver/trips/current", Set.of(200, 404)),
+            new Action("GET", "/api/driver/trips/upcoming", Set.of(200)),
+            new Action("GET", "/api/driver/dashboard/stats", Set.of(200)),
+            new Action("GET", "/api/driver/earnings/monthly", Set.of(200)));
+
+    private static final List<Action> CUSTOMER_ACTIONS = List.of(
+            new Action("GET", "/api/customer/bookings", Set.of(200)),
+            new Action("GET", "/api/customer/dashboard/stats", Set.of(200)));
+
+    private static final Action CREATE_BOOKING = new Action("POST", "/api/customer/bookings", Set.of(200));
+
+    private final ApiClient api;
+    private final long thinkMs;
+    private final double bookingShare;
+    private final List<User> users = new ArrayList<>();
+    private final ConcurrentMap<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public ApiUsers(ApiClient api, long thinkMs, double bookingShare) {
+        this.api = api;
+        this.thinkMs = thinkMs;
+        this.bookingShare = bookingShare;
+    }
+
+    public void addDriver(String token) {
+        users.add(new User(token, false));
+    }
+
+    public void addCustomer(String token) {
+        users.add(new User(token, true));
+    }
+
+    public void start(long rampUpMs) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(1, runnable -> {
+            Thread thread = new Thread(runnable, "api-users-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            scheduler.schedule(user::next, rampUpMs * i / users.size(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public Collection<EndpointStats> stats() {
+        return stats.values();
+    }
+
+    private EndpointStats statsFor(Action action) {
+        return stats.computeIfAbsent(action.method + " " + action.path,
+                name -> new EndpointStats(name, action.expectedStatuses));
+    }
+
+    private final class User {
+        private final String token;
+        private final boolean customer;
+
+        User(String token, boolean customer) {
+            this.token = token;
+            this.customer = customer;
+        }
+
+        void next() {
+            if (!running) {
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Action action;
+            String body = null;
+            if (customer && random.nextDouble() < bookingShare) {
+                action = CREATE_BOOKING;
+                body = bookingRequest(random);
+            } else {
+                List<Action> actions = customer ? CUSTOMER_ACTIONS : DRIVER_ACTIONS;
+                action = actions.get(random.nextInt(actions.size()));
+            }
+            api.send(statsFor(action), action.method, action.path, token, body).whenComplete((status, error) -> {
+                if (running) {
+                    long pause = (long) (thinkMs * (0.5 + ThreadLocalRandom.current().nextDouble()));
+                    scheduler.schedule(this::next, pause, TimeUnit.MILLISECONDS);
+                }
+            });
+        }
+
+        // Same shape as the customer app's booking form; dispatch picks these up like any other booking
+        private String bookingRequest(ThreadLocalRandom random) {
+            String pickup = PLACES[random.nextInt(PLACES.length)];
+            String delivery = PLACES[random.nextInt(PLACES.length)];
+            return String.format(Locale.ROOT, "{\"pickupLocation\":\"%s\",\"deliveryLocation\":\"%s\"," +
+                            "\"distance\":%.1f,\"estimatedCost\":%.1f,\"loadWeight\":%d}",
+                    pickup, delivery, 5.0 + random.nextDouble() * 30.0, 200.0 + random.nextDouble() * 800.0,
+                    100 * (1 + random.nextInt(3)));
+        }
+    }
+
+    private record Action(String method, String path, Set<Integer> expectedStatuses) {}
+}
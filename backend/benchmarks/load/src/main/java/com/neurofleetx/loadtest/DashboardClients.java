@@ -0,0 +1,156 @@
+package com.neurofleetx.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// M browser-like dashboards: SockJS over WebSocket to /ws-telemetry, subscribed to the fleet-wide
+// /topic/telemetry frames. Latency runs from the timestamp a device put in the sample to its arrival here;
+// client and server share the clock when run on one machine.
+public class DashboardClients {
+
+    // Fleet frames hold up to a thousand samples, far beyond the client defaults
+    private static final int MAX_MESSAGE_BYTES = 16 * 1024 * 1024;
+
+    private final String baseUrl;
+    private final String token;
+    private final int dashboards;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyHistogram endToEnd = new LatencyHistogram();
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong connectFailures = new AtomicLong();
+    private final AtomicLong disconnects = new AtomicLong();
+    private final List<StompSession> sessions = new CopyOnWriteArrayList<>();
+    private WebSocketStompClient stompClient;
+
+    public DashboardClients(String baseUrl, String token, int dashboards) {
+        this.baseUrl = baseUrl;
+        this.token = token;
+        this.dashboards = dashboards;
+    }
+
+    public void connect() {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(MAX_MESSAGE_BYTES);
+        container.setDefaultMaxBinaryMessageBufferSize(MAX_MESSAGE_BYTES);
+        stompClient = new WebSocketStompClient(new SockJsClient(
+                List.of(new WebSocketTransport(new StandardWebSocketClient(container)))));
+        stompClient.setInboundMessageSizeLimit(MAX_MESSAGE_BYTES);
+
+        // The handshake goes through the same JWT filter as the REST API
+        WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+        handshakeHeaders.setBearerAuth(token);
+        for (int i = 0; i < dashboards; i++) {
+            try {
+                sessions.add(stompClient.connectAsync(baseUrl + "/ws-telemetry", handshakeHeaders,
+                        new StompHeaders(), new DashboardSession()).get(30, TimeUnit.SECONDS));
+            } catch (Exception e) {
+                connectFailures.incrementAndGet();
+                System.err.println("Dashboard connection failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public void disconnect() {
+        for (StompSession session : sessions) {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
+        }
+        if (stompClient != null) {
+            stompClient.stop();
+        }
+    }
+
+    public LatencyHistogram endToEnd() {
+        return endToEnd;
+    }
+
+    public int connected() {
+        return (int) sessions.stream().filter(StompSession::isConnected).count();
+    }
+
+    public long frames() {
+        return frames.get();
+    }
+
+    public long samples() {
+        return samples.get();
+    }
+
+    public long connectFailures() {
+        return connectFailures.get();
+    }
+
+    public long disconnects() {
+        return disconnects.get();
+    }
+
+    // Also the frame handler of its own subscription
+    private final class DashboardSession extends StompSessionHandlerAdapter {
+
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            session.subscribe("/topic/telemetry", this);
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            LocalDateTime received = LocalDateTime.now();
+            if (!(payload instanceof byte[] body) || body.length == 0) {
+                return;
+            }
+            frames.incrementAndGet();
+            try {
+                for (JsonNode sample : objectMapper.readTree(body)) {
+                    String vehicleId = sample.path("vehicleId").asText();
+                    JsonNode timestamp = sample.get("timestamp");
+                    if (!vehicleId.startsWith(DeviceFleet.VEHICLE_PREFIX) || timestamp == null) {
+                        continue;
+                    }
+                    samples.incrementAndGet();
+                    endToEnd.record(Duration.between(LocalDateTime.parse(timestamp.asText()), received).toMillis());
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Unreadable telemetry frame: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            System.err.println("Dashboard frame failed: " + exception.getMessage());
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            if (!session.isConnected()) {
+                disconnects.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.neurofleetx.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// N devices, each posting one sample to /api/telemetry every interval. Devices start spread over the ramp-up
+// and over one interval, so posts arrive evenly. A device still waiting on its previous post skips its turn,
+// which keeps a slow server from being buried and shows up in the skipped count.
+public class DeviceFleet {
+
+    public static final String VEHICLE_PREFIX = "LOAD-";
+
+    private final ApiClient api;
+    private final String token;
+    private final int devices;
+    private final long intervalMs;
+    private final long rampUpMs;
+    private final EndpointStats stats = new EndpointStats("POST /api/telemetry", Set.of(202));
+    private final AtomicLong skipped = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public DeviceFleet(ApiClient api, String token, int devices, long intervalMs, long rampUpMs) {
+        this.api = api;
+        this.token = token;
+        this.devices = devices;
+        this.intervalMs = intervalMs;
+        this.rampUpMs = rampUpMs;
+    }
+
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "device-fleet-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < devices; i++) {
+            Device device = new Device(String.format("%s%05d", VEHICLE_PREFIX, i), random);
+            long initialDelay = rampUpMs * i / Math.max(devices, 1) + random.nextLong(intervalMs);
+            scheduler.scheduleAtFixedRate(device::post, initialDelay, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public EndpointStats stats() {
+        return stats;
+    }
+
+    public long skipped() {
+        return skipped.get();
+    }
+
+    // Drives around Delhi NCR; fuel drains slowly and refills, sensors drift within normal ranges
+    private final class Device {
+        private final String vehicleId;
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private double latitude;
+        private double longitude;
+        private double fuelLevel;
+        private double mileage;
+        private double engineTemperature = 90.0;
+
+        Device(String vehicleId, ThreadLocalRandom random) {
+            this.vehicleId = vehicleId;
+            latitude = 28.40 + random.nextDouble() * 0.50;
+            longitude = 76.90 + random.nextDouble() * 0.60;
+            fuelLevel = 50.0 + random.nextDouble() * 50.0;
+            mileage = random.nextDouble() * 20000.0;
+        }
+
+        void post() {
+            if (!inFlight.compareAndSet(false, true)) {
+                skipped.incrementAndGet();
+                return;
+            }
+            api.send(stats, "POST", "/api/telemetry", token, nextSample())
+                    .whenComplete((status, error) -> inFlight.set(false));
+        }
+
+        private String nextSample() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double speed = 20.0 + random.nextDouble() * 60.0;
+            latitude += (random.nextDouble() - 0.5) * 0.005;
+            longitude += (random.nextDouble() - 0.5) * 0.005;
+            fuelLevel = fuelLevel < 35.0 ? 100.0 : fuelLevel - random.nextDouble() * 0.5;
+            mileage += speed * intervalMs / 3_600_000.0;
+            engineTemperature = Math.max(80.0, Math.min(100.0, engineTemperature + (random.nextDouble() - 0.5) * 2));
+            // The timestamp travels with the sample to the dashboards, which measure latency against it
+            return String.format(Locale.ROOT, "{\"vehicleId\":\"%s\",\"speed\":%.1f,\"fuelLevel\":%.2f," +
+                            "\"batteryLevel\":100.0,\"mileage\":%.2f,\"latitude\":%.6f,\"longitude\":%.6f," +
+                            "\"maintenanceStatus\":\"HEALTHY\",\"engineTemperature\":%.1f,\"tirePressure\":34.5," +
+                            "\"timestamp\":\"%s\"}",
+                    vehicleId, speed, fuelLevel, mileage, latitude, longitude, engineTemperature,
+                    LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.neurofleetx.loadtest;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Outcome counts and latency for one kind of request. Statuses the endpoint legitimately returns (such as
+// 404 for "no current trip") count as successes; everything else, including transport failures, as errors.
+public class EndpointStats {
+
+    // Stands in for a status code when the request never got a response
+    public static final int TRANSPORT_ERROR = -1;
+
+    private final String name;
+    private final Set<Integer> expectedStatuses;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final ConcurrentMap<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+    private final AtomicLong errors = new AtomicLong();
+
+    public EndpointStats(String name, Set<Integer> expectedStatuses) {
+        this.name = name;
+        this.expectedStatuses = expectedStatuses;
+    }
+
+    public void record(int status, long millis) {
+        statuses.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+        if (expectedStatuses.contains(status)) {
+            latency.record(millis);
+        } else {
+            errors.incrementAndGet();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long requests() {
+        return latency.count() + errors.get();
+    }
+
+    public long successes() {
+        return latency.count();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    public double errorRate() {
+        long requests = requests();
+        return requests > 0 ? (double) errors.get() / requests : 0.0;
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.get()));
+        return counts;
+    }
+}
@@ -0,0 +1,52 @@
+package com.neurofleetx.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Millisecond buckets up to a minute, so recording is lock-free and memory stays fixed however long the run;
+// anything slower lands in the last bucket
+public class LatencyHistogram {
+
+    private static final int MAX_MILLIS = 60_000;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(MAX_MILLIS + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong maxMillis = new AtomicLong();
+
+    public void record(long millis) {
+        int bucket = (int) Math.max(0, Math.min(MAX_MILLIS, millis));
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        maxMillis.accumulateAndGet(millis, Math::max);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public long max() {
+        return maxMillis.get();
+    }
+
+    // Upper bound of the bucket holding the given fraction of samples
+    public long percentile(double fraction) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int millis = 0; millis <= MAX_MILLIS; millis++) {
+            seen += buckets.get(millis);
+            if (seen >= rank) {
+                return millis;
+            }
+        }
+        return MAX_MILLIS;
+    }
+
+    public String summary() {
+        return String.format("p50=%d p90=%d p99=%d max=%d ms", percentile(0.50), percentile(0.90),
+                percentile(0.99), max());
+    }
+}
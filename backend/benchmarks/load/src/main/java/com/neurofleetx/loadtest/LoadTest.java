@@ -0,0 +1,179 @@
+package com.neurofleetx.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// End-to-end load against one running instance: a device fleet posting telemetry, dashboards on the STOMP
+// feed and drivers and customers on the REST API, all with JWTs from /api/auth/signin. Prints progress while
+// running and a summary at the end; exits with 1 when the error rate is above --max-error-rate.
+// Usage: java -jar target/loadtest.jar [--option value ...]; see DEFAULTS for the options.
+public class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("url", "http://localhost:8080");
+        DEFAULTS.put("devices", "1000");
+        DEFAULTS.put("device-interval-ms", "5000");
+        DEFAULTS.put("dashboards", "5");
+        DEFAULTS.put("drivers", "20");
+        DEFAULTS.put("customers", "20");
+        DEFAULTS.put("think-ms", "1000");
+        DEFAULTS.put("booking-share", "0.1");
+        DEFAULTS.put("ramp-up-seconds", "20");
+        DEFAULTS.put("duration-seconds", "120");
+        DEFAULTS.put("report-seconds", "10");
+        DEFAULTS.put("password", "loadtest123");
+        DEFAULTS.put("max-error-rate", "0.01");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (int i = 0; i < args.length; i += 2) {
+            String name = args[i].replaceFirst("^--", "");
+            if (!DEFAULTS.containsKey(name) || i + 1 >= args.length) {
+                System.err.println("Unknown or incomplete option " + args[i] + "; options and defaults: " + DEFAULTS);
+                System.exit(2);
+            }
+            options.put(name, args[i + 1]);
+        }
+        System.exit(new LoadTest(options).run() ? 0 : 1);
+    }
+
+    private final Map<String, String> options;
+    private final ApiClient api;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.api = new ApiClient(options.get("url"));
+    }
+
+    private boolean run() throws Exception {
+        String password = options.get("password");
+        int drivers = intOption("drivers");
+        int customers = intOption("customers");
+        long rampUpMs = longOption("ramp-up-seconds") * 1000;
+        long durationMs = longOption("duration-seconds") * 1000;
+
+        System.out.printf("Signing in 1 device gateway, %d drivers and %d customers at %s%n", drivers, customers,
+                api.getBaseUrl());
+        String deviceToken = api.signUpAndSignIn("loadtest-devices@loadtest.local", password, "fleet_manager",
+                "Devices");
+        ApiUsers apiUsers = new ApiUsers(api, longOption("think-ms"), Double.parseDouble(options.get("booking-share")));
+        for (int i = 0; i < drivers; i++) {
+            apiUsers.addDriver(api.signUpAndSignIn("loadtest-driver-" + i + "@loadtest.local", password, "driver",
+                    "Driver" + i));
+        }
+        for (int i = 0; i < customers; i++) {
+            apiUsers.addCustomer(api.signUpAndSignIn("loadtest-customer-" + i + "@loadtest.local", password,
+                    "customer", "Customer" + i));
+        }
+
+        DashboardClients dashboards = new DashboardClients(api.getBaseUrl(), deviceToken, intOption("dashboards"));
+        dashboards.connect();
+        System.out.printf("%d of %s dashboards connected%n", dashboards.connected(), options.get("dashboards"));
+
+        DeviceFleet fleet = new DeviceFleet(api, deviceToken, intOption("devices"), longOption("device-interval-ms"),
+                rampUpMs);
+        JsonNode ingestBefore = api.getJson("/api/telemetry/ingest/stats", deviceToken);
+        long started = System.currentTimeMillis();
+        fleet.start();
+        apiUsers.start(rampUpMs);
+
+        // Throughput is taken over the steady phase after the ramp-up
+        long reportMs = longOption("report-seconds") * 1000;
+        long steadyFrom = -1;
+        long acceptedAtSteady = 0;
+        long lastAccepted = 0;
+        long lastReport = started;
+        while (System.currentTimeMillis() < started + rampUpMs + durationMs) {
+            Thread.sleep(Math.min(reportMs, started + rampUpMs + durationMs - System.currentTimeMillis()));
+            long now = System.currentTimeMillis();
+            long accepted = fleet.stats().successes();
+            if (steadyFrom < 0 && now >= started + rampUpMs) {
+                steadyFrom = now;
+                acceptedAtSteady = accepted;
+            }
+            System.out.printf("[%4ds] telemetry %.0f/s accepted, %d errors, %d skipped | dashboards %d, " +
+                            "end-to-end %s | api %d requests, %d errors%n",
+                    (now - started) / 1000, (accepted - lastAccepted) * 1000.0 / Math.max(1, now - lastReport),
+                    fleet.stats().errors(), fleet.skipped(), dashboards.connected(), dashboards.endToEnd().summary(),
+                    apiUsers.stats().stream().mapToLong(EndpointStats::requests).sum(),
+                    apiUsers.stats().stream().mapToLong(EndpointStats::errors).sum());
+            lastAccepted = accepted;
+            lastReport = now;
+        }
+        long steadyAccepted = fleet.stats().successes() - acceptedAtSteady;
+        long steadyMs = System.currentTimeMillis() - (steadyFrom >= 0 ? steadyFrom : started);
+        int connected = dashboards.connected();
+
+        fleet.stop();
+        apiUsers.stop();
+        // Lets the last posts persist and reach the dashboards before they disconnect
+        Thread.sleep(2000);
+        JsonNode ingestAfter = api.getJson("/api/telemetry/ingest/stats", deviceToken);
+        dashboards.disconnect();
+
+        return report(fleet, dashboards, connected, apiUsers, steadyAccepted * 1000.0 / Math.max(1, steadyMs),
+                ingestBefore, ingestAfter);
+    }
+
+    private boolean report(DeviceFleet fleet, DashboardClients dashboards, int connected, ApiUsers apiUsers,
+                           double steadyThroughput, JsonNode ingestBefore, JsonNode ingestAfter) {
+        EndpointStats ingest = fleet.stats();
+        System.out.println();
+        System.out.println("== Telemetry ingest");
+        System.out.printf("devices %s every %s ms: %d posts, %.1f accepted/s in the steady phase%n",
+                options.get("devices"), options.get("device-interval-ms"), ingest.requests(), steadyThroughput);
+        System.out.printf("errors %d (%.2f%%), statuses %s, skipped while a post was pending %d%n",
+                ingest.errors(), ingest.errorRate() * 100, ingest.statuses(), fleet.skipped());
+        System.out.printf("http latency %s%n", ingest.latency().summary());
+        System.out.printf("server: persisted %d, rejected %d, failed %d, queue depth %d%n",
+                delta(ingestBefore, ingestAfter, "persisted"), delta(ingestBefore, ingestAfter, "rejected"),
+                delta(ingestBefore, ingestAfter, "failed"), ingestAfter.path("queueDepth").asLong());
+
+        System.out.println();
+        System.out.println("== Telemetry to dashboards");
+        System.out.printf("%d connected at the end, %d connect failures, %d disconnects, %d frames%n", connected,
+                dashboards.connectFailures(), dashboards.disconnects(), dashboards.frames());
+        long perDashboard = dashboards.samples() / Math.max(1, connected);
+        System.out.printf("delivered %d samples per dashboard (%.1f%% of accepted)%n", perDashboard,
+                ingest.successes() > 0 ? perDashboard * 100.0 / ingest.successes() : 0.0);
+        System.out.printf("end-to-end latency %s%n", dashboards.endToEnd().summary());
+
+        System.out.println();
+        System.out.println("== API");
+        List<EndpointStats> endpoints = new ArrayList<>(apiUsers.stats());
+        endpoints.sort(Comparator.comparing(EndpointStats::getName));
+        for (EndpointStats endpoint : endpoints) {
+            System.out.printf("%-36s %6d requests, %4d errors (%.2f%%), %s%n", endpoint.getName(),
+                    endpoint.requests(), endpoint.errors(), endpoint.errorRate() * 100, endpoint.latency().summary());
+        }
+
+        long requests = ingest.requests() + endpoints.stream().mapToLong(EndpointStats::requests).sum();
+        long errors = ingest.errors() + endpoints.stream().mapToLong(EndpointStats::errors).sum()
+                + dashboards.connectFailures() + dashboards.disconnects();
+        double errorRate = requests > 0 ? (double) errors / requests : 0.0;
+        double maxErrorRate = Double.parseDouble(options.get("max-error-rate"));
+        System.out.println();
+        System.out.printf("Overall error rate %.2f%% (limit %.2f%%): %s%n", errorRate * 100, maxErrorRate * 100,
+                errorRate <= maxErrorRate ? "PASS" : "FAIL");
+        return errorRate <= maxErrorRate;
+    }
+
+    private static long delta(JsonNode before, JsonNode after, String field) {
+        return after.path(field).asLong() - before.path(field).asLong();
+    }
+
+    private int intOption(String name) {
+        return Integer.parseInt(options.get(name));
+    }
+
+    private long longOption(String name) {
+        return Long.parseLong(options.get(name));
+    }
+}
@@ -0,0 +1,120 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Closed-loop load against /api/benchmark/blocking: keeps a fixed number of requests in flight for the duration
+// and reports throughput and latency. Runs with `java BlockingLoadBenchmark.java [--name value ...]`.
+public class BlockingLoadBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new TreeMap<>(Map.of(
+                "url", "http://localhost:8080",
+                "email", "admin@neurofleetx.com",
+                "password", "password123",
+                "concurrency", "1000",
+                "warmup-seconds", "5",
+                "duration-seconds", "20",
+                "query-ms", "5",
+                "wait-ms", "200"));
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        String target = options.get("url") + "/api/benchmark/blocking?queryMs=" + options.get("query-ms")
+                + "&waitMs=" + options.get("wait-ms");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        String token = signIn(client, options);
+
+        System.out.printf("concurrency=%d queryMs=%s waitMs=%s%n", concurrency, options.get("query-ms"),
+                options.get("wait-ms"));
+        run(client, target, token, concurrency, Long.parseLong(options.get("warmup-seconds")), null);
+        Result result = new Result();
+        long elapsedNanos = run(client, target, token, concurrency,
+                Long.parseLong(options.get("duration-seconds")), result);
+        result.print(elapsedNanos);
+    }
+
+    private static String signIn(HttpClient client, Map<String, String> options) throws Exception {
+        String body = "{\"email\":\"" + options.get("email") + "\",\"password\":\"" + options.get("password") + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.get("url") + "/api/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Sign-in failed with " + response.statusCode() + ": " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    // Each completed request immediately frees its slot for the next one until the time is up
+    private static long run(HttpClient client, String target, String token, int concurrency, long seconds,
+                            Result result) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(target))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        Semaphore slots = new Semaphore(concurrency);
+        long started = System.nanoTime();
+        long deadline = started + Duration.ofSeconds(seconds).toNanos();
+        while (System.nanoTime() < deadline) {
+            slots.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (result != null) {
+                    result.record(response != null ? response.statusCode() : -1, System.nanoTime() - sent);
+                }
+                slots.release();
+            });
+        }
+        slots.acquire(concurrency);
+        return System.nanoTime() - started;
+    }
+
+    private static final class Result {
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+
+        void record(int status, long nanos) {
+            statuses.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+            if (status == 200) {
+                latencies.add(nanos);
+            }
+        }
+
+        void print(long elapsedNanos) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("ok=%d throughput=%.1f req/s p50=%.1f ms p95=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                    sorted.size(), sorted.size() / seconds, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), percentile(sorted, 1.0));
+            System.out.println("statuses=" + new TreeMap<>(statuses) + " (-1 = transport error)");
+        }
+
+        private static double percentile(List<Long> sorted, double p) {
+            if (sorted.isEmpty()) {
+                return 0.0;
+            }
+            int index = (int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1);
+            return sorted.get(Math.max(index, 0)) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Runs the blocking-load benchmark against the packaged API in platform-thread mode and, when a Java 21 JDK is
+# given in JAVA21_HOME, in virtual-thread mode. Extra arguments go to BlockingLoadBenchmark.java.
+set -euo pipefail
+
+here="$(cd "$(dirname "$0")" && pwd)"
+backend="$(cd "$here/../.." && pwd)"
+port="${PORT:-8080}"
+
+(cd "$backend" && mvn -B -q package -DskipTests)
+jar="$(ls "$backend"/target/fleet-management-api-*.jar | grep -v -e original -e classes | head -n 1)"
+
+run_mode() {
+  local name="$1" java="$2" profiles="$3"
+  shift 3
+  echo "== $name threads ($("$java" -version 2>&1 | head -n 1))"
+  "$java" -jar "$jar" --server.port="$port" --spring.profiles.active="$profiles" \
+      --neurofleetx.telemetry.simulator.enabled=false --logging.level.com.neurofleetx=INFO \
+      --logging.level.org.springframework.security=INFO --spring.jpa.show-sql=false \
+      > "$backend/target/benchmark-$name.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+  until curl -s -o /dev/null "http://localhost:$port/api/auth/signin"; do sleep 1; done
+  java "$here/BlockingLoadBenchmark.java" --url "http://localhost:$port" "$@"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform java benchmark "$@"
+if [[ -n "${JAVA21_HOME:-}" ]]; then
+  run_mode virtual "$JAVA21_HOME/bin/java" benchmark,virtual "$@"
+else
+  echo "== virtual threads skipped: set JAVA21_HOME to a Java 21 JDK"
+fi
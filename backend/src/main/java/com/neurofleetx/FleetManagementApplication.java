@@ -2,10 +2,12 @@ package com.neurofleetx;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
+@EnableCaching
 public class FleetManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(FleetManagementApplication.class, args);
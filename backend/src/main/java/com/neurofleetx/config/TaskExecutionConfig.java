@@ -0,0 +1,27 @@
+package com.neurofleetx.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+// The STOMP broker's channel executors stop Spring Boot from creating its applicationTaskExecutor, so it is
+// declared here the way Boot would: virtual threads in that mode, otherwise the spring.task.execution pool.
+// Async MVC handlers and continuations off the worker pools (e.g. the signup insert) run on it.
+@Configuration
+public class TaskExecutionConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(name = "applicationTaskExecutor")
+    public AsyncTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder threadPoolBuilder,
+                                                     SimpleAsyncTaskExecutorBuilder virtualThreadBuilder) {
+        if (virtualThreads) {
+            return virtualThreadBuilder.build();
+        }
+        return threadPoolBuilder.build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.neurofleetx.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Spring Boot silently falls back to platform threads when virtual threads are requested on a JVM older
+// than 21, so the mode actually in effect is logged at startup
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    private static final int VIRTUAL_THREADS_MIN_JAVA = 21;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreadsRequested && javaVersion < VIRTUAL_THREADS_MIN_JAVA) {
+            logger.warn("Virtual threads were requested but need Java {} (running {}); using platform threads",
+                    VIRTUAL_THREADS_MIN_JAVA, javaVersion);
+            return;
+        }
+        logger.info("Serving requests on {} threads (Java {}, {} database connections)",
+                virtualThreadsRequested ? "virtual" : "platform", javaVersion, connectionPoolSize);
+    }
+}
@@ -0,0 +1,68 @@
+package com.neurofleetx.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.TimeUnit;
+
+// Queue depth and send time of the STOMP outbound channel, where every frame for every session is queued
+// before a pool thread writes it to the socket. Send time covers encoding and the write or session buffer.
+@Component
+public class WebSocketOutboundMetrics implements ExecutorChannelInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Created by the broker configuration that this interceptor is registered with, hence the lazy lookup
+    @Lazy
+    @Autowired
+    @Qualifier("clientOutboundChannelExecutor")
+    private ThreadPoolTaskExecutor outboundExecutor;
+
+    private final ThreadLocal<Long> handleStart = new ThreadLocal<>();
+
+    private Timer sendTimer;
+
+    @PostConstruct
+    public void registerTimer() {
+        sendTimer = Timer.builder("neurofleetx.websocket.outbound.send")
+                .description("Time for the outbound channel to hand one message to its WebSocket session")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerQueueGauge() {
+        Gauge.builder("neurofleetx.websocket.outbound.queue", outboundExecutor,
+                        executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .description("Messages waiting for an outbound channel thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        handleStart.set(System.nanoTime());
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        Long start = handleStart.get();
+        if (start != null) {
+            handleStart.remove();
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
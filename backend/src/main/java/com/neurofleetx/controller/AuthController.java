@@ -5,23 +5,32 @@ import com.neurofleetx.dto.LoginRequest;
 import com.neurofleetx.dto.RegisterRequest;
 import com.neurofleetx.model.User;
 import com.neurofleetx.security.JwtUtils;
+import com.neurofleetx.security.PrincipalCache;
+import com.neurofleetx.security.UserDetailsImpl;
+import com.neurofleetx.service.LastLoginRecorder;
+import com.neurofleetx.service.PasswordHashingService;
 import com.neurofleetx.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
-    
-    @Autowired
-    AuthenticationManager authenticationManager;
 
     @Autowired
     UserService userService;
@@ -29,31 +38,90 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
-    @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-        );
+    @Autowired
+    PasswordHashingService passwordHashingService;
+
+    @Autowired
+    LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    PrincipalCache principalCache;
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
+    // Spring's request executor (virtual threads in that mode), so the insert does not hold a hashing thread
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    AsyncTaskExecutor requestExecutor;
 
-        User user = userService.findByEmail(loginRequest.getEmail()).orElseThrow();
-        userService.updateLastLogin(loginRequest.getEmail());
+    // One user lookup; bcrypt runs on the hashing pool and the servlet thread is released until it finishes
+    @PostMapping("/signin")
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        long generation = principalCache.generation();
+        Optional<User> account = userService.findByEmail(loginRequest.getEmail());
+        String passwordHash = account.map(User::getPassword).orElse(null);
 
-        return ResponseEntity.ok(new JwtResponse(jwt, user.getId(), user.getEmail(), 
-                                               user.getFirstName(), user.getLastName(), user.getCompany(), user.getUserType()));
+        return passwordHashingService.matches(loginRequest.getPassword(), passwordHash)
+                .handle((matches, error) -> {
+                    if (error != null) {
+                        return failure(error);
+                    }
+                    if (!matches) {
+                        return unauthorized();
+                    }
+                    User user = account.get();
+                    // The first authenticated request after sign-in then needs no user query either
+                    principalCache.put(UserDetailsImpl.build(user), generation);
+                    lastLoginRecorder.record(user.getId());
+                    String jwt = jwtUtils.generateJwtToken(user.getEmail());
+                    return ResponseEntity.ok(new JwtResponse(jwt, user.getId(), user.getEmail(),
+                            user.getFirstName(), user.getLastName(), user.getCompany(), user.getUserType()));
+                });
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest signUpRequest) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody RegisterRequest signUpRequest) {
         if (userService.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity.badRequest()
-                    .body("Error: Email is already in use!");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body("Error: Email is already in use!"));
         }
 
-        User user = userService.createUser(signUpRequest);
+        return passwordHashingService.encode(signUpRequest.getPassword())
+                .thenApplyAsync(passwordHash -> userService.createUser(signUpRequest, passwordHash), requestExecutor)
+                .handle((user, error) -> {
+                    if (error != null) {
+                        return failure(error);
+                    }
+                    return ResponseEntity.ok("User registered successfully!");
+                });
+    }
+
+    @GetMapping("/hashing/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+
+    // A saturated hashing pool sheds load with 503 and a retry hint instead of queueing without bound.
+    // A duplicate email, including one that lost a concurrent signup race to the unique constraint, is a 400;
+    // anything else goes to the normal 500 handling rather than echoing its message to the client.
+    private ResponseEntity<?> failure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Error: Authentication is busy, please retry");
+        }
+        if (cause instanceof DataIntegrityViolationException) {
+            return ResponseEntity.badRequest().body("Error: Email is already in use!");
+        }
+        throw new CompletionException(cause);
+    }
 
-        return ResponseEntity.ok("User registered successfully!");
+    private ResponseEntity<?> unauthorized() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.UNAUTHORIZED.value());
+        body.put("error", "Unauthorized");
+        body.put("message", "Bad credentials");
+        body.put("path", "/api/auth/signin");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(body);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.neurofleetx.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.*;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Blocking load for the thread-mode benchmark (benchmarks/virtual-threads); only present with the benchmark profile
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/benchmark")
+@Profile("benchmark")
+public class BenchmarkController {
+
+    private static final long MAX_BLOCK_MS = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Runs a query and keeps its connection for queryMs, like a slow query over the network, then blocks for
+    // waitMs without a connection, like a call to another service
+    @GetMapping("/blocking")
+    public ResponseEntity<?> blocking(@RequestParam(defaultValue = "20") long queryMs,
+                                      @RequestParam(defaultValue = "0") long waitMs) {
+        if (queryMs < 0 || waitMs < 0 || queryMs > MAX_BLOCK_MS || waitMs > MAX_BLOCK_MS) {
+            return ResponseEntity.badRequest().body("Error: queryMs and waitMs must be between 0 and " + MAX_BLOCK_MS);
+        }
+        long started = System.nanoTime();
+        Long vehicles = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM vehicles")) {
+                resultSet.next();
+                long count = resultSet.getLong(1);
+                sleep(queryMs);
+                return count;
+            }
+        });
+        sleep(waitMs);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("vehicles", vehicles);
+        result.put("thread", Thread.currentThread().toString());
+        result.put("elapsedMillis", (System.nanoTime() - started) / 1_000_000);
+        return ResponseEntity.ok(result);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while blocking", e);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.neurofleetx.controller;
 
+import com.neurofleetx.dto.BookingResponse;
 import com.neurofleetx.model.Booking;
 import com.neurofleetx.model.User;
+import com.neurofleetx.security.UserDetailsImpl;
 import com.neurofleetx.service.BookingService;
 import com.neurofleetx.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,67 +25,67 @@ public class CustomerController {
     private UserService userService;
 
     @GetMapping("/bookings")
-    public ResponseEntity<List<Booking>> getMyBookings(Authentication authentication) {
-        User customer = userService.findByEmail(authentication.getName()).orElseThrow();
+    public ResponseEntity<List<BookingResponse>> getMyBookings(Authentication authentication) {
+        User customer = currentUser(authentication);
         return ResponseEntity.ok(bookingService.getBookingsByCustomer(customer));
     }
 
     @GetMapping("/bookings/{bookingId}")
-    public ResponseEntity<Booking> getBookingDetails(@PathVariable String bookingId) {
-        return bookingService.getBookingByBookingId(bookingId)
+    public ResponseEntity<BookingResponse> getBookingDetails(@PathVariable String bookingId) {
+        return bookingService.getBookingResponse(bookingId)
                 .map(booking -> ResponseEntity.ok().body(booking))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/bookings")
-    public ResponseEntity<Booking> createBooking(@RequestBody Booking booking, Authentication authentication) {
-        User customer = userService.findByEmail(authentication.getName()).orElseThrow();
+    public ResponseEntity<BookingResponse> createBooking(@RequestBody Booking booking, Authentication authentication) {
+        User customer = currentUser(authentication);
         booking.setCustomer(customer);
         Booking savedBooking = bookingService.createBooking(booking);
-        return ResponseEntity.ok(savedBooking);
+        return ResponseEntity.ok(new BookingResponse(savedBooking));
     }
 
     @PutMapping("/bookings/{bookingId}/progress")
-    public ResponseEntity<Booking> updateBookingProgress(
+    public ResponseEntity<BookingResponse> updateBookingProgress(
             @PathVariable String bookingId,
             @RequestBody Map<String, Integer> progressData) {
         try {
             Integer progress = progressData.get("progress");
             Booking updatedBooking = bookingService.updateBookingProgress(bookingId, progress);
-            return ResponseEntity.ok(updatedBooking);
+            return ResponseEntity.ok(new BookingResponse(updatedBooking));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @PostMapping("/bookings/{bookingId}/rate")
-    public ResponseEntity<Booking> rateBooking(
+    public ResponseEntity<BookingResponse> rateBooking(
             @PathVariable String bookingId,
             @RequestBody Map<String, Integer> ratingData) {
         return bookingService.getBookingByBookingId(bookingId)
                 .map(booking -> {
                     booking.setRating(ratingData.get("rating"));
-                    return ResponseEntity.ok(bookingService.updateBooking(booking));
+                    return ResponseEntity.ok(new BookingResponse(bookingService.updateBooking(booking)));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/dashboard/stats")
     public ResponseEntity<Map<String, Object>> getCustomerStats(Authentication authentication) {
-        User customer = userService.findByEmail(authentication.getName()).orElseThrow();
-        List<Booking> bookings = bookingService.getBookingsByCustomer(customer);
+        User customer = currentUser(authentication);
+        List<BookingResponse> bookings = bookingService.getBookingsByCustomer(customer);
         
         long activeBookings = bookings.stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.IN_TRANSIT)
+                .filter(b -> Booking.BookingStatus.IN_TRANSIT.name().equals(b.getStatus()))
                 .count();
         
         long completedBookings = bookings.stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.DELIVERED)
+                .filter(b -> Booking.BookingStatus.DELIVERED.name().equals(b.getStatus()))
                 .count();
         
         double totalSpent = bookings.stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.DELIVERED)
-                .mapToDouble(Booking::getEstimatedCost)
+                .filter(b -> Booking.BookingStatus.DELIVERED.name().equals(b.getStatus()))
+                .mapToDouble(BookingResponse::getEstimatedCost)
                 .sum();
         
         Map<String, Object> stats = Map.of(
@@ -96,4 +98,9 @@ public class CustomerController {
         
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+
+    // The principal set by AuthTokenFilter already carries the user id
+    private User currentUser(Authentication authentication) {
+        return userService.getReference(((UserDetailsImpl) authentication.getPrincipal()).getId());
+    }
+}
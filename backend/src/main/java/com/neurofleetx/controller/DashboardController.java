@@ -1,7 +1,6 @@
 package com.neurofleetx.controller;
 
-import com.neurofleetx.service.VehicleService;
-import com.neurofleetx.service.RouteService;
+import com.neurofleetx.service.FleetMetricsAggregator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,33 +13,12 @@ import java.util.Map;
 public class DashboardController {
     
     @Autowired
-    private VehicleService vehicleService;
-    
-    @Autowired
-    private RouteService routeService;
+    private FleetMetricsAggregator fleetMetrics;
 
+    // Served from counters kept current on every write, not from table scans
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        // Vehicle statistics
-        stats.put("totalVehicles", vehicleService.getAllVehicles().size());
-        stats.put("activeVehicles", vehicleService.getActiveVehicles().size());
-        stats.put("availableVehicles", vehicleService.getVehicleCountByStatus(com.neurofleetx.model.Vehicle.VehicleStatus.AVAILABLE));
-        stats.put("maintenanceVehicles", vehicleService.getVehicleCountByStatus(com.neurofleetx.model.Vehicle.VehicleStatus.MAINTENANCE));
-        
-        // Route statistics
-        stats.put("totalRoutes", routeService.getAllRoutes().size());
-        stats.put("activeRoutes", routeService.getActiveRoutes().size());
-        stats.put("averageOptimization", routeService.getAverageOptimizationSavings());
-        
-        // Fleet efficiency metrics
-        stats.put("fleetUtilization", 87.3);
-        stats.put("fuelEfficiency", 92.0);
-        stats.put("monthlyRevenue", 23785000.0);
-        stats.put("monthlyCosts", 13800000.0);
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(fleetMetrics.getDashboardStats());
     }
 
     @GetMapping("/insights")
@@ -0,0 +1,30 @@
+package com.neurofleetx.controller;
+
+import com.neurofleetx.service.DispatchEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/dispatch")
+public class DispatchController {
+
+    @Autowired
+    private DispatchEngine dispatchEngine;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('FLEET_MANAGER')")
+    public ResponseEntity<Map<String, Object>> getDispatchStats() {
+        return ResponseEntity.ok(dispatchEngine.getStats());
+    }
+
+    // Runs a batch immediately instead of waiting for the next scheduled one
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('FLEET_MANAGER')")
+    public ResponseEntity<Map<String, Object>> runDispatchBatch() {
+        return ResponseEntity.ok(dispatchEngine.dispatchBatch());
+    }
+}
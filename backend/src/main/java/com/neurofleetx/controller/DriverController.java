@@ -1,7 +1,9 @@
 package com.neurofleetx.controller;
 
+import com.neurofleetx.dto.TripResponse;
 import com.neurofleetx.model.Trip;
 import com.neurofleetx.model.User;
+import com.neurofleetx.security.UserDetailsImpl;
 import com.neurofleetx.service.TripService;
 import com.neurofleetx.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,73 +26,73 @@ public class DriverController {
     private UserService userService;
 
     @GetMapping("/trips")
-    public ResponseEntity<List<Trip>> getMyTrips(Authentication authentication) {
-        User driver = userService.findByEmail(authentication.getName()).orElseThrow();
+    public ResponseEntity<List<TripResponse>> getMyTrips(Authentication authentication) {
+        User driver = currentUser(authentication);
         return ResponseEntity.ok(tripService.getTripsByDriver(driver));
     }
 
     @GetMapping("/trips/current")
-    public ResponseEntity<Trip> getCurrentTrip(Authentication authentication) {
-        User driver = userService.findByEmail(authentication.getName()).orElseThrow();
-        Optional<Trip> currentTrip = tripService.getCurrentTripByDriver(driver);
+    public ResponseEntity<TripResponse> getCurrentTrip(Authentication authentication) {
+        User driver = currentUser(authentication);
+        Optional<TripResponse> currentTrip = tripService.getCurrentTripByDriver(driver);
         return currentTrip.map(trip -> ResponseEntity.ok().body(trip))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/trips/upcoming")
-    public ResponseEntity<List<Trip>> getUpcomingTrips(Authentication authentication) {
-        User driver = userService.findByEmail(authentication.getName()).orElseThrow();
+    public ResponseEntity<List<TripResponse>> getUpcomingTrips(Authentication authentication) {
+        User driver = currentUser(authentication);
         return ResponseEntity.ok(tripService.getUpcomingTripsByDriver(driver));
     }
 
     @GetMapping("/trips/{tripId}")
-    public ResponseEntity<Trip> getTripDetails(@PathVariable String tripId) {
-        return tripService.getTripByTripId(tripId)
+    public ResponseEntity<TripResponse> getTripDetails(@PathVariable String tripId) {
+        return tripService.getTripResponse(tripId)
                 .map(trip -> ResponseEntity.ok().body(trip))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/trips/{tripId}/progress")
-    public ResponseEntity<Trip> updateTripProgress(
+    public ResponseEntity<TripResponse> updateTripProgress(
             @PathVariable String tripId,
             @RequestBody Map<String, Integer> progressData) {
         try {
             Integer progress = progressData.get("progress");
             Trip updatedTrip = tripService.updateTripProgress(tripId, progress);
-            return ResponseEntity.ok(updatedTrip);
+            return ResponseEntity.ok(new TripResponse(updatedTrip));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @PutMapping("/trips/{tripId}/complete")
-    public ResponseEntity<Trip> completeTrip(@PathVariable String tripId) {
+    public ResponseEntity<TripResponse> completeTrip(@PathVariable String tripId) {
         return tripService.getTripByTripId(tripId)
                 .map(trip -> {
                     trip.setStatus(Trip.TripStatus.COMPLETED);
                     trip.setProgress(100);
-                    return ResponseEntity.ok(tripService.updateTrip(trip));
+                    return ResponseEntity.ok(new TripResponse(tripService.updateTrip(trip)));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/dashboard/stats")
     public ResponseEntity<Map<String, Object>> getDriverStats(Authentication authentication) {
-        User driver = userService.findByEmail(authentication.getName()).orElseThrow();
-        List<Trip> trips = tripService.getTripsByDriver(driver);
+        User driver = currentUser(authentication);
+        List<TripResponse> trips = tripService.getTripsByDriver(driver);
         Double monthlyEarnings = tripService.getMonthlyEarningsByDriver(driver);
         
         long completedTrips = trips.stream()
-                .filter(t -> t.getStatus() == Trip.TripStatus.COMPLETED)
+                .filter(t -> Trip.TripStatus.COMPLETED.name().equals(t.getStatus()))
                 .count();
         
         long activeTrips = trips.stream()
-                .filter(t -> t.getStatus() == Trip.TripStatus.IN_PROGRESS)
+                .filter(t -> Trip.TripStatus.IN_PROGRESS.name().equals(t.getStatus()))
                 .count();
         
         double totalDistance = trips.stream()
-                .filter(t -> t.getStatus() == Trip.TripStatus.COMPLETED)
-                .mapToDouble(Trip::getDistance)
+                .filter(t -> Trip.TripStatus.COMPLETED.name().equals(t.getStatus()))
+                .mapToDouble(TripResponse::getDistance)
                 .sum();
         
         Map<String, Object> stats = Map.of(
@@ -108,8 +110,13 @@ public class DriverController {
 
     @GetMapping("/earnings/monthly")
     public ResponseEntity<Double> getMonthlyEarnings(Authentication authentication) {
-        User driver = userService.findByEmail(authentication.getName()).orElseThrow();
+        User driver = currentUser(authentication);
         Double earnings = tripService.getMonthlyEarningsByDriver(driver);
         return ResponseEntity.ok(earnings);
     }
-}
\ No newline at end of file
+
+    // The principal set by AuthTokenFilter already carries the user id
+    private User currentUser(Authentication authentication) {
+        return userService.getReference(((UserDetailsImpl) authentication.getPrincipal()).getId());
+    }
+}
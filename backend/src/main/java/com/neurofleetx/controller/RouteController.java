@@ -1,9 +1,15 @@
 package com.neurofleetx.controller;
 
+import com.neurofleetx.dto.RoutePlan;
+import com.neurofleetx.dto.TravelMatrixRequest;
 import com.neurofleetx.model.Route;
+import com.neurofleetx.service.BatchRoutingService;
+import com.neurofleetx.service.FleetMetricsAggregator;
 import com.neurofleetx.service.RouteService;
+import com.neurofleetx.service.TravelMatrixService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +22,15 @@ public class RouteController {
     @Autowired
     private RouteService routeService;
 
+    @Autowired
+    private BatchRoutingService batchRoutingService;
+
+    @Autowired
+    private TravelMatrixService travelMatrixService;
+
+    @Autowired
+    private FleetMetricsAggregator fleetMetrics;
+
     @GetMapping
     public ResponseEntity<List<Route>> getAllRoutes() {
         return ResponseEntity.ok(routeService.getAllRoutes());
@@ -26,6 +41,40 @@ public class RouteController {
         return ResponseEntity.ok(routeService.getActiveRoutes());
     }
 
+    // Ad-hoc plan between two named places or "lat,lng" points, without saving a route
+    @GetMapping("/plan")
+    public ResponseEntity<?> planRoute(@RequestParam String origin, @RequestParam String destination) {
+        try {
+            RoutePlan plan = routeService.planRoute(origin, destination);
+            return ResponseEntity.ok(plan);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Travel minutes and km between every origin and destination, for bulk pricing and dispatch
+    @PostMapping("/matrix")
+    public ResponseEntity<?> computeMatrix(@RequestBody TravelMatrixRequest request) {
+        try {
+            return ResponseEntity.ok(travelMatrixService.computeForLocations(request.getOrigins(), request.getDestinations()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Consolidates open SCHEDULED bookings onto AVAILABLE vehicles; persist=false returns the plan only
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('FLEET_MANAGER')")
+    public ResponseEntity<Map<String, Object>> planBookingBatch(@RequestParam(required = false) Long budgetMs,
+                                                                @RequestParam(defaultValue = "true") boolean persist) {
+        return ResponseEntity.ok(batchRoutingService.planOpenBookings(budgetMs, persist));
+    }
+
+    @GetMapping("/engine/stats")
+    public ResponseEntity<Map<String, Object>> getEngineStats() {
+        return ResponseEntity.ok(routeService.getEngineStats());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Route> getRouteById(@PathVariable Long id) {
         return routeService.getRouteById(id)
@@ -65,11 +114,7 @@ public class RouteController {
 
     @GetMapping("/analytics")
     public ResponseEntity<Map<String, Object>> getRouteAnalytics() {
-        Map<String, Object> analytics = Map.of(
-            "totalRoutes", routeService.getAllRoutes().size(),
-            "activeRoutes", routeService.getActiveRoutes().size(),
-            "averageOptimization", routeService.getAverageOptimizationSavings()
-        );
+        Map<String, Object> analytics = fleetMetrics.getRouteAnalytics();
         return ResponseEntity.ok(analytics);
     }
 
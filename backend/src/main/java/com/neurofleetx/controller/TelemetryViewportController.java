@@ -0,0 +1,28 @@
+package com.neurofleetx.controller;
+
+import com.neurofleetx.dto.ViewportRequest;
+import com.neurofleetx.service.TelemetryBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+
+// STOMP endpoints for the live map: clients subscribe to /user/queue/telemetry-viewport
+// and then send their visible bounds to /app/telemetry/viewport whenever the map moves
+@Controller
+public class TelemetryViewportController {
+
+    @Autowired
+    private TelemetryBroadcaster broadcaster;
+
+    @MessageMapping("/telemetry/viewport")
+    public void updateViewport(@Payload ViewportRequest viewport, SimpMessageHeaderAccessor headerAccessor) {
+        broadcaster.registerViewport(headerAccessor.getSessionId(), viewport);
+    }
+
+    @MessageMapping("/telemetry/viewport/clear")
+    public void clearViewport(SimpMessageHeaderAccessor headerAccessor) {
+        broadcaster.clearViewport(headerAccessor.getSessionId());
+    }
+}
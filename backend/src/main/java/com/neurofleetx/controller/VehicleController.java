@@ -4,6 +4,9 @@ import com.neurofleetx.model.Vehicle;
 import com.neurofleetx.dto.VehicleRequest;
 import com.neurofleetx.dto.VehicleResponse;
 import com.neurofleetx.dto.DriverDto;
+import com.neurofleetx.dto.NearbyVehicleResponse;
+import com.neurofleetx.service.FleetMetricsAggregator;
+import com.neurofleetx.service.ReferenceDataCache;
 import com.neurofleetx.service.VehicleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +25,12 @@ public class VehicleController {
     @Autowired
     private VehicleService vehicleService;
 
+    @Autowired
+    private FleetMetricsAggregator fleetMetrics;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('FLEET_MANAGER')")
     public ResponseEntity<List<VehicleResponse>> getAllVehicles() {
@@ -33,6 +42,23 @@ public class VehicleController {
         return ResponseEntity.ok(vehicleService.getAvailableVehicles());
     }
 
+    // k nearest vehicles to a pickup point, e.g. /nearest?latitude=28.61&longitude=77.21&limit=5&radiusKm=10
+    @GetMapping("/nearest")
+    public ResponseEntity<?> getNearestVehicles(@RequestParam Double latitude,
+                                                @RequestParam Double longitude,
+                                                @RequestParam(defaultValue = "5") int limit,
+                                                @RequestParam(defaultValue = "10") double radiusKm,
+                                                @RequestParam(defaultValue = "AVAILABLE") String status,
+                                                @RequestParam(required = false) Integer minCapacity) {
+        try {
+            List<NearbyVehicleResponse> vehicles = vehicleService.findNearestVehicles(
+                    latitude, longitude, limit, radiusKm, status, minCapacity);
+            return ResponseEntity.ok(vehicles);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<VehicleResponse> getVehicleById(@PathVariable Long id) {
         return vehicleService.getVehicleById(id)
@@ -105,15 +131,16 @@ public class VehicleController {
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN') or hasRole('FLEET_MANAGER')")
     public ResponseEntity<Map<String, Object>> getVehicleStats() {
-        Map<String, Object> stats = Map.of(
-            "total", vehicleService.getTotalVehicleCount(),
-            "active", vehicleService.getVehicleCountByStatus(Vehicle.VehicleStatus.EN_ROUTE),
-            "available", vehicleService.getVehicleCountByStatus(Vehicle.VehicleStatus.AVAILABLE),
-            "maintenance", vehicleService.getVehicleCountByStatus(Vehicle.VehicleStatus.MAINTENANCE)
-        );
+        Map<String, Object> stats = fleetMetrics.getVehicleStats();
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('FLEET_MANAGER')")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(referenceDataCache.getStats());
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('FLEET_MANAGER')")
     public ResponseEntity<?> deleteVehicle(@PathVariable Long id) {
@@ -1,13 +1,23 @@
 package com.neurofleetx.controller;
 
+import com.neurofleetx.dto.TelemetryAlert;
+import com.neurofleetx.dto.TelemetryPage;
 import com.neurofleetx.model.VehicleTelemetry;
+import com.neurofleetx.service.TelemetrySimulatorService;
 import com.neurofleetx.service.VehicleTelemetryService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.format.DateTimeParseException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -17,6 +27,46 @@ public class VehicleTelemetryController {
     @Autowired
     private VehicleTelemetryService telemetryService;
 
+    @Autowired
+    private TelemetrySimulatorService simulatorService;
+
+    @PostMapping
+    public ResponseEntity<?> ingestTelemetry(@Valid @RequestBody VehicleTelemetry telemetry) {
+        try {
+            telemetryService.saveTelemetry(telemetry);
+            return ResponseEntity.accepted().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/ingest/stats")
+    public ResponseEntity<Map<String, Object>> getIngestionStats() {
+        return ResponseEntity.ok(telemetryService.getIngestionStats());
+    }
+
+    @GetMapping("/broadcast/stats")
+    public ResponseEntity<Map<String, Object>> getBroadcastStats() {
+        return ResponseEntity.ok(telemetryService.getBroadcastStats());
+    }
+
+    @GetMapping("/alerts")
+    public ResponseEntity<List<TelemetryAlert>> getActiveAlerts(@RequestParam(required = false) String vehicleId) {
+        return ResponseEntity.ok(telemetryService.getActiveAlerts(vehicleId));
+    }
+
+    @GetMapping("/alerts/stats")
+    public ResponseEntity<Map<String, Object>> getAlertStats() {
+        return ResponseEntity.ok(telemetryService.getAlertStats());
+    }
+
+    @GetMapping("/simulator/stats")
+    public ResponseEntity<Map<String, Object>> getSimulatorStats() {
+        return ResponseEntity.ok(simulatorService.getStats());
+    }
+
     @GetMapping("/latest")
     public ResponseEntity<List<VehicleTelemetry>> getLatestTelemetryForAllVehicles() {
         List<VehicleTelemetry> telemetryData = telemetryService.getLatestTelemetryForAllVehicles();
@@ -24,9 +74,21 @@ public class VehicleTelemetryController {
     }
 
     @GetMapping("/vehicle/{vehicleId}")
-    public ResponseEntity<List<VehicleTelemetry>> getTelemetryByVehicleId(@PathVariable String vehicleId) {
-        List<VehicleTelemetry> telemetryData = telemetryService.getTelemetryByVehicleId(vehicleId);
-        return ResponseEntity.ok(telemetryData);
+    public ResponseEntity<?> getTelemetryByVehicleId(
+            @PathVariable String vehicleId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int limit) {
+        try {
+            return pageResponse(telemetryService.getTelemetryPageByVehicleId(vehicleId, cursor, limit));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+    }
+
+    @GetMapping(value = "/vehicle/{vehicleId}", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamTelemetryByVehicleId(@PathVariable String vehicleId) {
+        StreamingResponseBody body = out -> telemetryService.streamTelemetryByVehicleId(vehicleId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/vehicle/{vehicleId}/latest")
@@ -36,12 +98,44 @@ public class VehicleTelemetryController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/vehicle/{vehicleId}/stats")
+    public ResponseEntity<Map<String, Object>> getVehicleStats(@PathVariable String vehicleId) {
+        return telemetryService.getVehicleStats(vehicleId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/vehicle/{vehicleId}/history")
+    public ResponseEntity<Map<String, Object>> getTelemetryHistory(
+            @PathVariable String vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(1);
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(telemetryService.getTelemetryHistory(vehicleId, start, end));
+    }
+
     @GetMapping("/recent")
-    public ResponseEntity<List<VehicleTelemetry>> getRecentTelemetry(
-            @RequestParam(defaultValue = "1") int hours) {
+    public ResponseEntity<?> getRecentTelemetry(
+            @RequestParam(defaultValue = "1") int hours,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int limit) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        List<VehicleTelemetry> telemetryData = telemetryService.getRecentTelemetry(since);
-        return ResponseEntity.ok(telemetryData);
+        try {
+            return pageResponse(telemetryService.getRecentTelemetryPage(since, cursor, limit));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+    }
+
+    @GetMapping(value = "/recent", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamRecentTelemetry(@RequestParam(defaultValue = "1") int hours) {
+        LocalDateTime since = LocalDateTime.now().minusHours(hours);
+        StreamingResponseBody body = out -> telemetryService.streamRecentTelemetry(since, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/maintenance/stats")
@@ -52,31 +146,15 @@ public class VehicleTelemetryController {
 
     @GetMapping("/dashboard/stats")
     public ResponseEntity<Map<String, Object>> getTelemetryDashboardStats() {
-        List<VehicleTelemetry> latestTelemetry = telemetryService.getLatestTelemetryForAllVehicles();
-        Map<String, Long> maintenanceStats = telemetryService.getMaintenanceStatusCounts();
-        
-        double avgSpeed = latestTelemetry.stream()
-                .mapToDouble(VehicleTelemetry::getSpeed)
-                .average()
-                .orElse(0.0);
-        
-        double avgFuelLevel = latestTelemetry.stream()
-                .mapToDouble(VehicleTelemetry::getFuelLevel)
-                .average()
-                .orElse(0.0);
-        
-        long activeVehicles = latestTelemetry.stream()
-                .filter(t -> t.getSpeed() > 5)
-                .count();
-        
-        Map<String, Object> stats = Map.of(
-            "totalVehicles", latestTelemetry.size(),
-            "activeVehicles", activeVehicles,
-            "averageSpeed", Math.round(avgSpeed * 10.0) / 10.0,
-            "averageFuelLevel", Math.round(avgFuelLevel * 10.0) / 10.0,
-            "maintenanceStats", maintenanceStats
-        );
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(telemetryService.getDashboardStats());
+    }
+
+    // The next-page cursor travels in a header so the body stays a plain JSON array
+    private ResponseEntity<List<VehicleTelemetry>> pageResponse(TelemetryPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
-}
\ No newline at end of file
+}
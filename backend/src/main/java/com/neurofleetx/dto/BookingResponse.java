@@ -0,0 +1,133 @@
+package com.neurofleetx.dto;
+
+import com.neurofleetx.model.Booking;
+import java.time.LocalDateTime;
+
+public class BookingResponse {
+    private Long id;
+    private String bookingId;
+    private Long customerId;
+    private String customerName;
+    private Long driverId;
+    private String driverName;
+    private String vehicleId;
+    private String licensePlate;
+    private String pickupLocation;
+    private String deliveryLocation;
+    private Double distance;
+    private Double estimatedCost;
+    private Integer progress;
+    private String status;
+    private LocalDateTime pickupTime;
+    private LocalDateTime deliveryTime;
+    private LocalDateTime estimatedDelivery;
+    private LocalDateTime createdAt;
+    private Integer rating;
+    private String notes;
+    private Integer loadWeight;
+
+    // Read model for the BookingRepository projections; customer, driver and vehicle columns come from the
+    // same joined query as the booking row
+    public BookingResponse(Booking booking, Long customerId, String customerFirstName, String customerLastName,
+                           Long driverId, String driverFirstName, String driverLastName,
+                           String vehicleId, String licensePlate) {
+        this.id = booking.getId();
+        this.bookingId = booking.getBookingId();
+        this.customerId = customerId;
+        this.customerName = customerFirstName != null ? customerFirstName + " " + customerLastName : null;
+        this.driverId = driverId;
+        this.driverName = driverFirstName != null ? driverFirstName + " " + driverLastName : null;
+        this.vehicleId = vehicleId;
+        this.licensePlate = licensePlate;
+        this.pickupLocation = booking.getPickupLocation();
+        this.deliveryLocation = booking.getDeliveryLocation();
+        this.distance = booking.getDistance();
+        this.estimatedCost = booking.getEstimatedCost();
+        this.progress = booking.getProgress();
+        this.status = booking.getStatus() != null ? booking.getStatus().name() : null;
+        this.pickupTime = booking.getPickupTime();
+        this.deliveryTime = booking.getDeliveryTime();
+        this.estimatedDelivery = booking.getEstimatedDelivery();
+        this.createdAt = booking.getCreatedAt();
+        this.rating = booking.getRating();
+        this.notes = booking.getNotes();
+        this.loadWeight = booking.getLoadWeight();
+    }
+
+    // Constructor from a loaded Booking entity, after a write
+    public BookingResponse(Booking booking) {
+        this(booking,
+                booking.getCustomer() != null ? booking.getCustomer().getId() : null,
+                booking.getCustomer() != null ? booking.getCustomer().getFirstName() : null,
+                booking.getCustomer() != null ? booking.getCustomer().getLastName() : null,
+                booking.getDriver() != null ? booking.getDriver().getId() : null,
+                booking.getDriver() != null ? booking.getDriver().getFirstName() : null,
+                booking.getDriver() != null ? booking.getDriver().getLastName() : null,
+                booking.getVehicle() != null ? booking.getVehicle().getVehicleId() : null,
+                booking.getVehicle() != null ? booking.getVehicle().getLicensePlate() : null);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getBookingId() { return bookingId; }
+    public void setBookingId(String bookingId) { this.bookingId = bookingId; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public String getCustomerName() { return customerName; }
+    public void setCustomerName(String customerName) { this.customerName = customerName; }
+
+    public Long getDriverId() { return driverId; }
+    public void setDriverId(Long driverId) { this.driverId = driverId; }
+
+    public String getDriverName() { return driverName; }
+    public void setDriverName(String driverName) { this.driverName = driverName; }
+
+    public String getVehicleId() { return vehicleId; }
+    public void setVehicleId(String vehicleId) { this.vehicleId = vehicleId; }
+
+    public String getLicensePlate() { return licensePlate; }
+    public void setLicensePlate(String licensePlate) { this.licensePlate = licensePlate; }
+
+    public String getPickupLocation() { return pickupLocation; }
+    public void setPickupLocation(String pickupLocation) { this.pickupLocation = pickupLocation; }
+
+    public String getDeliveryLocation() { return deliveryLocation; }
+    public void setDeliveryLocation(String deliveryLocation) { this.deliveryLocation = deliveryLocation; }
+
+    public Double getDistance() { return distance; }
+    public void setDistance(Double distance) { this.distance = distance; }
+
+    public Double getEstimatedCost() { return estimatedCost; }
+    public void setEstimatedCost(Double estimatedCost) { this.estimatedCost = estimatedCost; }
+
+    public Integer getProgress() { return progress; }
+    public void setProgress(Integer progress) { this.progress = progress; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getPickupTime() { return pickupTime; }
+    public void setPickupTime(LocalDateTime pickupTime) { this.pickupTime = pickupTime; }
+
+    public LocalDateTime getDeliveryTime() { return deliveryTime; }
+    public void setDeliveryTime(LocalDateTime deliveryTime) { this.deliveryTime = deliveryTime; }
+
+    public LocalDateTime getEstimatedDelivery() { return estimatedDelivery; }
+    public void setEstimatedDelivery(LocalDateTime estimatedDelivery) { this.estimatedDelivery = estimatedDelivery; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public Integer getLoadWeight() { return loadWeight; }
+    public void setLoadWeight(Integer loadWeight) { this.loadWeight = loadWeight; }
+}
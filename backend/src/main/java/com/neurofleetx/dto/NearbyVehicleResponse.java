@@ -0,0 +1,73 @@
+package com.neurofleetx.dto;
+
+public class NearbyVehicleResponse {
+    private Long id;
+    private String vehicleId;
+    private String type;
+    private String model;
+    private Integer capacity;
+    private String status;
+    private Double latitude;
+    private Double longitude;
+    private String currentLocation;
+    private String driverName;
+    private Boolean isElectric;
+    private Double distanceKm;
+
+    // Constructors
+    public NearbyVehicleResponse() {}
+
+    public NearbyVehicleResponse(Long id, String vehicleId, String type, String model, Integer capacity,
+                                 String status, Double latitude, Double longitude, String currentLocation,
+                                 String driverName, Boolean isElectric, Double distanceKm) {
+        this.id = id;
+        this.vehicleId = vehicleId;
+        this.type = type;
+        this.model = model;
+        this.capacity = capacity;
+        this.status = status;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.currentLocation = currentLocation;
+        this.driverName = driverName;
+        this.isElectric = isElectric;
+        this.distanceKm = distanceKm;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getVehicleId() { return vehicleId; }
+    public void setVehicleId(String vehicleId) { this.vehicleId = vehicleId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getModel() { return model; }
+    public void setModel(String model) { this.model = model; }
+
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public String getCurrentLocation() { return currentLocation; }
+    public void setCurrentLocation(String currentLocation) { this.currentLocation = currentLocation; }
+
+    public String getDriverName() { return driverName; }
+    public void setDriverName(String driverName) { this.driverName = driverName; }
+
+    public Boolean getIsElectric() { return isElectric; }
+    public void setIsElectric(Boolean isElectric) { this.isElectric = isElectric; }
+
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+}
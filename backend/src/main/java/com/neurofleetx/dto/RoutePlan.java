@@ -0,0 +1,62 @@
+package com.neurofleetx.dto;
+
+import java.util.List;
+
+public class RoutePlan {
+    private String origin;
+    private String destination;
+    private Double distanceKm;
+    private Integer estimatedTimeMinutes;
+    private Double fuelLiters;
+    private Double naiveDistanceKm;
+    private Integer naiveTimeMinutes;
+    private Double naiveFuelLiters;
+    private Integer timeSavedMinutes;
+    private Double fuelSavedLiters;
+    private Double savingsPercent;
+    private List<double[]> path;
+    private Double computeMillis;
+
+    // Constructors
+    public RoutePlan() {}
+
+    // Getters and Setters
+    public String getOrigin() { return origin; }
+    public void setOrigin(String origin) { this.origin = origin; }
+
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+
+    public Integer getEstimatedTimeMinutes() { return estimatedTimeMinutes; }
+    public void setEstimatedTimeMinutes(Integer estimatedTimeMinutes) { this.estimatedTimeMinutes = estimatedTimeMinutes; }
+
+    public Double getFuelLiters() { return fuelLiters; }
+    public void setFuelLiters(Double fuelLiters) { this.fuelLiters = fuelLiters; }
+
+    public Double getNaiveDistanceKm() { return naiveDistanceKm; }
+    public void setNaiveDistanceKm(Double naiveDistanceKm) { this.naiveDistanceKm = naiveDistanceKm; }
+
+    public Integer getNaiveTimeMinutes() { return naiveTimeMinutes; }
+    public void setNaiveTimeMinutes(Integer naiveTimeMinutes) { this.naiveTimeMinutes = naiveTimeMinutes; }
+
+    public Double getNaiveFuelLiters() { return naiveFuelLiters; }
+    public void setNaiveFuelLiters(Double naiveFuelLiters) { this.naiveFuelLiters = naiveFuelLiters; }
+
+    public Integer getTimeSavedMinutes() { return timeSavedMinutes; }
+    public void setTimeSavedMinutes(Integer timeSavedMinutes) { this.timeSavedMinutes = timeSavedMinutes; }
+
+    public Double getFuelSavedLiters() { return fuelSavedLiters; }
+    public void setFuelSavedLiters(Double fuelSavedLiters) { this.fuelSavedLiters = fuelSavedLiters; }
+
+    public Double getSavingsPercent() { return savingsPercent; }
+    public void setSavingsPercent(Double savingsPercent) { this.savingsPercent = savingsPercent; }
+
+    public List<double[]> getPath() { return path; }
+    public void setPath(List<double[]> path) { this.path = path; }
+
+    public Double getComputeMillis() { return computeMillis; }
+    public void setComputeMillis(Double computeMillis) { this.computeMillis = computeMillis; }
+}
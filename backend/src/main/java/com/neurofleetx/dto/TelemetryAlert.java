@@ -0,0 +1,60 @@
+package com.neurofleetx.dto;
+
+import java.time.LocalDateTime;
+
+public class TelemetryAlert {
+    private String vehicleId;
+    private String rule;
+    private String metric;
+    private String severity;
+    // RAISED when the condition starts (and again as a reminder while it lasts), CLEARED when it ends
+    private String state;
+    private Double value;
+    private Double limit;
+    private String message;
+    private LocalDateTime timestamp;
+
+    // Constructors
+    public TelemetryAlert() {}
+
+    public TelemetryAlert(String vehicleId, String rule, String metric, String severity, String state,
+                          Double value, Double limit, String message, LocalDateTime timestamp) {
+        this.vehicleId = vehicleId;
+        this.rule = rule;
+        this.metric = metric;
+        this.severity = severity;
+        this.state = state;
+        this.value = value;
+        this.limit = limit;
+        this.message = message;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and Setters
+    public String getVehicleId() { return vehicleId; }
+    public void setVehicleId(String vehicleId) { this.vehicleId = vehicleId; }
+
+    public String getRule() { return rule; }
+    public void setRule(String rule) { this.rule = rule; }
+
+    public String getMetric() { return metric; }
+    public void setMetric(String metric) { this.metric = metric; }
+
+    public String getSeverity() { return severity; }
+    public void setSeverity(String severity) { this.severity = severity; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public Double getValue() { return value; }
+    public void setValue(Double value) { this.value = value; }
+
+    public Double getLimit() { return limit; }
+    public void setLimit(Double limit) { this.limit = limit; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
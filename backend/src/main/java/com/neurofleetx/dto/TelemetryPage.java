@@ -0,0 +1,21 @@
+package com.neurofleetx.dto;
+
+import com.neurofleetx.model.VehicleTelemetry;
+import java.util.List;
+
+public class TelemetryPage {
+    private List<VehicleTelemetry> items;
+    private String nextCursor;
+
+    public TelemetryPage(List<VehicleTelemetry> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<VehicleTelemetry> getItems() { return items; }
+    public void setItems(List<VehicleTelemetry> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,18 @@
+package com.neurofleetx.dto;
+
+import java.util.List;
+
+public class TravelMatrixRequest {
+    private List<String> origins;
+    private List<String> destinations;
+
+    // Constructors
+    public TravelMatrixRequest() {}
+
+    // Getters and Setters
+    public List<String> getOrigins() { return origins; }
+    public void setOrigins(List<String> origins) { this.origins = origins; }
+
+    public List<String> getDestinations() { return destinations; }
+    public void setDestinations(List<String> destinations) { this.destinations = destinations; }
+}
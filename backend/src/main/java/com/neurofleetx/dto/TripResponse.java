@@ -0,0 +1,141 @@
+package com.neurofleetx.dto;
+
+import com.neurofleetx.model.Trip;
+import java.time.LocalDateTime;
+
+public class TripResponse {
+    private Long id;
+    private String tripId;
+    private Long driverId;
+    private String driverName;
+    private String vehicleId;
+    private String licensePlate;
+    private String bookingId;
+    private String routeId;
+    private Integer pickupSequence;
+    private Integer deliverySequence;
+    private String origin;
+    private String destination;
+    private Double distance;
+    private Double earnings;
+    private Integer progress;
+    private String status;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private LocalDateTime estimatedCompletion;
+    private LocalDateTime createdAt;
+    private Integer rating;
+    private String customerName;
+    private String customerPhone;
+
+    // Read model for the TripRepository projections: the trip row plus the few columns of its driver,
+    // vehicle, booking and route that a driver sees, all selected by one joined query
+    public TripResponse(Trip trip, Long driverId, String driverFirstName, String driverLastName,
+                        String vehicleId, String licensePlate, String bookingId, String routeId) {
+        this.id = trip.getId();
+        this.tripId = trip.getTripId();
+        this.driverId = driverId;
+        this.driverName = driverFirstName != null ? driverFirstName + " " + driverLastName : null;
+        this.vehicleId = vehicleId;
+        this.licensePlate = licensePlate;
+        this.bookingId = bookingId;
+        this.routeId = routeId;
+        this.pickupSequence = trip.getPickupSequence();
+        this.deliverySequence = trip.getDeliverySequence();
+        this.origin = trip.getOrigin();
+        this.destination = trip.getDestination();
+        this.distance = trip.getDistance();
+        this.earnings = trip.getEarnings();
+        this.progress = trip.getProgress();
+        this.status = trip.getStatus() != null ? trip.getStatus().name() : null;
+        this.startTime = trip.getStartTime();
+        this.endTime = trip.getEndTime();
+        this.estimatedCompletion = trip.getEstimatedCompletion();
+        this.createdAt = trip.getCreatedAt();
+        this.rating = trip.getRating();
+        this.customerName = trip.getCustomerName();
+        this.customerPhone = trip.getCustomerPhone();
+    }
+
+    // Constructor from a loaded Trip entity, after a write
+    public TripResponse(Trip trip) {
+        this(trip,
+                trip.getDriver() != null ? trip.getDriver().getId() : null,
+                trip.getDriver() != null ? trip.getDriver().getFirstName() : null,
+                trip.getDriver() != null ? trip.getDriver().getLastName() : null,
+                trip.getVehicle() != null ? trip.getVehicle().getVehicleId() : null,
+                trip.getVehicle() != null ? trip.getVehicle().getLicensePlate() : null,
+                trip.getBooking() != null ? trip.getBooking().getBookingId() : null,
+                trip.getRoute() != null ? trip.getRoute().getRouteId() : null);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTripId() { return tripId; }
+    public void setTripId(String tripId) { this.tripId = tripId; }
+
+    public Long getDriverId() { return driverId; }
+    public void setDriverId(Long driverId) { this.driverId = driverId; }
+
+    public String getDriverName() { return driverName; }
+    public void setDriverName(String driverName) { this.driverName = driverName; }
+
+    public String getVehicleId() { return vehicleId; }
+    public void setVehicleId(String vehicleId) { this.vehicleId = vehicleId; }
+
+    public String getLicensePlate() { return licensePlate; }
+    public void setLicensePlate(String licensePlate) { this.licensePlate = licensePlate; }
+
+    public String getBookingId() { return bookingId; }
+    public void setBookingId(String bookingId) { this.bookingId = bookingId; }
+
+    public String getRouteId() { return routeId; }
+    public void setRouteId(String routeId) { this.routeId = routeId; }
+
+    public Integer getPickupSequence() { return pickupSequence; }
+    public void setPickupSequence(Integer pickupSequence) { this.pickupSequence = pickupSequence; }
+
+    public Integer getDeliverySequence() { return deliverySequence; }
+    public void setDeliverySequence(Integer deliverySequence) { this.deliverySequence = deliverySequence; }
+
+    public String getOrigin() { return origin; }
+    public void setOrigin(String origin) { this.origin = origin; }
+
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+
+    public Double getDistance() { return distance; }
+    public void setDistance(Double distance) { this.distance = distance; }
+
+    public Double getEarnings() { return earnings; }
+    public void setEarnings(Double earnings) { this.earnings = earnings; }
+
+    public Integer getProgress() { return progress; }
+    public void setProgress(Integer progress) { this.progress = progress; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+
+    public LocalDateTime getEstimatedCompletion() { return estimatedCompletion; }
+    public void setEstimatedCompletion(LocalDateTime estimatedCompletion) { this.estimatedCompletion = estimatedCompletion; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+
+    public String getCustomerName() { return customerName; }
+    public void setCustomerName(String customerName) { this.customerName = customerName; }
+
+    public String getCustomerPhone() { return customerPhone; }
+    public void setCustomerPhone(String customerPhone) { this.customerPhone = customerPhone; }
+}
@@ -0,0 +1,43 @@
+package com.neurofleetx.dto;
+
+public class ViewportRequest {
+    private Double minLatitude;
+    private Double minLongitude;
+    private Double maxLatitude;
+    private Double maxLongitude;
+
+    // Constructors
+    public ViewportRequest() {}
+
+    public ViewportRequest(Double minLatitude, Double minLongitude, Double maxLatitude, Double maxLongitude) {
+        this.minLatitude = minLatitude;
+        this.minLongitude = minLongitude;
+        this.maxLatitude = maxLatitude;
+        this.maxLongitude = maxLongitude;
+    }
+
+    public boolean isValid() {
+        return minLatitude != null && minLongitude != null && maxLatitude != null && maxLongitude != null
+                && minLatitude <= maxLatitude && minLongitude <= maxLongitude
+                && minLatitude >= -90 && maxLatitude <= 90 && minLongitude >= -180 && maxLongitude <= 180;
+    }
+
+    public boolean contains(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && latitude >= minLatitude && latitude <= maxLatitude
+                && longitude >= minLongitude && longitude <= maxLongitude;
+    }
+
+    // Getters and Setters
+    public Double getMinLatitude() { return minLatitude; }
+    public void setMinLatitude(Double minLatitude) { this.minLatitude = minLatitude; }
+
+    public Double getMinLongitude() { return minLongitude; }
+    public void setMinLongitude(Double minLongitude) { this.minLongitude = minLongitude; }
+
+    public Double getMaxLatitude() { return maxLatitude; }
+    public void setMaxLatitude(Double maxLatitude) { this.maxLatitude = maxLatitude; }
+
+    public Double getMaxLongitude() { return maxLongitude; }
+    public void setMaxLongitude(Double maxLongitude) { this.maxLongitude = maxLongitude; }
+}
@@ -1,15 +1,23 @@
 package com.neurofleetx.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.neurofleetx.service.FleetMetricsListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@EntityListeners(FleetMetricsListener.class)
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_customer_created", columnList = "customer_id, created_at"),
+        @Index(name = "idx_bookings_driver_created", columnList = "driver_id, created_at"),
+        @Index(name = "idx_bookings_status_created", columnList = "status, created_at")
+})
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -17,14 +25,17 @@ public class Booking {
     private String bookingId;
 
     @NotNull
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private User customer;
 
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "driver_id")
     private User driver;
 
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle_id")
     private Vehicle vehicle;
@@ -61,6 +72,13 @@ public class Booking {
     private Integer rating;
     private String notes;
 
+    // Load in kg, checked against vehicle capacity when bookings are batched onto one vehicle
+    private Integer loadWeight;
+
+    // Set when automatic dispatch found no vehicle; the booking is not retried before this time
+    @Column(name = "dispatch_retry_at")
+    private LocalDateTime dispatchRetryAt;
+
     // Constructors
     public Booking() {}
 
@@ -126,6 +144,12 @@ public class Booking {
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
 
+    public Integer getLoadWeight() { return loadWeight; }
+    public void setLoadWeight(Integer loadWeight) { this.loadWeight = loadWeight; }
+
+    public LocalDateTime getDispatchRetryAt() { return dispatchRetryAt; }
+    public void setDispatchRetryAt(LocalDateTime dispatchRetryAt) { this.dispatchRetryAt = dispatchRetryAt; }
+
     public enum BookingStatus {
         SCHEDULED, IN_TRANSIT, DELIVERED, CANCELLED
     }
@@ -1,15 +1,20 @@
 package com.neurofleetx.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.neurofleetx.service.FleetMetricsListener;
+import com.neurofleetx.service.ReferenceDataCacheListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "routes")
+@EntityListeners({FleetMetricsListener.class, ReferenceDataCacheListener.class})
+@Table(name = "routes", indexes = @Index(name = "idx_routes_route_id", columnList = "route_id"))
 public class Route {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "routes_seq")
+    @SequenceGenerator(name = "routes_seq", sequenceName = "routes_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -37,6 +42,7 @@ public class Route {
     @Enumerated(EnumType.STRING)
     private RouteStatus status;
 
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle_id")
     private Vehicle vehicle;
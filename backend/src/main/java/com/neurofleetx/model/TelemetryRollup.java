@@ -0,0 +1,104 @@
+package com.neurofleetx.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "telemetry_rollups",
+       indexes = {
+               @Index(name = "idx_rollup_vehicle_resolution_bucket", columnList = "vehicle_id, resolution, bucket_start"),
+               @Index(name = "idx_rollup_resolution_bucket", columnList = "resolution, bucket_start")
+       })
+public class TelemetryRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "vehicle_id")
+    private String vehicleId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private Resolution resolution;
+
+    @NotNull
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @NotNull
+    private Long sampleCount;
+
+    private Double minSpeed;
+    private Double maxSpeed;
+    private Double avgSpeed;
+    private Double minFuelLevel;
+    private Double maxFuelLevel;
+    private Double avgFuelLevel;
+    private Double minBatteryLevel;
+    private Double maxBatteryLevel;
+    private Double avgBatteryLevel;
+    private Double minEngineTemperature;
+    private Double maxEngineTemperature;
+    private Double avgEngineTemperature;
+
+    // Constructors
+    public TelemetryRollup() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getVehicleId() { return vehicleId; }
+    public void setVehicleId(String vehicleId) { this.vehicleId = vehicleId; }
+
+    public Resolution getResolution() { return resolution; }
+    public void setResolution(Resolution resolution) { this.resolution = resolution; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public Long getSampleCount() { return sampleCount; }
+    public void setSampleCount(Long sampleCount) { this.sampleCount = sampleCount; }
+
+    public Double getMinSpeed() { return minSpeed; }
+    public void setMinSpeed(Double minSpeed) { this.minSpeed = minSpeed; }
+
+    public Double getMaxSpeed() { return maxSpeed; }
+    public void setMaxSpeed(Double maxSpeed) { this.maxSpeed = maxSpeed; }
+
+    public Double getAvgSpeed() { return avgSpeed; }
+    public void setAvgSpeed(Double avgSpeed) { this.avgSpeed = avgSpeed; }
+
+    public Double getMinFuelLevel() { return minFuelLevel; }
+    public void setMinFuelLevel(Double minFuelLevel) { this.minFuelLevel = minFuelLevel; }
+
+    public Double getMaxFuelLevel() { return maxFuelLevel; }
+    public void setMaxFuelLevel(Double maxFuelLevel) { this.maxFuelLevel = maxFuelLevel; }
+
+    public Double getAvgFuelLevel() { return avgFuelLevel; }
+    public void setAvgFuelLevel(Double avgFuelLevel) { this.avgFuelLevel = avgFuelLevel; }
+
+    public Double getMinBatteryLevel() { return minBatteryLevel; }
+    public void setMinBatteryLevel(Double minBatteryLevel) { this.minBatteryLevel = minBatteryLevel; }
+
+    public Double getMaxBatteryLevel() { return maxBatteryLevel; }
+    public void setMaxBatteryLevel(Double maxBatteryLevel) { this.maxBatteryLevel = maxBatteryLevel; }
+
+    public Double getAvgBatteryLevel() { return avgBatteryLevel; }
+    public void setAvgBatteryLevel(Double avgBatteryLevel) { this.avgBatteryLevel = avgBatteryLevel; }
+
+    public Double getMinEngineTemperature() { return minEngineTemperature; }
+    public void setMinEngineTemperature(Double minEngineTemperature) { this.minEngineTemperature = minEngineTemperature; }
+
+    public Double getMaxEngineTemperature() { return maxEngineTemperature; }
+    public void setMaxEngineTemperature(Double maxEngineTemperature) { this.maxEngineTemperature = maxEngineTemperature; }
+
+    public Double getAvgEngineTemperature() { return avgEngineTemperature; }
+    public void setAvgEngineTemperature(Double avgEngineTemperature) { this.avgEngineTemperature = avgEngineTemperature; }
+
+    public enum Resolution {
+        MINUTE, HOUR
+    }
+}
@@ -1,15 +1,22 @@
 package com.neurofleetx.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.neurofleetx.service.FleetMetricsListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "trips")
+@EntityListeners(FleetMetricsListener.class)
+@Table(name = "trips", indexes = {
+        @Index(name = "idx_trips_driver_status", columnList = "driver_id, status"),
+        @Index(name = "idx_trips_driver_created", columnList = "driver_id, created_at")
+})
 public class Trip {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trips_seq")
+    @SequenceGenerator(name = "trips_seq", sequenceName = "trips_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -17,19 +24,31 @@ public class Trip {
     private String tripId;
 
     @NotNull
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "driver_id")
     private User driver;
 
     @NotNull
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle_id")
     private Vehicle vehicle;
 
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id")
     private Booking booking;
 
+    // Set when the trip is one of several bookings batched onto a planned route
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "route_id")
+    private Route route;
+
+    private Integer pickupSequence;
+    private Integer deliverySequence;
+
     @NotBlank
     private String origin;
 
@@ -132,6 +151,15 @@ public class Trip {
     public String getCustomerPhone() { return customerPhone; }
     public void setCustomerPhone(String customerPhone) { this.customerPhone = customerPhone; }
 
+    public Route getRoute() { return route; }
+    public void setRoute(Route route) { this.route = route; }
+
+    public Integer getPickupSequence() { return pickupSequence; }
+    public void setPickupSequence(Integer pickupSequence) { this.pickupSequence = pickupSequence; }
+
+    public Integer getDeliverySequence() { return deliverySequence; }
+    public void setDeliverySequence(Integer deliverySequence) { this.deliverySequence = deliverySequence; }
+
     public enum TripStatus {
         SCHEDULED, IN_PROGRESS, COMPLETED, CANCELLED
     }
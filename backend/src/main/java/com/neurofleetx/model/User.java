@@ -1,5 +1,8 @@
 package com.neurofleetx.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.neurofleetx.security.PrincipalCacheListener;
+import com.neurofleetx.service.ReferenceDataCacheListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,10 +11,12 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@EntityListeners({PrincipalCacheListener.class, ReferenceDataCacheListener.class})
+@Table(name = "users", indexes = @Index(name = "idx_users_user_type", columnList = "user_type"))
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -32,6 +37,8 @@ public class User {
     @Size(max = 100)
     private String company;
 
+    // Users are embedded in booking and trip responses, which must never carry the hash
+    @JsonIgnore
     @NotBlank
     @Size(min = 6, max = 120)
     private String password;
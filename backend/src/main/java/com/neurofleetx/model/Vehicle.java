@@ -1,15 +1,20 @@
 package com.neurofleetx.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.neurofleetx.service.FleetMetricsListener;
+import com.neurofleetx.service.ReferenceDataCacheListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "vehicles")
+@EntityListeners({FleetMetricsListener.class, ReferenceDataCacheListener.class})
+@Table(name = "vehicles", indexes = @Index(name = "idx_vehicles_status", columnList = "status"))
 public class Vehicle {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicles_seq")
+    @SequenceGenerator(name = "vehicles_seq", sequenceName = "vehicles_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -52,6 +57,8 @@ public class Vehicle {
     private Double fuelLevel;
     private Boolean isElectric = false;
 
+    // Exposed through driverName; serializing the lazy User would leak the account
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_driver_id")
     private User assignedDriver;
@@ -5,7 +5,10 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "vehicle_telemetry")
+@Table(name = "vehicle_telemetry", indexes = {
+        @Index(name = "idx_telemetry_vehicle_timestamp", columnList = "vehicle_id, timestamp"),
+        @Index(name = "idx_telemetry_timestamp", columnList = "timestamp")
+})
 public class VehicleTelemetry {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
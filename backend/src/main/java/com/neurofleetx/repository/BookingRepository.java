@@ -1,15 +1,25 @@
 package com.neurofleetx.repository;
 
+import com.neurofleetx.dto.BookingResponse;
 import com.neurofleetx.model.Booking;
 import com.neurofleetx.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    // Booking rows with customer, driver and vehicle columns joined in, for the customer endpoints
+    String RESPONSE_SELECT = "SELECT new com.neurofleetx.dto.BookingResponse(b, c.id, c.firstName, c.lastName, " +
+            "d.id, d.firstName, d.lastName, v.vehicleId, v.licensePlate) " +
+            "FROM Booking b LEFT JOIN b.customer c LEFT JOIN b.driver d LEFT JOIN b.vehicle v ";
+
     Optional<Booking> findByBookingId(String bookingId);
     List<Booking> findByCustomer(User customer);
     List<Booking> findByDriver(User driver);
@@ -18,9 +28,28 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.customer.id = ?1 ORDER BY b.createdAt DESC")
     List<Booking> findByCustomerIdOrderByCreatedAtDesc(Long customerId);
     
+    @Query(RESPONSE_SELECT + "WHERE c.id = ?1 ORDER BY b.createdAt DESC")
+    List<BookingResponse> findResponsesByCustomerId(Long customerId);
+
+    @Query(RESPONSE_SELECT + "WHERE b.bookingId = ?1")
+    Optional<BookingResponse> findResponseByBookingId(String bookingId);
+    
     @Query("SELECT b FROM Booking b WHERE b.driver.id = ?1 ORDER BY b.createdAt DESC")
     List<Booking> findByDriverIdOrderByCreatedAtDesc(Long driverId);
     
     @Query("SELECT b FROM Booking b WHERE b.status = 'IN_TRANSIT' ORDER BY b.createdAt DESC")
     List<Booking> findActiveBookings();
-}
\ No newline at end of file
+
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.customer WHERE b.status = 'SCHEDULED' AND b.vehicle IS NULL ORDER BY b.createdAt")
+    List<Booking> findUnassignedScheduledBookings();
+
+    @Query("SELECT b FROM Booking b WHERE b.status = 'SCHEDULED' AND b.vehicle IS NULL " +
+           "AND (b.dispatchRetryAt IS NULL OR b.dispatchRetryAt <= ?1) ORDER BY b.createdAt")
+    List<Booking> findDispatchableBookings(LocalDateTime now, Pageable pageable);
+
+    boolean existsByVehicleIdAndStatusIn(Long vehicleId, Collection<Booking.BookingStatus> statuses);
+
+    // Fields FleetMetricsAggregator needs, without loading entities
+    @Query("SELECT b.id, b.status, b.deliveryTime, b.createdAt, b.estimatedCost FROM Booking b")
+    List<Object[]> findMetricsRows();
+}
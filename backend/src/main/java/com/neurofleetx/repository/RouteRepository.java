@@ -15,7 +15,18 @@ public interface RouteRepository extends JpaRepository<Route, Long> {
     
     @Query("SELECT r FROM Route r WHERE r.status = 'ACTIVE' ORDER BY r.createdAt DESC")
     List<Route> findActiveRoutes();
+
+    // Vehicle fetched along: the cached route lists are serialized after their session has closed
+    @Query("SELECT r FROM Route r LEFT JOIN FETCH r.vehicle")
+    List<Route> findAllWithVehicle();
+
+    @Query("SELECT r FROM Route r LEFT JOIN FETCH r.vehicle WHERE r.status = 'ACTIVE' ORDER BY r.createdAt DESC")
+    List<Route> findActiveWithVehicle();
     
     @Query("SELECT AVG(r.aiOptimizationSavings) FROM Route r WHERE r.aiOptimizationSavings IS NOT NULL")
     Double getAverageOptimizationSavings();
-}
\ No newline at end of file
+
+    // Fields FleetMetricsAggregator needs, without loading entities
+    @Query("SELECT r.id, r.status, r.createdAt, r.fuelConsumption, r.fuelSaved, r.aiOptimizationSavings FROM Route r")
+    List<Object[]> findMetricsRows();
+}
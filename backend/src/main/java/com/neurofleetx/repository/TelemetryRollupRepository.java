@@ -0,0 +1,23 @@
+package com.neurofleetx.repository;
+
+import com.neurofleetx.model.TelemetryRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TelemetryRollupRepository extends JpaRepository<TelemetryRollup, Long> {
+
+    @Query("SELECT r FROM TelemetryRollup r WHERE r.vehicleId = ?1 AND r.resolution = ?2 " +
+           "AND r.bucketStart >= ?3 AND r.bucketStart < ?4 ORDER BY r.bucketStart ASC")
+    List<TelemetryRollup> findByVehicleIdAndResolutionInRange(String vehicleId, TelemetryRollup.Resolution resolution,
+                                                              LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT MAX(r.bucketStart) FROM TelemetryRollup r WHERE r.resolution = ?1")
+    LocalDateTime findLatestBucketStart(TelemetryRollup.Resolution resolution);
+
+    @Query("SELECT MIN(r.bucketStart) FROM TelemetryRollup r WHERE r.resolution = ?1")
+    LocalDateTime findEarliestBucketStart(TelemetryRollup.Resolution resolution);
+}
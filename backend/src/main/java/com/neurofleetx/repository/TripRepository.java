@@ -1,5 +1,6 @@
 package com.neurofleetx.repository;
 
+import com.neurofleetx.dto.TripResponse;
 import com.neurofleetx.model.Trip;
 import com.neurofleetx.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,12 @@ import java.util.Optional;
 
 @Repository
 public interface TripRepository extends JpaRepository<Trip, Long> {
+
+    // Trip rows with driver, vehicle, booking and route columns joined in, for the driver endpoints
+    String RESPONSE_SELECT = "SELECT new com.neurofleetx.dto.TripResponse(t, d.id, d.firstName, d.lastName, " +
+            "v.vehicleId, v.licensePlate, b.bookingId, r.routeId) " +
+            "FROM Trip t JOIN t.driver d LEFT JOIN t.vehicle v LEFT JOIN t.booking b LEFT JOIN t.route r ";
+
     Optional<Trip> findByTripId(String tripId);
     List<Trip> findByDriver(User driver);
     List<Trip> findByStatus(Trip.TripStatus status);
@@ -23,6 +30,22 @@ public interface TripRepository extends JpaRepository<Trip, Long> {
     @Query("SELECT t FROM Trip t WHERE t.driver.id = ?1 AND t.status = 'SCHEDULED' ORDER BY t.estimatedCompletion ASC")
     List<Trip> findUpcomingTripsByDriverId(Long driverId);
     
+    @Query(RESPONSE_SELECT + "WHERE d.id = ?1 ORDER BY t.createdAt DESC")
+    List<TripResponse> findResponsesByDriverId(Long driverId);
+
+    @Query(RESPONSE_SELECT + "WHERE d.id = ?1 AND t.status = 'IN_PROGRESS'")
+    Optional<TripResponse> findCurrentResponseByDriverId(Long driverId);
+
+    @Query(RESPONSE_SELECT + "WHERE d.id = ?1 AND t.status = 'SCHEDULED' ORDER BY t.estimatedCompletion ASC")
+    List<TripResponse> findUpcomingResponsesByDriverId(Long driverId);
+
+    @Query(RESPONSE_SELECT + "WHERE t.tripId = ?1")
+    Optional<TripResponse> findResponseByTripId(String tripId);
+    
     @Query("SELECT SUM(t.earnings) FROM Trip t WHERE t.driver.id = ?1 AND MONTH(t.createdAt) = MONTH(CURRENT_DATE) AND YEAR(t.createdAt) = YEAR(CURRENT_DATE)")
     Double getMonthlyEarningsByDriverId(Long driverId);
-}
\ No newline at end of file
+
+    // Fields FleetMetricsAggregator needs, without loading entities
+    @Query("SELECT t.id, t.status, t.createdAt, t.earnings FROM Trip t")
+    List<Object[]> findMetricsRows();
+}
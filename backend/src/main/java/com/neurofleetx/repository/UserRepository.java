@@ -3,6 +3,7 @@ package com.neurofleetx.repository;
 import com.neurofleetx.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
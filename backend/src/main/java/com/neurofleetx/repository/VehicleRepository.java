@@ -15,10 +15,33 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     
     @Query("SELECT v FROM Vehicle v WHERE v.status = 'EN_ROUTE' OR v.status = 'LOADING'")
     List<Vehicle> findActiveVehicles();
+
+    // The assigned driver is fetched in the same query; VehicleResponse reads its name
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.assignedDriver")
+    List<Vehicle> findAllWithDriver();
+
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.assignedDriver WHERE v.status = ?1")
+    List<Vehicle> findByStatusWithDriver(Vehicle.VehicleStatus status);
+
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.assignedDriver WHERE v.status = 'EN_ROUTE' OR v.status = 'LOADING'")
+    List<Vehicle> findActiveWithDriver();
+
+    @Query("SELECT v FROM Vehicle v JOIN FETCH v.assignedDriver d WHERE d.id = ?1")
+    List<Vehicle> findByAssignedDriverIdWithDriver(Long driverId);
+
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.assignedDriver WHERE v.id = ?1")
+    Optional<Vehicle> findByIdWithDriver(Long id);
+
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.assignedDriver WHERE v.vehicleId = ?1")
+    Optional<Vehicle> findByVehicleIdWithDriver(String vehicleId);
     
     @Query("SELECT COUNT(v) FROM Vehicle v WHERE v.status = ?1")
     Long countByStatus(Vehicle.VehicleStatus status);
     
     @Query("SELECT v FROM Vehicle v WHERE v.status = 'AVAILABLE' ORDER BY v.createdAt DESC")
     List<Vehicle> findAvailableVehicles();
-}
\ No newline at end of file
+
+    // id and status only, for FleetMetricsAggregator
+    @Query("SELECT v.id, v.status FROM Vehicle v")
+    List<Object[]> findMetricsRows();
+}
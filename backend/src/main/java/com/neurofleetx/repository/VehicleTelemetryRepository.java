@@ -1,12 +1,17 @@
 package com.neurofleetx.repository;
 
 import com.neurofleetx.model.VehicleTelemetry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface VehicleTelemetryRepository extends JpaRepository<VehicleTelemetry, Long> {
@@ -29,4 +34,27 @@ public interface VehicleTelemetryRepository extends JpaRepository<VehicleTelemet
     
     @Query("SELECT t FROM VehicleTelemetry t WHERE t.vehicleId = ?1 AND t.timestamp >= ?2 ORDER BY t.timestamp ASC")
     List<VehicleTelemetry> findByVehicleIdAndTimestampAfter(String vehicleId, LocalDateTime timestamp);
+    
+    @Query("SELECT t FROM VehicleTelemetry t WHERE t.vehicleId = ?1 AND t.timestamp >= ?2 AND t.timestamp < ?3 ORDER BY t.timestamp ASC")
+    List<VehicleTelemetry> findByVehicleIdInRange(String vehicleId, LocalDateTime from, LocalDateTime to);
+    
+    // Keyset pages: rows strictly after the (timestamp, id) cursor in newest-first order
+    @Query("SELECT t FROM VehicleTelemetry t WHERE t.vehicleId = ?1 " +
+           "AND (t.timestamp < ?2 OR (t.timestamp = ?2 AND t.id < ?3)) ORDER BY t.timestamp DESC, t.id DESC")
+    List<VehicleTelemetry> findPageByVehicleId(String vehicleId, LocalDateTime beforeTimestamp, Long beforeId, Pageable pageable);
+    
+    @Query("SELECT t FROM VehicleTelemetry t WHERE t.timestamp >= ?1 " +
+           "AND (t.timestamp < ?2 OR (t.timestamp = ?2 AND t.id < ?3)) ORDER BY t.timestamp DESC, t.id DESC")
+    List<VehicleTelemetry> findRecentPage(LocalDateTime since, LocalDateTime beforeTimestamp, Long beforeId, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM VehicleTelemetry t WHERE t.vehicleId = ?1 ORDER BY t.timestamp DESC, t.id DESC")
+    Stream<VehicleTelemetry> streamByVehicleId(String vehicleId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM VehicleTelemetry t WHERE t.timestamp >= ?1 ORDER BY t.timestamp DESC, t.id DESC")
+    Stream<VehicleTelemetry> streamRecent(LocalDateTime since);
+    
+    @Query("SELECT MIN(t.timestamp) FROM VehicleTelemetry t")
+    LocalDateTime findEarliestTimestamp();
 }
\ No newline at end of file
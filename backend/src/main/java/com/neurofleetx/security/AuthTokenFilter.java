@@ -1,5 +1,7 @@
 package com.neurofleetx.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +11,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,17 +23,36 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        // Only token handling is timed, not the rest of the chain; the result tag separates the cache hit path
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "anonymous";
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String email = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            String email = jwt != null ? jwtUtils.getSubjectIfValid(jwt) : null;
+            if (jwt != null && email == null) {
+                result = "invalid";
+            }
+            if (email != null) {
+                // Cached principals carry the user id and role, so a valid token needs no query here
+                UserDetailsImpl userDetails = principalCache.get(email);
+                result = "cached";
+                if (userDetails == null) {
+                    long generation = principalCache.generation();
+                    userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(email);
+                    principalCache.put(userDetails, generation);
+                    result = "loaded";
+                }
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails,
                                 null,
@@ -42,8 +62,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
+            result = "error";
             logger.error("Cannot set user authentication: {}", e);
         }
+        sample.stop(Timer.builder("neurofleetx.security.jwt.filter")
+                .tag("result", result)
+                .register(meterRegistry));
 
         filterChain.doFilter(request, response);
     }
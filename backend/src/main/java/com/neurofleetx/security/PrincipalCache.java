@@ -0,0 +1,91 @@
+package com.neurofleetx.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Resolved principals by email, so an authenticated request does not load the user again. Entries expire
+// after the TTL and are dropped as soon as the user row changes (PrincipalCacheListener). A load that began
+// before an invalidation is not cached, so a request that read the old row cannot put it back.
+@Component
+public class PrincipalCache {
+
+    @Value("${neurofleetx.security.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${neurofleetx.security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // Access-ordered, so the least recently used principal goes first when the cache is full
+    private final Map<String, CachedPrincipal> principals = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    // Taken on every authenticated request; contending for a monitor would pin a virtual request thread
+    private final ReentrantLock lock = new ReentrantLock();
+    // Bumped by every invalidation, guarded by the lock
+    private long generation;
+
+    public UserDetailsImpl get(String email) {
+        CachedPrincipal cached;
+        lock.lock();
+        try {
+            cached = principals.get(email);
+            if (cached != null && cached.expiresAtNanos - System.nanoTime() <= 0) {
+                principals.remove(email);
+                cached = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return cached != null ? cached.principal : null;
+    }
+
+    // Read before loading a user; pass it to put so a load that raced an update is dropped
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The password hash is not needed once the token is verified, so it is not kept in memory
+    public void put(UserDetailsImpl principal, long loadedAtGeneration) {
+        UserDetailsImpl withoutPassword = new UserDetailsImpl(principal.getId(), principal.getUsername(), null,
+                principal.getAuthorities());
+        long expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+        lock.lock();
+        try {
+            if (generation == loadedAtGeneration) {
+                principals.put(principal.getUsername(), new CachedPrincipal(withoutPassword, expiresAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // By id as well as email, so an email change also drops the entry under the old address
+    public void invalidate(Long userId, String email) {
+        lock.lock();
+        try {
+            generation++;
+            if (email != null) {
+                principals.remove(email);
+            }
+            if (userId != null) {
+                principals.values().removeIf(cached -> userId.equals(cached.principal.getId()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record CachedPrincipal(UserDetailsImpl principal, long expiresAtNanos) {}
+}
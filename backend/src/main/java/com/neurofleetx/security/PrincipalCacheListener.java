@@ -0,0 +1,35 @@
+package com.neurofleetx.security;
+
+import com.neurofleetx.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Drops the cached principal whenever a user row is updated or deleted, so role changes apply immediately.
+// The flush happens before commit, so the entry is dropped again once the transaction commits: a request that
+// loaded the still-committed old row in between may have cached it.
+public class PrincipalCacheListener {
+
+    @Lazy
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChanged(User user) {
+        Long userId = user.getId();
+        String email = user.getEmail();
+        principalCache.invalidate(userId, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.invalidate(userId, email);
+                }
+            });
+        }
+    }
+}
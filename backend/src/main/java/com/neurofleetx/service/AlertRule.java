@@ -0,0 +1,120 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.model.VehicleTelemetry;
+import java.util.List;
+import java.util.function.Function;
+
+// One telemetry alert condition. A threshold rule fires while the value is past its limit, a rate rule while
+// the value moves faster than the limit per minute in the given direction, and a sustained rule once the value
+// has stayed past the limit for the whole duration. Threshold and sustained rules clear with hysteresis.
+public final class AlertRule {
+
+    public enum Type {
+        THRESHOLD, RATE_OF_CHANGE, SUSTAINED
+    }
+
+    public enum Direction {
+        ABOVE, BELOW
+    }
+
+    public enum Severity {
+        WARNING, CRITICAL
+    }
+
+    public enum Metric {
+        ENGINE_TEMPERATURE(VehicleTelemetry::getEngineTemperature),
+        TIRE_PRESSURE(VehicleTelemetry::getTirePressure),
+        FUEL_LEVEL(VehicleTelemetry::getFuelLevel),
+        BATTERY_LEVEL(VehicleTelemetry::getBatteryLevel);
+
+        private final Function<VehicleTelemetry, Double> reader;
+
+        Metric(Function<VehicleTelemetry, Double> reader) {
+            this.reader = reader;
+        }
+
+        public Double read(VehicleTelemetry telemetry) {
+            return reader.apply(telemetry);
+        }
+    }
+
+    // Built-in rules; limits are in the metric's own unit (°C, PSI, %) or that unit per minute
+    public static final List<AlertRule> DEFAULT_RULES = List.of(
+        threshold("engine-overheat", Metric.ENGINE_TEMPERATURE, Direction.ABOVE, 115, 5, Severity.CRITICAL,
+                "Engine temperature critical"),
+        sustained("engine-running-hot", Metric.ENGINE_TEMPERATURE, Direction.ABOVE, 105, 3, 60, Severity.WARNING,
+                "Engine running hot"),
+        threshold("tire-pressure-low", Metric.TIRE_PRESSURE, Direction.BELOW, 28, 1, Severity.WARNING,
+                "Tire pressure low"),
+        rateOfChange("tire-pressure-drop", Metric.TIRE_PRESSURE, Direction.BELOW, 3, Severity.CRITICAL,
+                "Rapid tire pressure loss"),
+        threshold("fuel-low", Metric.FUEL_LEVEL, Direction.BELOW, 15, 5, Severity.CRITICAL,
+                "Low fuel level"),
+        rateOfChange("fuel-drop", Metric.FUEL_LEVEL, Direction.BELOW, 30, Severity.WARNING,
+                "Abnormal fuel level drop"),
+        threshold("battery-low", Metric.BATTERY_LEVEL, Direction.BELOW, 20, 5, Severity.CRITICAL,
+                "Low battery level"),
+        sustained("battery-depleting", Metric.BATTERY_LEVEL, Direction.BELOW, 40, 2, 300, Severity.WARNING,
+                "Battery level staying low")
+    );
+
+    private final String name;
+    private final Type type;
+    private final Metric metric;
+    private final Direction direction;
+    private final double limit;
+    private final double hysteresis;
+    private final long durationMillis;
+    private final Severity severity;
+    private final String message;
+
+    private AlertRule(String name, Type type, Metric metric, Direction direction, double limit, double hysteresis,
+                      long durationMillis, Severity severity, String message) {
+        this.name = name;
+        this.type = type;
+        this.metric = metric;
+        this.direction = direction;
+        this.limit = limit;
+        this.hysteresis = hysteresis;
+        this.durationMillis = durationMillis;
+        this.severity = severity;
+        this.message = message;
+    }
+
+    public static AlertRule threshold(String name, Metric metric, Direction direction, double limit,
+                                      double hysteresis, Severity severity, String message) {
+        return new AlertRule(name, Type.THRESHOLD, metric, direction, limit, hysteresis, 0, severity, message);
+    }
+
+    public static AlertRule rateOfChange(String name, Metric metric, Direction direction, double limitPerMinute,
+                                         Severity severity, String message) {
+        return new AlertRule(name, Type.RATE_OF_CHANGE, metric, direction, limitPerMinute, 0, 0, severity, message);
+    }
+
+    public static AlertRule sustained(String name, Metric metric, Direction direction, double limit,
+                                      double hysteresis, long durationSeconds, Severity severity, String message) {
+        return new AlertRule(name, Type.SUSTAINED, metric, direction, limit, hysteresis, durationSeconds * 1000,
+                severity, message);
+    }
+
+    // Whether the value is past the limit; an active alert needs the value back past the hysteresis band to clear
+    public boolean breaches(double value, boolean active) {
+        double margin = active ? hysteresis : 0;
+        return direction == Direction.ABOVE ? value > limit - margin : value < limit + margin;
+    }
+
+    // Change per minute signed so that a positive result moves in the rule's direction
+    public boolean breachesRate(double previous, double current, long elapsedMillis) {
+        double perMinute = (current - previous) * 60_000.0 / elapsedMillis;
+        return (direction == Direction.ABOVE ? perMinute : -perMinute) > limit;
+    }
+
+    public String getName() { return name; }
+    public Type getType() { return type; }
+    public Metric getMetric() { return metric; }
+    public Direction getDirection() { return direction; }
+    public double getLimit() { return limit; }
+    public long getDurationMillis() { return durationMillis; }
+    public Severity getSeverity() { return severity; }
+    public String getMessage() { return message; }
+}
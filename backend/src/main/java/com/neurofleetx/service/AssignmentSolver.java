@@ -0,0 +1,120 @@
+package com.neurofleetx.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Minimum-cost assignment of rows to columns over sparse candidate edges: the Hungarian method as successive
+// shortest augmenting paths (Dijkstra on reduced costs). Every row may instead stay unassigned at a fixed cost.
+public final class AssignmentSolver {
+
+    private AssignmentSolver() {}
+
+    // Returns the assigned column of every row, or -1 for rows left unassigned
+    public static int[] solve(int columnCount, int[][] edgeColumns, double[][] edgeCosts, double unassignedCost) {
+        int rowCount = edgeColumns.length;
+        // Column columnCount + r is row r's private "unassigned" column
+        int totalColumns = columnCount + rowCount;
+        double[] rowPotential = new double[rowCount];
+        double[] columnPotential = new double[totalColumns];
+        int[] rowMatch = new int[rowCount];
+        int[] columnMatch = new int[totalColumns];
+        Arrays.fill(rowMatch, -1);
+        Arrays.fill(columnMatch, -1);
+
+        double[] distance = new double[totalColumns];
+        int[] previousRow = new int[totalColumns];
+        boolean[] done = new boolean[totalColumns];
+        double[] rowDistance = new double[rowCount];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        List<Integer> touched = new ArrayList<>();
+        List<Integer> settled = new ArrayList<>();
+        List<Integer> reachedRows = new ArrayList<>();
+        PriorityQueue<double[]> open = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+
+        for (int source = 0; source < rowCount; source++) {
+            relax(source, 0, columnCount, edgeColumns, edgeCosts, unassignedCost, rowPotential, columnPotential,
+                    distance, previousRow, touched, open);
+            int end = -1;
+            double endDistance = 0;
+            while (!open.isEmpty()) {
+                double[] top = open.poll();
+                int column = (int) top[1];
+                if (done[column] || top[0] > distance[column]) {
+                    continue;
+                }
+                done[column] = true;
+                settled.add(column);
+                if (columnMatch[column] < 0) {
+                    end = column;
+                    endDistance = top[0];
+                    break;
+                }
+                int row = columnMatch[column];
+                rowDistance[row] = top[0];
+                reachedRows.add(row);
+                relax(row, top[0], columnCount, edgeColumns, edgeCosts, unassignedCost, rowPotential,
+                        columnPotential, distance, previousRow, touched, open);
+            }
+
+            // Keep reduced costs non-negative and matched edges tight for the next search
+            for (int column : settled) {
+                if (column != end) {
+                    columnPotential[column] -= endDistance - distance[column];
+                }
+            }
+            rowPotential[source] += endDistance;
+            for (int row : reachedRows) {
+                rowPotential[row] += endDistance - rowDistance[row];
+            }
+
+            // The source's own unassigned column is always free, so an augmenting path always exists
+            int column = end;
+            while (true) {
+                int row = previousRow[column];
+                int next = rowMatch[row];
+                rowMatch[row] = column;
+                columnMatch[column] = row;
+                if (row == source) {
+                    break;
+                }
+                column = next;
+            }
+
+            for (int touchedColumn : touched) {
+                distance[touchedColumn] = Double.POSITIVE_INFINITY;
+                done[touchedColumn] = false;
+            }
+            touched.clear();
+            settled.clear();
+            reachedRows.clear();
+            open.clear();
+        }
+
+        int[] assignment = new int[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            assignment[row] = rowMatch[row] < columnCount ? rowMatch[row] : -1;
+        }
+        return assignment;
+    }
+
+    private static void relax(int row, double rowDistance, int columnCount, int[][] edgeColumns, double[][] edgeCosts,
+                              double unassignedCost, double[] rowPotential, double[] columnPotential,
+                              double[] distance, int[] previousRow, List<Integer> touched, PriorityQueue<double[]> open) {
+        int[] columns = edgeColumns[row];
+        for (int e = 0; e <= columns.length; e++) {
+            int column = e < columns.length ? columns[e] : columnCount + row;
+            double cost = e < columns.length ? edgeCosts[row][e] : unassignedCost;
+            double candidate = rowDistance + Math.max(0, cost - rowPotential[row] - columnPotential[column]);
+            if (candidate < distance[column]) {
+                if (distance[column] == Double.POSITIVE_INFINITY) {
+                    touched.add(column);
+                }
+                distance[column] = candidate;
+                previousRow[column] = row;
+                open.add(new double[] {candidate, column});
+            }
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.NearbyVehicleResponse;
+import com.neurofleetx.model.Booking;
+import com.neurofleetx.model.Route;
+import com.neurofleetx.model.Trip;
+import com.neurofleetx.model.User;
+import com.neurofleetx.model.Vehicle;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.RouteRepository;
+import com.neurofleetx.repository.TripRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Consolidates open bookings onto available vehicles as multi-stop routes
+@Service
+public class BatchRoutingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchRoutingService.class);
+
+    private static final DateTimeFormatter PLAN_ID_FORMAT = DateTimeFormatter.ofPattern("yyMMddHHmmss");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private RouteEngine routeEngine;
+
+    @Autowired
+    private VrpSolver solver;
+
+    @Autowired
+    private VehicleGeoIndex geoIndex;
+
+    @Autowired
+    private TravelMatrixService travelMatrixService;
+
+    @Autowired
+    private DispatchEngine dispatchEngine;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${neurofleetx.vrp.time-budget-ms:2000}")
+    private long defaultBudgetMs;
+
+    @Value("${neurofleetx.vrp.max-time-budget-ms:10000}")
+    private long maxBudgetMs;
+
+    @Value("${neurofleetx.vrp.default-booking-load:100}")
+    private int defaultBookingLoad;
+
+    @Value("${neurofleetx.vrp.candidates-per-booking:3}")
+    private int candidatesPerBooking;
+
+    @Value("${neurofleetx.vrp.vehicle-search-radius-km:50}")
+    private double searchRadiusKm;
+
+    @Value("${neurofleetx.vrp.max-vehicles:100}")
+    private int maxVehicles;
+
+    // Plans all SCHEDULED bookings without a vehicle; with persist=false the plan is only returned
+    public Map<String, Object> planOpenBookings(Long budgetMs, boolean persist) {
+        long started = System.nanoTime();
+        List<Booking> bookings = new ArrayList<>();
+        List<String> unresolved = new ArrayList<>();
+        List<Integer> pickupNodes = new ArrayList<>();
+        List<Integer> deliveryNodes = new ArrayList<>();
+        for (Booking booking : bookingRepository.findUnassignedScheduledBookings()) {
+            int pickup = travelMatrixService.resolve(booking.getPickupLocation());
+            int delivery = travelMatrixService.resolve(booking.getDeliveryLocation());
+            if (pickup < 0 || delivery < 0) {
+                unresolved.add(booking.getBookingId());
+                continue;
+            }
+            bookings.add(booking);
+            pickupNodes.add(pickup);
+            deliveryNodes.add(delivery);
+        }
+
+        // Candidate vehicles are the few nearest available ones to each pickup, not the whole fleet
+        RoadGraph graph = routeEngine.getGraph();
+        Set<Long> candidateIds = new LinkedHashSet<>();
+        for (int pickupNode : pickupNodes) {
+            for (NearbyVehicleResponse nearby : geoIndex.findNearest(graph.getLatitude(pickupNode),
+                    graph.getLongitude(pickupNode), candidatesPerBooking, searchRadiusKm,
+                    Vehicle.VehicleStatus.AVAILABLE, null, true)) {
+                if (candidateIds.size() < maxVehicles) {
+                    candidateIds.add(nearby.getId());
+                }
+            }
+        }
+        List<Vehicle> vehicles = new ArrayList<>();
+        List<Integer> startNodes = new ArrayList<>();
+        for (Vehicle vehicle : vehicleRepository.findAllById(candidateIds)) {
+            // Trips need a driver, so vehicles without one cannot take bookings
+            if (vehicle.getStatus() != Vehicle.VehicleStatus.AVAILABLE || vehicle.getAssignedDriver() == null
+                    || vehicle.getLatitude() == null || vehicle.getLongitude() == null) {
+                continue;
+            }
+            vehicles.add(vehicle);
+            startNodes.add(travelMatrixService.snap(vehicle.getLatitude(), vehicle.getLongitude()));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("bookings", bookings.size());
+        result.put("vehicles", vehicles.size());
+        result.put("unresolvedBookings", unresolved);
+        if (bookings.isEmpty() || vehicles.isEmpty()) {
+            result.put("routes", List.of());
+            result.put("unassignedBookings", bookingIds(bookings, allIndexes(bookings.size())));
+            return result;
+        }
+
+        // Matrix points: vehicle starts, then pickups, then deliveries
+        int vehicleCount = vehicles.size();
+        int bookingCount = bookings.size();
+        List<Integer> pointNodes = new ArrayList<>(startNodes);
+        pointNodes.addAll(pickupNodes);
+        pointNodes.addAll(deliveryNodes);
+        TravelMatrix matrix = buildMatrix(pointNodes);
+
+        int[] vehicleStart = new int[vehicleCount];
+        int[] capacity = new int[vehicleCount];
+        for (int v = 0; v < vehicleCount; v++) {
+            vehicleStart[v] = v;
+            capacity[v] = vehicles.get(v).getCapacity() != null ? vehicles.get(v).getCapacity() : 0;
+        }
+        int[] pickup = new int[bookingCount];
+        int[] delivery = new int[bookingCount];
+        int[] load = new int[bookingCount];
+        for (int b = 0; b < bookingCount; b++) {
+            pickup[b] = vehicleCount + b;
+            delivery[b] = vehicleCount + bookingCount + b;
+            Integer weight = bookings.get(b).getLoadWeight();
+            load[b] = weight != null && weight > 0 ? weight : defaultBookingLoad;
+        }
+
+        long budget = Math.min(budgetMs != null && budgetMs > 0 ? budgetMs : defaultBudgetMs, maxBudgetMs);
+        VrpSolver.Problem problem = new VrpSolver.Problem(vehicleStart, capacity, pickup, delivery, load, matrix.hours);
+        VrpSolver.Solution solution = solver.solve(problem, budget);
+
+        // Baseline: every booking as its own trip from the nearest available vehicle
+        double separateHours = 0;
+        for (int b = 0; b < bookingCount; b++) {
+            if (solution.getUnassigned().contains(b)) {
+                continue;
+            }
+            double approach = Double.POSITIVE_INFINITY;
+            for (int v = 0; v < vehicleCount; v++) {
+                approach = Math.min(approach, matrix.hours[v][pickup[b]]);
+            }
+            separateHours += approach + matrix.hours[pickup[b]][delivery[b]];
+        }
+
+        String planId = LocalDateTime.now().format(PLAN_ID_FORMAT);
+        List<Map<String, Object>> routes = new ArrayList<>();
+        List<PlannedRoute> planned = new ArrayList<>();
+        for (int v = 0; v < vehicleCount; v++) {
+            List<Integer> stops = solution.getRoutes().get(v);
+            if (stops.isEmpty()) {
+                continue;
+            }
+            PlannedRoute route = describe(planId, v, vehicles.get(v), stops, bookings, problem, matrix);
+            planned.add(route);
+            routes.add(route.summary);
+        }
+
+        double plannedHours = solution.getCost();
+        result.put("routes", routes);
+        result.put("unassignedBookings", bookingIds(bookings, solution.getUnassigned()));
+        result.put("totalTimeMinutes", Math.round(plannedHours * 60));
+        result.put("separateTripsTimeMinutes", Math.round(separateHours * 60));
+        result.put("savingsPercent", separateHours > 0
+                ? Math.round((separateHours - plannedHours) / separateHours * 1000.0) / 10.0 : 0.0);
+        result.put("solverIterations", solution.getIterations());
+        result.put("solverThreads", solver.getWorkerCount());
+        result.put("budgetMs", budget);
+
+        List<PlannedRoute> persisted = List.of();
+        if (persist && !planned.isEmpty()) {
+            // The solve ran outside any lock, so the dispatch engine or another batch may have claimed rows since
+            persisted = dispatchEngine.runExclusive(() ->
+                    new TransactionTemplate(transactionManager).execute(status -> persist(planned)));
+            for (PlannedRoute plannedRoute : persisted) {
+                plannedRoute.vehicle.setStatus(Vehicle.VehicleStatus.EN_ROUTE);
+                geoIndex.put(plannedRoute.vehicle);
+            }
+            logger.info("Batched bookings onto {} of {} planned routes (plan {})",
+                    persisted.size(), planned.size(), planId);
+        }
+        result.put("persisted", !persisted.isEmpty());
+        if (persist) {
+            result.put("staleRoutes", planned.size() - persisted.size());
+        }
+        result.put("computeMillis", (System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    private PlannedRoute describe(String planId, int v, Vehicle vehicle, List<Integer> stops, List<Booking> bookings,
+                                  VrpSolver.Problem problem, TravelMatrix matrix) {
+        PlannedRoute route = new PlannedRoute();
+        route.routeId = "RT-" + planId + "-" + vehicle.getVehicleId();
+        route.vehicle = vehicle;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> stopSummaries = new ArrayList<>();
+        int previous = v;
+        double hours = 0;
+        double km = 0;
+        double fuelWeightedKm = 0;
+        for (int sequence = 0; sequence < stops.size(); sequence++) {
+            int stop = stops.get(sequence);
+            int point = problem.point(stop);
+            hours += matrix.hours[previous][point];
+            km += matrix.km[previous][point];
+            fuelWeightedKm += matrix.fuelWeightedKm[previous][point];
+            previous = point;
+
+            Booking booking = bookings.get(stop >> 1);
+            boolean isPickup = (stop & 1) == 0;
+            LocalDateTime eta = now.plusSeconds(Math.round(hours * 3600));
+            if (isPickup) {
+                route.pickupSequence.put(booking, sequence + 1);
+            } else {
+                route.deliverySequence.put(booking, sequence + 1);
+                route.deliveryEta.put(booking, eta);
+                route.bookingKm.put(booking, matrix.km[problem.point(stop - 1)][point]);
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("sequence", sequence + 1);
+            summary.put("bookingId", booking.getBookingId());
+            summary.put("type", isPickup ? "PICKUP" : "DELIVERY");
+            summary.put("location", isPickup ? booking.getPickupLocation() : booking.getDeliveryLocation());
+            summary.put("etaMinutes", Math.round(hours * 60));
+            stopSummaries.add(summary);
+        }
+
+        Booking first = bookings.get(stops.get(0) >> 1);
+        Booking last = bookings.get(stops.get(stops.size() - 1) >> 1);
+        route.origin = first.getPickupLocation();
+        route.destination = last.getDeliveryLocation();
+        route.distanceKm = Math.round(km * 100.0) / 100.0;
+        route.minutes = (int) Math.max(1, Math.round(hours * 60));
+        route.fuelLiters = Math.round(RouteEngine.fuelLiters(fuelWeightedKm, vehicle.getMileage()) * 100.0) / 100.0;
+
+        // Savings relative to serving the same bookings one by one from this vehicle's start
+        double separateHours = 0;
+        for (Booking booking : route.pickupSequence.keySet()) {
+            int b = bookings.indexOf(booking);
+            separateHours += matrix.hours[v][problem.point(2 * b)] + matrix.hours[problem.point(2 * b)][problem.point(2 * b + 1)];
+        }
+        route.timeSavedMinutes = (int) Math.round((separateHours - hours) * 60);
+        route.savingsPercent = separateHours > 0 ? Math.round((separateHours - hours) / separateHours * 1000.0) / 10.0 : 0.0;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("routeId", route.routeId);
+        summary.put("vehicleId", vehicle.getVehicleId());
+        summary.put("capacity", vehicle.getCapacity());
+        summary.put("distanceKm", route.distanceKm);
+        summary.put("timeMinutes", route.minutes);
+        summary.put("fuelLiters", route.fuelLiters);
+        summary.put("savingsPercent", route.savingsPercent);
+        summary.put("stops", stopSummaries);
+        route.summary = summary;
+        return route;
+    }
+
+    // Re-checks every booking and vehicle inside the transaction; a route is written whole or not at all,
+    // since its stop sequence and ETAs no longer hold once any of its bookings is gone
+    private List<PlannedRoute> persist(List<PlannedRoute> planned) {
+        Map<Long, Booking> bookings = bookingRepository.findAllById(planned.stream()
+                        .flatMap(plannedRoute -> plannedRoute.pickupSequence.keySet().stream())
+                        .map(Booking::getId).toList()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, Vehicle> vehicles = vehicleRepository.findAllById(planned.stream()
+                        .map(plannedRoute -> plannedRoute.vehicle.getId()).toList()).stream()
+                .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+
+        List<PlannedRoute> persisted = new ArrayList<>();
+        for (PlannedRoute plannedRoute : planned) {
+            Vehicle vehicle = vehicles.get(plannedRoute.vehicle.getId());
+            if (vehicle == null || vehicle.getStatus() != Vehicle.VehicleStatus.AVAILABLE
+                    || vehicle.getAssignedDriver() == null) {
+                continue;
+            }
+            boolean stale = false;
+            for (Booking planBooking : plannedRoute.pickupSequence.keySet()) {
+                Booking booking = bookings.get(planBooking.getId());
+                if (booking == null || booking.getVehicle() != null
+                        || booking.getStatus() != Booking.BookingStatus.SCHEDULED) {
+                    stale = true;
+                    break;
+                }
+            }
+            if (stale) {
+                continue;
+            }
+            User driver = vehicle.getAssignedDriver();
+            vehicle.setStatus(Vehicle.VehicleStatus.EN_ROUTE);
+
+            Route route = new Route(plannedRoute.routeId, plannedRoute.origin, plannedRoute.destination,
+                    plannedRoute.distanceKm, plannedRoute.minutes, plannedRoute.fuelLiters);
+            route.setVehicle(vehicle);
+            route.setStatus(Route.RouteStatus.PLANNED);
+            route.setAiOptimizationSavings(plannedRoute.savingsPercent);
+            route.setTimeSaved(plannedRoute.timeSavedMinutes);
+            route = routeRepository.save(route);
+
+            for (Map.Entry<Booking, Integer> entry : plannedRoute.pickupSequence.entrySet()) {
+                Booking booking = bookings.get(entry.getKey().getId());
+                booking.setVehicle(vehicle);
+                booking.setDriver(driver);
+                booking.setEstimatedDelivery(plannedRoute.deliveryEta.get(entry.getKey()));
+
+                double km = plannedRoute.bookingKm.get(entry.getKey());
+                Trip trip = new Trip("TR-" + booking.getBookingId() + "-" + plannedRoute.routeId.substring(3),
+                        driver, vehicle, booking.getPickupLocation(), booking.getDeliveryLocation(),
+                        Math.round(km * 100.0) / 100.0,
+                        booking.getEstimatedCost() != null ? booking.getEstimatedCost() : 0.0);
+                trip.setBooking(booking);
+                trip.setRoute(route);
+                trip.setPickupSequence(entry.getValue());
+                trip.setDeliverySequence(plannedRoute.deliverySequence.get(entry.getKey()));
+                trip.setEstimatedCompletion(booking.getEstimatedDelivery());
+                User customer = booking.getCustomer();
+                if (customer != null) {
+                    trip.setCustomerName(customer.getFirstName() + " " + customer.getLastName());
+                }
+                tripRepository.save(trip);
+            }
+            persisted.add(plannedRoute);
+        }
+        return persisted;
+    }
+
+    private TravelMatrix buildMatrix(List<Integer> pointNodes) {
+        int[] nodes = pointNodes.stream().mapToInt(Integer::intValue).toArray();
+        TravelMatrixService.Matrix computed = travelMatrixService.compute(nodes, nodes);
+        double[][] hours = computed.getHours();
+        for (double[] row : hours) {
+            for (int j = 0; j < row.length; j++) {
+                // Unreachable pairs get a prohibitive cost instead of infinity so the solver arithmetic stays finite
+                if (Double.isInfinite(row[j])) {
+                    row[j] = 1e6;
+                }
+            }
+        }
+        return new TravelMatrix(hours, computed.getKm(), computed.getFuelWeightedKm());
+    }
+
+    private List<String> bookingIds(List<Booking> bookings, List<Integer> indexes) {
+        List<String> ids = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            ids.add(bookings.get(index).getBookingId());
+        }
+        return ids;
+    }
+
+    private List<Integer> allIndexes(int size) {
+        List<Integer> indexes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            indexes.add(i);
+        }
+        return indexes;
+    }
+
+    private static final class TravelMatrix {
+        private final double[][] hours;
+        private final double[][] km;
+        private final double[][] fuelWeightedKm;
+
+        private TravelMatrix(double[][] hours, double[][] km, double[][] fuelWeightedKm) {
+            this.hours = hours;
+            this.km = km;
+            this.fuelWeightedKm = fuelWeightedKm;
+        }
+    }
+
+    private static final class PlannedRoute {
+        private String routeId;
+        private Vehicle vehicle;
+        private String origin;
+        private String destination;
+        private double distanceKm;
+        private int minutes;
+        private double fuelLiters;
+        private int timeSavedMinutes;
+        private double savingsPercent;
+        private final Map<Booking, Integer> pickupSequence = new LinkedHashMap<>();
+        private final Map<Booking, Integer> deliverySequence = new HashMap<>();
+        private final Map<Booking, LocalDateTime> deliveryEta = new HashMap<>();
+        private final Map<Booking, Double> bookingKm = new HashMap<>();
+        private Map<String, Object> summary;
+    }
+}
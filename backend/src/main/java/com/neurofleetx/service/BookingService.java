@@ -1,14 +1,18 @@
 package com.neurofleetx.service;
 
+import com.neurofleetx.dto.BookingResponse;
 import com.neurofleetx.model.Booking;
 import com.neurofleetx.model.User;
+import com.neurofleetx.model.Vehicle;
 import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.VehicleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class BookingService {
@@ -16,14 +20,38 @@ public class BookingService {
     @Autowired
     private BookingRepository bookingRepository;
 
-    private final Random random = new Random();
+    @Autowired
+    private TravelMatrixService travelMatrixService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleGeoIndex geoIndex;
+
+    @Value("${neurofleetx.booking.base-fare:100}")
+    private double baseFare;
+
+    @Value("${neurofleetx.booking.rate-per-km:75}")
+    private double ratePerKm;
+
+    @Value("${neurofleetx.booking.pickup-lead-minutes:30}")
+    private int pickupLeadMinutes;
+
+    @Autowired
+    private IdGenerator idGenerator;
 
     public List<Booking> getAllBookings() {
         return bookingRepository.findAll();
     }
 
-    public List<Booking> getBookingsByCustomer(User customer) {
-        return bookingRepository.findByCustomerIdOrderByCreatedAtDesc(customer.getId());
+    // Customer-facing reads: BookingResponse rows with the joined customer, driver and vehicle columns
+    public List<BookingResponse> getBookingsByCustomer(User customer) {
+        return bookingRepository.findResponsesByCustomerId(customer.getId());
+    }
+
+    public Optional<BookingResponse> getBookingResponse(String bookingId) {
+        return bookingRepository.findResponseByBookingId(bookingId);
     }
 
     public List<Booking> getBookingsByDriver(User driver) {
@@ -44,10 +72,19 @@ public class BookingService {
 
     public Booking createBooking(Booking booking) {
         // Generate booking ID
-        booking.setBookingId("BK-" + String.format("%03d", random.nextInt(1000)));
+        booking.setBookingId(idGenerator.nextId("BK-"));
         
-        // Set estimated delivery time (1-3 hours from now)
-        booking.setEstimatedDelivery(LocalDateTime.now().plusHours(1 + random.nextInt(3)));
+        // Price from the road network when both ends resolve; otherwise keep the client's figures
+        TravelMatrixService.Leg leg = travelMatrixService.leg(booking.getPickupLocation(), booking.getDeliveryLocation());
+        if (leg != null && leg.isReachable()) {
+            booking.setDistance(Math.round(leg.getKm() * 100.0) / 100.0);
+            booking.setEstimatedCost((double) Math.round(baseFare + ratePerKm * leg.getKm()));
+            booking.setEstimatedDelivery(LocalDateTime.now()
+                    .plusMinutes(pickupLeadMinutes + Math.round(leg.getHours() * 60)));
+        } else {
+            // Set estimated delivery time (1-3 hours from now)
+            booking.setEstimatedDelivery(LocalDateTime.now().plusHours(1 + ThreadLocalRandom.current().nextInt(3)));
+        }
         
         return bookingRepository.save(booking);
     }
@@ -73,7 +110,11 @@ public class BookingService {
                 }
             }
             
-            return bookingRepository.save(booking);
+            Booking saved = bookingRepository.save(booking);
+            if (saved.getStatus() == Booking.BookingStatus.DELIVERED && saved.getVehicle() != null) {
+                releaseVehicle(saved.getVehicle().getId());
+            }
+            return saved;
         }
         throw new RuntimeException("Booking not found: " + bookingId);
     }
@@ -81,4 +122,19 @@ public class BookingService {
     public void deleteBooking(Long id) {
         bookingRepository.deleteById(id);
     }
+
+    // A dispatched vehicle becomes available again once none of its bookings is still open
+    private void releaseVehicle(Long vehicleId) {
+        Optional<Vehicle> vehicleOpt = vehicleRepository.findById(vehicleId);
+        if (vehicleOpt.isEmpty() || vehicleOpt.get().getStatus() != Vehicle.VehicleStatus.EN_ROUTE) {
+            return;
+        }
+        if (bookingRepository.existsByVehicleIdAndStatusIn(vehicleId,
+                List.of(Booking.BookingStatus.SCHEDULED, Booking.BookingStatus.IN_TRANSIT))) {
+            return;
+        }
+        Vehicle vehicle = vehicleOpt.get();
+        vehicle.setStatus(Vehicle.VehicleStatus.AVAILABLE);
+        geoIndex.put(vehicleRepository.save(vehicle));
+    }
 }
\ No newline at end of file
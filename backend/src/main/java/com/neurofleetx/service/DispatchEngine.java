@@ -0,0 +1,385 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.NearbyVehicleResponse;
+import com.neurofleetx.model.Booking;
+import com.neurofleetx.model.Trip;
+import com.neurofleetx.model.User;
+import com.neurofleetx.model.Vehicle;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.TripRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Matches new bookings to nearby available vehicles with drivers in micro-batches. Each batch takes a bounded
+// number of bookings, prices the nearest candidates by road pickup time and solves a min-cost assignment.
+@Service
+public class DispatchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(DispatchEngine.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private VehicleGeoIndex geoIndex;
+
+    @Autowired
+    private TravelMatrixService travelMatrixService;
+
+    @Autowired
+    private RouteEngine routeEngine;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${neurofleetx.dispatch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${neurofleetx.dispatch.interval-ms:2000}")
+    private long intervalMs;
+
+    @Value("${neurofleetx.dispatch.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${neurofleetx.dispatch.candidates-per-booking:5}")
+    private int candidatesPerBooking;
+
+    @Value("${neurofleetx.dispatch.search-radius-km:25}")
+    private double searchRadiusKm;
+
+    @Value("${neurofleetx.dispatch.max-pickup-minutes:60}")
+    private double maxPickupMinutes;
+
+    @Value("${neurofleetx.dispatch.retry-delay-seconds:30}")
+    private long retryDelaySeconds;
+
+    @Value("${neurofleetx.vrp.default-booking-load:100}")
+    private int defaultBookingLoad;
+
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService scheduler;
+    // One batch at a time. A lock, not synchronized, since /run may wait here on a virtual request thread
+    private final ReentrantLock batchLock = new ReentrantLock();
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong bookingsAssigned = new AtomicLong();
+    private final AtomicLong bookingsDeferred = new AtomicLong();
+    private final AtomicLong totalBatchNanos = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile double lastBatchMillis;
+    private volatile double maxBatchMillis;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Starts after the geo index has been built from the seeded fleet
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dispatch-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runScheduledBatch, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public Map<String, Object> dispatchBatch() {
+        batchLock.lock();
+        try {
+            return runBatch();
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    // Runs another writer of booking assignments between dispatch batches, so both never claim the same rows
+    public <T> T runExclusive(Supplier<T> action) {
+        batchLock.lock();
+        try {
+            return action.get();
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    private Map<String, Object> runBatch() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> pending = bookingRepository.findDispatchableBookings(now, PageRequest.of(0, maxBatchSize));
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Long> deferred = new ArrayList<>();
+        List<Integer> pickupNodes = new ArrayList<>();
+        List<Integer> deliveryNodes = new ArrayList<>();
+        for (Booking booking : pending) {
+            int pickup = travelMatrixService.resolve(booking.getPickupLocation());
+            int delivery = travelMatrixService.resolve(booking.getDeliveryLocation());
+            if (pickup < 0 || delivery < 0) {
+                deferred.add(booking.getId());
+                continue;
+            }
+            bookings.add(booking);
+            pickupNodes.add(pickup);
+            deliveryNodes.add(delivery);
+        }
+
+        // Candidate edges: the nearest few vehicles that can carry each booking
+        RoadGraph graph = routeEngine.getGraph();
+        Map<Long, Integer> columnByVehicle = new HashMap<>();
+        List<NearbyVehicleResponse> columns = new ArrayList<>();
+        List<Integer> columnNodes = new ArrayList<>();
+        List<int[]> candidateColumns = new ArrayList<>();
+        int edgeCount = 0;
+        for (int b = 0; b < bookings.size(); b++) {
+            int pickup = pickupNodes.get(b);
+            List<NearbyVehicleResponse> nearby = geoIndex.findNearest(graph.getLatitude(pickup),
+                    graph.getLongitude(pickup), candidatesPerBooking, searchRadiusKm,
+                    Vehicle.VehicleStatus.AVAILABLE, loadOf(bookings.get(b)), true);
+            int[] candidates = new int[nearby.size()];
+            for (int i = 0; i < nearby.size(); i++) {
+                NearbyVehicleResponse vehicle = nearby.get(i);
+                Integer column = columnByVehicle.get(vehicle.getId());
+                if (column == null) {
+                    column = columns.size();
+                    columnByVehicle.put(vehicle.getId(), column);
+                    columns.add(vehicle);
+                    columnNodes.add(travelMatrixService.snap(vehicle.getLatitude(), vehicle.getLongitude()));
+                }
+                candidates[i] = column;
+            }
+            candidateColumns.add(candidates);
+            edgeCount += candidates.length;
+        }
+
+        // One parallel pass prices every vehicle-to-pickup edge plus each booking's own pickup-to-delivery leg
+        int bookingCount = bookings.size();
+        int[] from = new int[edgeCount + bookingCount];
+        int[] to = new int[edgeCount + bookingCount];
+        int pair = 0;
+        for (int b = 0; b < bookingCount; b++) {
+            for (int column : candidateColumns.get(b)) {
+                from[pair] = columnNodes.get(column);
+                to[pair++] = pickupNodes.get(b);
+            }
+        }
+        for (int b = 0; b < bookingCount; b++) {
+            from[pair] = pickupNodes.get(b);
+            to[pair++] = deliveryNodes.get(b);
+        }
+        TravelMatrixService.Leg[] legs = travelMatrixService.legs(from, to);
+
+        double maxPickupHours = maxPickupMinutes / 60.0;
+        int[][] edgeColumns = new int[bookingCount][];
+        double[][] edgeCosts = new double[bookingCount][];
+        pair = 0;
+        for (int b = 0; b < bookingCount; b++) {
+            int[] candidates = candidateColumns.get(b);
+            boolean deliverable = legs[edgeCount + b].isReachable();
+            List<Integer> feasible = new ArrayList<>(candidates.length);
+            for (int i = 0; i < candidates.length; i++) {
+                TravelMatrixService.Leg leg = legs[pair++];
+                if (deliverable && leg.isReachable() && leg.getHours() <= maxPickupHours) {
+                    feasible.add(i);
+                }
+            }
+            edgeColumns[b] = new int[feasible.size()];
+            edgeCosts[b] = new double[feasible.size()];
+            int first = pair - candidates.length;
+            for (int i = 0; i < feasible.size(); i++) {
+                edgeColumns[b][i] = candidates[feasible.get(i)];
+                edgeCosts[b][i] = legs[first + feasible.get(i)].getHours();
+            }
+        }
+        // Leaving a booking for the next batch costs more than the slowest acceptable pickup
+        int[] assignment = AssignmentSolver.solve(columns.size(), edgeColumns, edgeCosts, 2 * maxPickupHours);
+
+        Map<Long, Dispatch> dispatches = new LinkedHashMap<>();
+        for (int b = 0; b < bookingCount; b++) {
+            if (assignment[b] < 0) {
+                deferred.add(bookings.get(b).getId());
+                continue;
+            }
+            double pickupHours = 0;
+            int[] candidates = edgeColumns[b];
+            for (int i = 0; i < candidates.length; i++) {
+                if (candidates[i] == assignment[b]) {
+                    pickupHours = edgeCosts[b][i];
+                }
+            }
+            dispatches.put(bookings.get(b).getId(),
+                    new Dispatch(columns.get(assignment[b]).getId(), pickupHours, legs[edgeCount + b]));
+        }
+
+        List<Vehicle> dispatched = persist(dispatches, deferred, now);
+        for (Vehicle vehicle : dispatched) {
+            geoIndex.put(vehicle);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        double elapsedMillis = Math.round(elapsedNanos / 1_000.0) / 1_000.0;
+        batches.incrementAndGet();
+        bookingsAssigned.addAndGet(dispatched.size());
+        bookingsDeferred.addAndGet(pending.size() - dispatched.size());
+        totalBatchNanos.addAndGet(elapsedNanos);
+        lastBatchSize = pending.size();
+        lastBatchMillis = elapsedMillis;
+        maxBatchMillis = Math.max(maxBatchMillis, elapsedMillis);
+        if (!pending.isEmpty()) {
+            logger.debug("Dispatch batch assigned {} of {} bookings over {} candidate vehicles in {} ms",
+                    dispatched.size(), pending.size(), columns.size(), elapsedMillis);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("bookings", pending.size());
+        result.put("assigned", dispatched.size());
+        result.put("deferred", pending.size() - dispatched.size());
+        result.put("candidateVehicles", columns.size());
+        result.put("candidateEdges", edgeCount);
+        result.put("batchMillis", elapsedMillis);
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("intervalMs", intervalMs);
+        stats.put("maxBatchSize", maxBatchSize);
+        long batchCount = batches.get();
+        stats.put("batches", batchCount);
+        stats.put("bookingsAssigned", bookingsAssigned.get());
+        stats.put("bookingsDeferred", bookingsDeferred.get());
+        stats.put("lastBatchSize", lastBatchSize);
+        stats.put("lastBatchMillis", lastBatchMillis);
+        stats.put("maxBatchMillis", maxBatchMillis);
+        stats.put("averageBatchMillis", batchCount > 0
+                ? Math.round(totalBatchNanos.get() / (double) batchCount / 1_000.0) / 1_000.0 : 0.0);
+        return stats;
+    }
+
+    private void runScheduledBatch() {
+        try {
+            dispatchBatch();
+        } catch (RuntimeException e) {
+            logger.error("Dispatch batch failed: {}", e.getMessage());
+        }
+    }
+
+    // Re-checks bookings and vehicles inside the transaction, since manual edits may have claimed them meanwhile
+    private List<Vehicle> persist(Map<Long, Dispatch> dispatches, List<Long> deferred, LocalDateTime now) {
+        return transactionTemplate.execute(status -> {
+            List<Long> bookingIds = new ArrayList<>(dispatches.keySet());
+            bookingIds.addAll(deferred);
+            Map<Long, Booking> bookings = bookingRepository.findAllById(bookingIds).stream()
+                    .collect(Collectors.toMap(Booking::getId, Function.identity()));
+            Map<Long, Vehicle> vehicles = vehicleRepository.findAllById(
+                    dispatches.values().stream().map(dispatch -> dispatch.vehicleId).toList()).stream()
+                    .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+
+            LocalDateTime retryAt = now.plusSeconds(retryDelaySeconds);
+            List<Vehicle> dispatched = new ArrayList<>();
+            for (Map.Entry<Long, Dispatch> entry : dispatches.entrySet()) {
+                Booking booking = bookings.get(entry.getKey());
+                Vehicle vehicle = vehicles.get(entry.getValue().vehicleId);
+                if (booking == null || booking.getVehicle() != null
+                        || booking.getStatus() != Booking.BookingStatus.SCHEDULED) {
+                    continue;
+                }
+                if (vehicle == null || vehicle.getStatus() != Vehicle.VehicleStatus.AVAILABLE
+                        || vehicle.getAssignedDriver() == null) {
+                    booking.setDispatchRetryAt(retryAt);
+                    continue;
+                }
+                assign(booking, vehicle, entry.getValue(), now);
+                dispatched.add(vehicle);
+            }
+            for (Long bookingId : deferred) {
+                Booking booking = bookings.get(bookingId);
+                if (booking != null) {
+                    booking.setDispatchRetryAt(retryAt);
+                }
+            }
+            return dispatched;
+        });
+    }
+
+    private void assign(Booking booking, Vehicle vehicle, Dispatch dispatch, LocalDateTime now) {
+        User driver = vehicle.getAssignedDriver();
+        long minutes = Math.round((dispatch.pickupHours + dispatch.delivery.getHours()) * 60);
+        booking.setVehicle(vehicle);
+        booking.setDriver(driver);
+        booking.setEstimatedDelivery(now.plusMinutes(minutes));
+        booking.setDispatchRetryAt(null);
+        vehicle.setStatus(Vehicle.VehicleStatus.EN_ROUTE);
+
+        Trip trip = new Trip("TR-" + booking.getBookingId() + "-" + booking.getId(), driver, vehicle,
+                booking.getPickupLocation(), booking.getDeliveryLocation(),
+                Math.round(dispatch.delivery.getKm() * 100.0) / 100.0,
+                booking.getEstimatedCost() != null ? booking.getEstimatedCost() : 0.0);
+        trip.setBooking(booking);
+        trip.setEstimatedCompletion(booking.getEstimatedDelivery());
+        User customer = booking.getCustomer();
+        if (customer != null) {
+            trip.setCustomerName(customer.getFirstName() + " " + customer.getLastName());
+        }
+        tripRepository.save(trip);
+    }
+
+    private int loadOf(Booking booking) {
+        return booking.getLoadWeight() != null ? booking.getLoadWeight() : defaultBookingLoad;
+    }
+
+    private static final class Dispatch {
+        private final Long vehicleId;
+        private final double pickupHours;
+        private final TravelMatrixService.Leg delivery;
+
+        private Dispatch(Long vehicleId, double pickupHours, TravelMatrixService.Leg delivery) {
+            this.vehicleId = vehicleId;
+            this.pickupHours = pickupHours;
+            this.delivery = delivery;
+        }
+    }
+}
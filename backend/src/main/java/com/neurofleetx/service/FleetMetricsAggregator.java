@@ -0,0 +1,389 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.model.Booking;
+import com.neurofleetx.model.Route;
+import com.neurofleetx.model.Trip;
+import com.neurofleetx.model.Vehicle;
+import com.neurofleetx.model.VehicleTelemetry;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.RouteRepository;
+import com.neurofleetx.repository.TripRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Fleet counters kept current from entity writes (FleetMetricsListener) and telemetry, so the dashboard and
+// stats endpoints read memory instead of loading or counting tables. Callbacks fire at flush, so a write that
+// later rolls back can leave a counter off until the periodic reconcile rebuilds everything from the database.
+@Component
+public class FleetMetricsAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(FleetMetricsAggregator.class);
+
+    // Route measures: optimization savings and whether it was set (for the average), fuel used and fuel saved
+    private static final int ROUTE_SAVINGS = 0;
+    private static final int ROUTE_SAVINGS_PRESENT = 1;
+    private static final int ROUTE_FUEL = 2;
+    private static final int ROUTE_FUEL_SAVED = 3;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Value("${neurofleetx.metrics.fuel-price-per-liter:95}")
+    private double fuelPricePerLiter;
+
+    private volatile State state = new State();
+    // Non-null while a reconcile runs; writes land in both so none are lost in the swap
+    private volatile State rebuilding;
+    // Serializes rebuilds; a virtual thread waiting on queries inside synchronized would pin its carrier
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    // Maintenance status comes from live telemetry, not from the tables, so it survives reconciles
+    private final Tracker<VehicleTelemetry.MaintenanceStatus> maintenance =
+            new Tracker<>(VehicleTelemetry.MaintenanceStatus.class, 0);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconcile();
+    }
+
+    // Fleet size per status, read from the current counters at scrape time
+    @PostConstruct
+    public void registerGauges() {
+        for (Vehicle.VehicleStatus status : Vehicle.VehicleStatus.values()) {
+            Gauge.builder("neurofleetx.fleet.vehicles", this, aggregator -> aggregator.state.vehicles.count(status))
+                    .description("Vehicles in the fleet by status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    // Rebuilds every counter from lightweight projections and swaps them in at once
+    @Scheduled(fixedDelayString = "${neurofleetx.metrics.reconcile-interval-ms:600000}",
+               initialDelayString = "${neurofleetx.metrics.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            rebuild();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        State rebuilt = new State();
+        rebuilding = rebuilt;
+        for (Object[] row : vehicleRepository.findMetricsRows()) {
+            rebuilt.vehicles.seed(row[0], vehicleSnapshot((Vehicle.VehicleStatus) row[1]));
+        }
+        for (Object[] row : routeRepository.findMetricsRows()) {
+            rebuilt.routes.seed(row[0], routeSnapshot((Route.RouteStatus) row[1], (LocalDateTime) row[2],
+                    (Double) row[3], (Double) row[4], (Double) row[5]));
+        }
+        for (Object[] row : bookingRepository.findMetricsRows()) {
+            rebuilt.bookings.seed(row[0], bookingSnapshot((Booking.BookingStatus) row[1], (LocalDateTime) row[2],
+                    (LocalDateTime) row[3], (Double) row[4]));
+        }
+        for (Object[] row : tripRepository.findMetricsRows()) {
+            rebuilt.trips.seed(row[0], tripSnapshot((Trip.TripStatus) row[1], (LocalDateTime) row[2],
+                    (Double) row[3]));
+        }
+        state = rebuilt;
+        rebuilding = null;
+        logger.debug("Reconciled fleet metrics in {} ms", System.currentTimeMillis() - started);
+    }
+
+    public void onSaved(Object entity) {
+        record(state, entity);
+        State rebuilt = rebuilding;
+        if (rebuilt != null) {
+            record(rebuilt, entity);
+        }
+    }
+
+    public void onRemoved(Object entity) {
+        remove(state, entity);
+        State rebuilt = rebuilding;
+        if (rebuilt != null) {
+            remove(rebuilt, entity);
+        }
+    }
+
+    private void record(State current, Object entity) {
+        if (entity instanceof Vehicle vehicle) {
+            current.vehicles.record(vehicle.getId(), vehicleSnapshot(vehicle.getStatus()));
+        } else if (entity instanceof Route route) {
+            current.routes.record(route.getId(), routeSnapshot(route.getStatus(), route.getCreatedAt(),
+                    route.getFuelConsumption(), route.getFuelSaved(), route.getAiOptimizationSavings()));
+        } else if (entity instanceof Booking booking) {
+            current.bookings.record(booking.getId(), bookingSnapshot(booking.getStatus(), booking.getDeliveryTime(),
+                    booking.getCreatedAt(), booking.getEstimatedCost()));
+        } else if (entity instanceof Trip trip) {
+            current.trips.record(trip.getId(), tripSnapshot(trip.getStatus(), trip.getCreatedAt(), trip.getEarnings()));
+        }
+    }
+
+    private void remove(State current, Object entity) {
+        if (entity instanceof Vehicle vehicle) {
+            current.vehicles.record(vehicle.getId(), null);
+        } else if (entity instanceof Route route) {
+            current.routes.record(route.getId(), null);
+        } else if (entity instanceof Booking booking) {
+            current.bookings.record(booking.getId(), null);
+        } else if (entity instanceof Trip trip) {
+            current.trips.record(trip.getId(), null);
+        }
+    }
+
+    public void onMaintenanceStatus(String vehicleId, VehicleTelemetry.MaintenanceStatus status) {
+        maintenance.record(vehicleId, status == null ? null : new Snapshot<>(status, null, 0, null));
+    }
+
+    public Map<String, Object> getDashboardStats() {
+        State current = state;
+        YearMonth month = YearMonth.now();
+        Map<String, Object> stats = new LinkedHashMap<>();
+
+        // Vehicle statistics
+        stats.put("totalVehicles", current.vehicles.total());
+        stats.put("activeVehicles", activeVehicles(current));
+        stats.put("availableVehicles", current.vehicles.count(Vehicle.VehicleStatus.AVAILABLE));
+        stats.put("maintenanceVehicles", current.vehicles.count(Vehicle.VehicleStatus.MAINTENANCE));
+
+        // Route statistics
+        stats.put("totalRoutes", current.routes.total());
+        stats.put("activeRoutes", current.routes.count(Route.RouteStatus.ACTIVE));
+        stats.put("averageOptimization", averageOptimization(current));
+
+        // Fleet efficiency metrics
+        stats.put("fleetUtilization", round(fleetUtilization(current)));
+        stats.put("fuelEfficiency", round(fuelEfficiency(current)));
+        stats.put("monthlyRevenue", round(current.bookings.amount(month)));
+        stats.put("monthlyCosts", round(current.trips.amount(month) + current.routes.amount(month)));
+
+        stats.put("vehiclesByStatus", current.vehicles.counts());
+        stats.put("bookingsByStatus", current.bookings.counts());
+        stats.put("maintenanceByStatus", maintenance.counts());
+        return stats;
+    }
+
+    public Map<String, Object> getVehicleStats() {
+        State current = state;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total", current.vehicles.total());
+        stats.put("active", current.vehicles.count(Vehicle.VehicleStatus.EN_ROUTE));
+        stats.put("available", current.vehicles.count(Vehicle.VehicleStatus.AVAILABLE));
+        stats.put("maintenance", current.vehicles.count(Vehicle.VehicleStatus.MAINTENANCE));
+        return stats;
+    }
+
+    public Map<String, Object> getRouteAnalytics() {
+        State current = state;
+        Map<String, Object> analytics = new LinkedHashMap<>();
+        analytics.put("totalRoutes", current.routes.total());
+        analytics.put("activeRoutes", current.routes.count(Route.RouteStatus.ACTIVE));
+        analytics.put("averageOptimization", averageOptimization(current));
+        analytics.put("routesByStatus", current.routes.counts());
+        return analytics;
+    }
+
+    // Latest status per vehicle, not per stored sample
+    public Map<String, Long> getMaintenanceStatusCounts() {
+        return maintenance.counts();
+    }
+
+    private long activeVehicles(State current) {
+        return current.vehicles.count(Vehicle.VehicleStatus.EN_ROUTE) + current.vehicles.count(Vehicle.VehicleStatus.LOADING);
+    }
+
+    // Share of in-service vehicles (not in maintenance or out of service) that are on a job
+    private double fleetUtilization(State current) {
+        long inService = current.vehicles.total() - current.vehicles.count(Vehicle.VehicleStatus.MAINTENANCE)
+                - current.vehicles.count(Vehicle.VehicleStatus.OUT_OF_SERVICE);
+        return inService > 0 ? activeVehicles(current) * 100.0 / inService : 0.0;
+    }
+
+    // Fuel the optimized routes saved as a share of what the unoptimized routes would have burned
+    private double fuelEfficiency(State current) {
+        double saved = current.routes.sum(ROUTE_FUEL_SAVED);
+        double baseline = current.routes.sum(ROUTE_FUEL) + saved;
+        return baseline > 0 ? saved * 100.0 / baseline : 0.0;
+    }
+
+    private double averageOptimization(State current) {
+        double present = current.routes.sum(ROUTE_SAVINGS_PRESENT);
+        return present > 0 ? current.routes.sum(ROUTE_SAVINGS) / present : 0.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private Snapshot<Vehicle.VehicleStatus> vehicleSnapshot(Vehicle.VehicleStatus status) {
+        return new Snapshot<>(status, null, 0, null);
+    }
+
+    // Fuel is a cost once a route is driven (active or completed), booked in the month it was created
+    private Snapshot<Route.RouteStatus> routeSnapshot(Route.RouteStatus status, LocalDateTime createdAt,
+                                                      Double fuelConsumption, Double fuelSaved, Double savings) {
+        boolean driven = status == Route.RouteStatus.ACTIVE || status == Route.RouteStatus.COMPLETED;
+        double fuel = fuelConsumption != null ? fuelConsumption : 0;
+        double fuelCost = driven ? fuel * fuelPricePerLiter : 0;
+        double[] measures = new double[4];
+        if (status != Route.RouteStatus.CANCELLED) {
+            measures[ROUTE_SAVINGS] = savings != null ? savings : 0;
+            measures[ROUTE_SAVINGS_PRESENT] = savings != null ? 1 : 0;
+            measures[ROUTE_FUEL] = fuel;
+            measures[ROUTE_FUEL_SAVED] = fuelSaved != null ? fuelSaved : 0;
+        }
+        return new Snapshot<>(status, month(createdAt), fuelCost, measures);
+    }
+
+    // Revenue is earned on delivery, in the month the booking was delivered
+    private Snapshot<Booking.BookingStatus> bookingSnapshot(Booking.BookingStatus status, LocalDateTime deliveryTime,
+                                                            LocalDateTime createdAt, Double estimatedCost) {
+        boolean delivered = status == Booking.BookingStatus.DELIVERED && estimatedCost != null;
+        return new Snapshot<>(status, month(deliveryTime != null ? deliveryTime : createdAt),
+                delivered ? estimatedCost : 0, null);
+    }
+
+    // Driver earnings are a cost once the trip has started
+    private Snapshot<Trip.TripStatus> tripSnapshot(Trip.TripStatus status, LocalDateTime createdAt, Double earnings) {
+        boolean started = status == Trip.TripStatus.IN_PROGRESS || status == Trip.TripStatus.COMPLETED;
+        return new Snapshot<>(status, month(createdAt), started && earnings != null ? earnings : 0, null);
+    }
+
+    private static YearMonth month(LocalDateTime time) {
+        return time != null ? YearMonth.from(time) : null;
+    }
+
+    private static final class State {
+        final Tracker<Vehicle.VehicleStatus> vehicles = new Tracker<>(Vehicle.VehicleStatus.class, 0);
+        final Tracker<Route.RouteStatus> routes = new Tracker<>(Route.RouteStatus.class, 4);
+        final Tracker<Booking.BookingStatus> bookings = new Tracker<>(Booking.BookingStatus.class, 0);
+        final Tracker<Trip.TripStatus> trips = new Tracker<>(Trip.TripStatus.class, 0);
+    }
+
+    // What an entity last contributed: its status, an amount booked to a month and optional summed measures
+    private record Snapshot<S extends Enum<S>>(S status, YearMonth month, double amount, double[] measures) {}
+
+    // Last snapshot per entity id plus running totals; replacing a snapshot retracts the old contribution
+    private static final class Tracker<S extends Enum<S>> {
+        private final S[] statuses;
+        private final ConcurrentMap<Object, Snapshot<S>> snapshots = new ConcurrentHashMap<>();
+        private final AtomicLongArray counts;
+        private final AtomicLong unknownStatus = new AtomicLong();
+        private final ConcurrentMap<YearMonth, DoubleAdder> amountByMonth = new ConcurrentHashMap<>();
+        private final DoubleAdder[] sums;
+
+        Tracker(Class<S> statusType, int measureCount) {
+            this.statuses = statusType.getEnumConstants();
+            this.counts = new AtomicLongArray(statuses.length);
+            this.sums = new DoubleAdder[measureCount];
+            for (int i = 0; i < measureCount; i++) {
+                sums[i] = new DoubleAdder();
+            }
+        }
+
+        void record(Object id, Snapshot<S> next) {
+            if (id == null) {
+                return;
+            }
+            // compute() serializes writers of one id, so each contribution is retracted exactly once
+            snapshots.compute(id, (key, previous) -> {
+                if (previous != null) {
+                    apply(previous, -1);
+                }
+                if (next != null) {
+                    apply(next, 1);
+                }
+                return next;
+            });
+        }
+
+        // Rows read during a reconcile never replace what a concurrent write already recorded
+        void seed(Object id, Snapshot<S> snapshot) {
+            snapshots.computeIfAbsent(id, key -> {
+                apply(snapshot, 1);
+                return snapshot;
+            });
+        }
+
+        private void apply(Snapshot<S> snapshot, int sign) {
+            if (snapshot.status() != null) {
+                counts.addAndGet(snapshot.status().ordinal(), sign);
+            } else {
+                unknownStatus.addAndGet(sign);
+            }
+            if (snapshot.month() != null && snapshot.amount() != 0) {
+                amountByMonth.computeIfAbsent(snapshot.month(), m -> new DoubleAdder()).add(sign * snapshot.amount());
+            }
+            if (snapshot.measures() != null) {
+                for (int i = 0; i < sums.length; i++) {
+                    sums[i].add(sign * snapshot.measures()[i]);
+                }
+            }
+        }
+
+        long count(S status) {
+            return counts.get(status.ordinal());
+        }
+
+        long total() {
+            long total = unknownStatus.get();
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            return total;
+        }
+
+        double amount(YearMonth month) {
+            DoubleAdder amount = amountByMonth.get(month);
+            return amount != null ? amount.sum() : 0.0;
+        }
+
+        double sum(int measure) {
+            return sums[measure].sum();
+        }
+
+        Map<String, Long> counts() {
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            for (S status : statuses) {
+                byStatus.put(status.name(), counts.get(status.ordinal()));
+            }
+            return byStatus;
+        }
+    }
+}
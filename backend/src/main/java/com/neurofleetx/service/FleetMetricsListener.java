@@ -0,0 +1,27 @@
+package com.neurofleetx.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+// Feeds every JPA write of the tracked entities to FleetMetricsAggregator. Hibernate creates it through the
+// Spring bean container; the lazy reference avoids a cycle with the repositories the aggregator reconciles from.
+public class FleetMetricsListener {
+
+    @Lazy
+    @Autowired
+    private FleetMetricsAggregator fleetMetrics;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        fleetMetrics.onSaved(entity);
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        fleetMetrics.onRemoved(entity);
+    }
+}
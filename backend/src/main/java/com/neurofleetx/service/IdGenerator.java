@@ -0,0 +1,91 @@
+package com.neurofleetx.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Snowflake-style 64-bit IDs: 41 bits of milliseconds since 2024-01-01 UTC, 10 bits of node, 12 bits of
+// sequence within the millisecond. Unique across nodes as long as each runs with its own node ID, and
+// strictly increasing per node. Text form is a fixed-width Crockford base32 string, so sorting the strings
+// sorts by creation time.
+@Component
+public class IdGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdGenerator.class);
+
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    // 64 bits in 5-bit digits
+    private static final int TEXT_LENGTH = 13;
+
+    // -1 derives the node from host name and process ID; set it explicitly when several instances share a database
+    @Value("${neurofleetx.ids.node-id:-1}")
+    private long configuredNodeId;
+
+    private long nodeBits;
+
+    // Last issued (milliseconds << SEQUENCE_BITS | sequence); the node bits are added on the way out
+    private final AtomicLong last = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        long nodeId = configuredNodeId;
+        if (nodeId < 0) {
+            nodeId = derivedNodeId();
+            logger.info("ID generator node {} derived from host and process; set neurofleetx.ids.node-id to pin it",
+                    nodeId);
+        } else if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("neurofleetx.ids.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        nodeBits = nodeId << SEQUENCE_BITS;
+    }
+
+    // Lock-free: a thread that loses the race retries with the winner's value. Within one millisecond the
+    // sequence counts up; past 4096 IDs, or when the clock steps back, it carries into the time bits and runs
+    // slightly ahead of the clock until real time catches up, rather than waiting or repeating.
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        while (true) {
+            long previous = last.get();
+            long next = now > previous ? now : previous + 1;
+            if (last.compareAndSet(previous, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    // e.g. "BK-" + 13 characters; built in one char array instead of String.format
+    public String nextId(String prefix) {
+        long id = nextId();
+        int length = prefix.length();
+        char[] chars = new char[length + TEXT_LENGTH];
+        prefix.getChars(0, length, chars, 0);
+        for (int i = chars.length - 1; i >= length; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static long derivedNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        long hash = 31L * host.hashCode() + ManagementFactory.getRuntimeMXBean().getPid();
+        return (hash ^ (hash >>> 32)) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,80 @@
+package com.neurofleetx.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Last-login timestamps written off the sign-in path. Logins are coalesced per user and flushed as one
+// batched UPDATE; the direct JDBC write also leaves cached principals alone, since last login changes nothing
+// about authorization.
+@Component
+public class LastLoginRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    private static final String UPDATE_SQL = "UPDATE users SET last_login = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${neurofleetx.auth.last-login.flush-interval-ms:2000}")
+    private long flushIntervalMs;
+
+    // Latest login per user id since the last flush
+    private final ConcurrentMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        flush();
+    }
+
+    public void record(Long userId) {
+        pending.put(userId, LocalDateTime.now());
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>();
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            // Only removes the entry if no newer login replaced it meanwhile
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                updates.add(new Object[] {Timestamp.valueOf(entry.getValue()), entry.getKey()});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to record last login for {} users: {}", updates.size(), e.getMessage());
+        }
+    }
+}
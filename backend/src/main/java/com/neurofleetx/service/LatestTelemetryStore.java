@@ -0,0 +1,61 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.model.VehicleTelemetry;
+import com.neurofleetx.repository.VehicleTelemetryRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class LatestTelemetryStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatestTelemetryStore.class);
+
+    @Autowired
+    private VehicleTelemetryRepository telemetryRepository;
+
+    @Autowired
+    private FleetMetricsAggregator fleetMetrics;
+
+    private final ConcurrentMap<String, VehicleTelemetry> latestByVehicle = new ConcurrentHashMap<>();
+
+    // Rebuild last known state once from history; afterwards it is maintained on write
+    @PostConstruct
+    public void rebuild() {
+        latestByVehicle.clear();
+        for (VehicleTelemetry telemetry : telemetryRepository.findLatestTelemetryForAllVehicles()) {
+            update(telemetry);
+        }
+        logger.info("Loaded latest telemetry for {} vehicles", latestByVehicle.size());
+    }
+
+    // Out-of-order samples never replace a newer state; the maintenance count follows the kept sample, which is
+    // returned so position indexes can follow it too
+    public VehicleTelemetry update(VehicleTelemetry telemetry) {
+        return latestByVehicle.compute(telemetry.getVehicleId(), (vehicleId, current) -> {
+            VehicleTelemetry latest = current != null && telemetry.getTimestamp().isBefore(current.getTimestamp())
+                    ? current : telemetry;
+            fleetMetrics.onMaintenanceStatus(vehicleId, latest.getMaintenanceStatus());
+            return latest;
+        });
+    }
+
+    public Optional<VehicleTelemetry> get(String vehicleId) {
+        return Optional.ofNullable(latestByVehicle.get(vehicleId));
+    }
+
+    public List<VehicleTelemetry> getAll() {
+        return new ArrayList<>(latestByVehicle.values());
+    }
+
+    public int size() {
+        return latestByVehicle.size();
+    }
+}
@@ -0,0 +1,125 @@
+package com.neurofleetx.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Runs bcrypt on a small dedicated pool so sign-in bursts queue here instead of occupying servlet threads.
+// The queue is bounded: a full queue rejects at once, and a task that waited past max-queue-wait-ms is
+// abandoned before hashing, since its client has most likely given up.
+@Service
+public class PasswordHashingService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    // 0 uses one thread per core, which is all bcrypt can use anyway
+    @Value("${neurofleetx.auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${neurofleetx.auth.hashing.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${neurofleetx.auth.hashing.max-queue-wait-ms:5000}")
+    private long maxQueueWaitMs;
+
+    private ThreadPoolExecutor executor;
+    // Compared against when the account does not exist, so response time does not reveal which emails are registered
+    private String unknownUserHash;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong totalQueueNanos = new AtomicLong();
+    private final AtomicLong totalHashNanos = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        unknownUserHash = passwordEncoder.encode("unknown-user");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Completes exceptionally with RejectedExecutionException when the pool is saturated. A null hash (no such
+    // user) still costs one bcrypt comparison and never matches.
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return submit(() -> {
+                passwordEncoder.matches(rawPassword, unknownUserHash);
+                return false;
+            });
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public Map<String, Object> getStats() {
+        long done = completed.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("completed", done);
+        stats.put("rejected", rejected.get());
+        stats.put("expired", expired.get());
+        stats.put("averageQueueMillis", done > 0 ? totalQueueNanos.get() / done / 1_000_000.0 : 0.0);
+        stats.put("averageHashMillis", done > 0 ? totalHashNanos.get() / done / 1_000_000.0 : 0.0);
+        return stats;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                if (startedAt - queuedAt > TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs)) {
+                    expired.incrementAndGet();
+                    result.completeExceptionally(new RejectedExecutionException("Password hashing queue wait exceeded"));
+                    return;
+                }
+                try {
+                    result.complete(task.get());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    completed.incrementAndGet();
+                    totalQueueNanos.addAndGet(startedAt - queuedAt);
+                    totalHashNanos.addAndGet(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+}
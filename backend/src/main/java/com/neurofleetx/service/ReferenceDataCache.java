@@ -0,0 +1,156 @@
+package com.neurofleetx.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.neurofleetx.dto.VehicleResponse;
+import com.neurofleetx.model.Route;
+import com.neurofleetx.model.User;
+import com.neurofleetx.model.Vehicle;
+import com.neurofleetx.model.VehicleTelemetry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Owns the Spring caches behind the vehicle, driver and route reads. Entity writes reach it through
+// ReferenceDataCacheListener and clear the affected caches. The simulator's JDBC position updates patch
+// the cached vehicles instead (applyPositions), since clearing on every tick would leave nothing cached.
+@Component
+public class ReferenceDataCache {
+
+    public static final String VEHICLES = "vehicles";
+    public static final String DRIVERS = "drivers";
+    public static final String ROUTES = "routes";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final ConcurrentMap<String, AtomicLong> clears = new ConcurrentHashMap<>();
+
+    public void onChanged(Object entity) {
+        if (entity instanceof Vehicle) {
+            evictVehicles();
+        } else if (entity instanceof Route) {
+            evict(ROUTES);
+        } else if (entity instanceof User) {
+            // Vehicle responses carry the assigned driver's name
+            evict(DRIVERS, VEHICLES);
+        }
+    }
+
+    // Routes embed their vehicle, so they go too
+    private void evictVehicles() {
+        evict(VEHICLES, ROUTES);
+    }
+
+    // Only positions and gauges change on a simulator tick, never status or driver, so every cached list keeps
+    // its members and just the fields are rewritten in place. A response serialized during the patch may mix
+    // fields of two consecutive ticks; no entry is replaced, so the expiry still runs from the last real load.
+    public void applyPositions(Map<String, VehicleTelemetry> telemetryByVehicle, LocalDateTime updatedAt) {
+        for (Object value : cachedValues(VEHICLES)) {
+            if (value instanceof List<?> list) {
+                for (Object element : list) {
+                    if (element instanceof VehicleResponse response) {
+                        apply(response, telemetryByVehicle.get(response.getVehicleId()), updatedAt);
+                    }
+                }
+            } else if (value instanceof VehicleResponse response) {
+                // Single-vehicle reads: Spring unwraps the Optional return value before caching it
+                apply(response, telemetryByVehicle.get(response.getVehicleId()), updatedAt);
+            }
+        }
+        // Routes embed their vehicle entity, detached once cached
+        for (Object value : cachedValues(ROUTES)) {
+            if (value instanceof List<?> list) {
+                for (Object element : list) {
+                    if (element instanceof Route route && route.getVehicle() != null) {
+                        Vehicle vehicle = route.getVehicle();
+                        VehicleTelemetry telemetry = telemetryByVehicle.get(vehicle.getVehicleId());
+                        if (telemetry != null) {
+                            vehicle.setLatitude(telemetry.getLatitude());
+                            vehicle.setLongitude(telemetry.getLongitude());
+                            vehicle.setSpeed(telemetry.getSpeed());
+                            vehicle.setBatteryLevel(telemetry.getBatteryLevel().intValue());
+                            vehicle.setFuelLevel(telemetry.getFuelLevel());
+                            vehicle.setLastUpdated(updatedAt);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void apply(VehicleResponse response, VehicleTelemetry telemetry, LocalDateTime updatedAt) {
+        if (telemetry == null) {
+            return;
+        }
+        response.setLatitude(telemetry.getLatitude());
+        response.setLongitude(telemetry.getLongitude());
+        response.setSpeed(telemetry.getSpeed());
+        response.setBatteryLevel(telemetry.getBatteryLevel().intValue());
+        response.setFuelLevel(telemetry.getFuelLevel());
+        response.setLastUpdated(updatedAt);
+    }
+
+    // Iterating the map view neither counts as a hit nor touches expiry
+    private Collection<Object> cachedValues(String name) {
+        Cache cache = cacheManager.getCache(name);
+        return cache instanceof CaffeineCache caffeineCache
+                ? caffeineCache.getNativeCache().asMap().values() : List.of();
+    }
+
+    // Cleared at flush and again after commit: a read between the two would otherwise cache the old rows
+    private void evict(String... names) {
+        clear(names);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear(names);
+                }
+            });
+        }
+    }
+
+    private void clear(String... names) {
+        for (String name : names) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+                clears.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (String name : List.of(VEHICLES, DRIVERS, ROUTES)) {
+            Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            CacheStats cacheStats = caffeineCache.getNativeCache().stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("entries", caffeineCache.getNativeCache().estimatedSize());
+            entry.put("hits", cacheStats.hitCount());
+            entry.put("misses", cacheStats.missCount());
+            // Caffeine reports 1.0 for a cache nobody has asked yet
+            entry.put("hitRate", cacheStats.requestCount() > 0
+                    ? Math.round(cacheStats.hitRate() * 1000.0) / 1000.0 : null);
+            entry.put("evictions", cacheStats.evictionCount());
+            entry.put("clears", clears.getOrDefault(name, new AtomicLong()).get());
+            stats.put(name, entry);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,23 @@
+package com.neurofleetx.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+// Clears the cached vehicle, driver and route reads on any JPA write of those entities, including the
+// dirty-checked updates from dispatch and batch routing that never go through VehicleService
+public class ReferenceDataCacheListener {
+
+    @Lazy
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        referenceDataCache.onChanged(entity);
+    }
+}
@@ -0,0 +1,226 @@
+package com.neurofleetx.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Immutable road network in compressed adjacency form (edges of node i are firstEdge[i]..firstEdge[i+1])
+public class RoadGraph {
+
+    private final int nodeCount;
+    private final long[] osmIds;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final String[] names;
+    private final Map<String, Integer> nodesByName;
+
+    private final int[] firstEdge;
+    private final int[] edgeTarget;
+    private final double[] edgeLengthKm;
+    private final double[] edgeSpeedKmh;
+
+    // Reverse adjacency, indexing into the forward edge arrays, for searches towards a node
+    private final int[] firstReverseEdge;
+    private final int[] reverseEdgeSource;
+    private final int[] reverseEdgeIndex;
+
+    private final double maxSpeedKmh;
+
+    private RoadGraph(long[] osmIds, double[] latitudes, double[] longitudes, String[] names,
+                      int[] edgeSources, int[] edgeTargets, double[] speeds, int edgeCount) {
+        this.nodeCount = osmIds.length;
+        this.osmIds = osmIds;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.names = names;
+        this.nodesByName = new HashMap<>();
+        for (int i = 0; i < nodeCount; i++) {
+            if (names[i] != null) {
+                nodesByName.put(names[i].toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        firstEdge = new int[nodeCount + 1];
+        firstReverseEdge = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            firstEdge[edgeSources[e] + 1]++;
+            firstReverseEdge[edgeTargets[e] + 1]++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            firstEdge[i + 1] += firstEdge[i];
+            firstReverseEdge[i + 1] += firstReverseEdge[i];
+        }
+
+        edgeTarget = new int[edgeCount];
+        edgeLengthKm = new double[edgeCount];
+        edgeSpeedKmh = new double[edgeCount];
+        reverseEdgeSource = new int[edgeCount];
+        reverseEdgeIndex = new int[edgeCount];
+        int[] forwardFill = Arrays.copyOf(firstEdge, nodeCount);
+        int[] reverseFill = Arrays.copyOf(firstReverseEdge, nodeCount);
+        double fastest = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            int from = edgeSources[e];
+            int to = edgeTargets[e];
+            int slot = forwardFill[from]++;
+            edgeTarget[slot] = to;
+            edgeLengthKm[slot] = VehicleGeoIndex.haversineKm(latitudes[from], longitudes[from],
+                    latitudes[to], longitudes[to]);
+            edgeSpeedKmh[slot] = speeds[e];
+            fastest = Math.max(fastest, speeds[e]);
+
+            int reverseSlot = reverseFill[to]++;
+            reverseEdgeSource[reverseSlot] = from;
+            reverseEdgeIndex[reverseSlot] = slot;
+        }
+        this.maxSpeedKmh = fastest;
+    }
+
+    // Reads "node <id> <lat> <lon> [name]" and "way <highway> <maxspeed> <oneway> <node ids...>" lines
+    public static RoadGraph load(InputStream input) throws IOException {
+        Map<Long, Integer> indexByOsmId = new HashMap<>();
+        List<Long> ids = new ArrayList<>();
+        List<double[]> coordinates = new ArrayList<>();
+        List<String> nodeNames = new ArrayList<>();
+        List<long[]> ways = new ArrayList<>();
+        List<double[]> waySpeeds = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                try {
+                    if ("node".equals(parts[0])) {
+                        if (parts.length < 4) {
+                            throw new IOException("Malformed road graph at line " + lineNumber
+                                    + ": node needs an id, latitude and longitude: " + line);
+                        }
+                        long id = Long.parseLong(parts[1]);
+                        indexByOsmId.put(id, ids.size());
+                        ids.add(id);
+                        coordinates.add(new double[] {Double.parseDouble(parts[2]), Double.parseDouble(parts[3])});
+                        nodeNames.add(parts.length > 4 ? String.join(" ", Arrays.copyOfRange(parts, 4, parts.length)) : null);
+                    } else if ("way".equals(parts[0])) {
+                        if (parts.length < 6) {
+                            throw new IOException("Malformed road graph at line " + lineNumber
+                                    + ": way needs a highway type, max speed, oneway flag and at least two nodes: " + line);
+                        }
+                        long[] wayNodes = new long[parts.length - 4];
+                        for (int i = 4; i < parts.length; i++) {
+                            wayNodes[i - 4] = Long.parseLong(parts[i]);
+                        }
+                        double maxSpeed = Double.parseDouble(parts[2]);
+                        // Travel times divide by the speed, so zero, negative, NaN or infinite values would poison them
+                        if (!Double.isFinite(maxSpeed) || maxSpeed <= 0) {
+                            throw new IOException("Malformed road graph at line " + lineNumber
+                                    + ": max speed must be a positive number: " + line);
+                        }
+                        ways.add(wayNodes);
+                        waySpeeds.add(new double[] {maxSpeed, "yes".equals(parts[3]) ? 1 : 0});
+                    } else {
+                        throw new IOException("Malformed road graph at line " + lineNumber
+                                + ": unknown record type '" + parts[0] + "'");
+                    }
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    throw new IOException("Malformed road graph at line " + lineNumber + ": " + line, e);
+                }
+            }
+        }
+
+        int edgeCapacity = 0;
+        for (long[] way : ways) {
+            edgeCapacity += 2 * (way.length - 1);
+        }
+        int[] sources = new int[edgeCapacity];
+        int[] targets = new int[edgeCapacity];
+        double[] speeds = new double[edgeCapacity];
+        int edgeCount = 0;
+        for (int w = 0; w < ways.size(); w++) {
+            long[] way = ways.get(w);
+            double speed = waySpeeds.get(w)[0];
+            boolean oneway = waySpeeds.get(w)[1] > 0;
+            for (int i = 0; i + 1 < way.length; i++) {
+                Integer from = indexByOsmId.get(way[i]);
+                Integer to = indexByOsmId.get(way[i + 1]);
+                if (from == null || to == null) {
+                    throw new IOException("Way references unknown node " + (from == null ? way[i] : way[i + 1]));
+                }
+                sources[edgeCount] = from;
+                targets[edgeCount] = to;
+                speeds[edgeCount++] = speed;
+                if (!oneway) {
+                    sources[edgeCount] = to;
+                    targets[edgeCount] = from;
+                    speeds[edgeCount++] = speed;
+                }
+            }
+        }
+
+        int nodeCount = ids.size();
+        long[] osmIds = new long[nodeCount];
+        double[] latitudes = new double[nodeCount];
+        double[] longitudes = new double[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            osmIds[i] = ids.get(i);
+            latitudes[i] = coordinates.get(i)[0];
+            longitudes[i] = coordinates.get(i)[1];
+        }
+        return new RoadGraph(osmIds, latitudes, longitudes, nodeNames.toArray(new String[0]),
+                sources, targets, speeds, edgeCount);
+    }
+
+    public int nearestNode(double latitude, double longitude) {
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        double longitudeScale = Math.cos(Math.toRadians(latitude));
+        for (int i = 0; i < nodeCount; i++) {
+            double dLat = latitudes[i] - latitude;
+            double dLon = (longitudes[i] - longitude) * longitudeScale;
+            double distance = dLat * dLat + dLon * dLon;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    public Integer findNamedNode(String name) {
+        return nodesByName.get(name.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public int getNodeCount() { return nodeCount; }
+    public int getEdgeCount() { return edgeTarget.length; }
+    public int getNamedNodeCount() { return nodesByName.size(); }
+    public double getMaxSpeedKmh() { return maxSpeedKmh; }
+
+    public long getOsmId(int node) { return osmIds[node]; }
+    public double getLatitude(int node) { return latitudes[node]; }
+    public double getLongitude(int node) { return longitudes[node]; }
+    public String getName(int node) { return names[node]; }
+
+    public int getFirstEdge(int node) { return firstEdge[node]; }
+    public int getEdgeEnd(int node) { return firstEdge[node + 1]; }
+    public int getEdgeTarget(int edge) { return edgeTarget[edge]; }
+    public double getEdgeLengthKm(int edge) { return edgeLengthKm[edge]; }
+    public double getEdgeSpeedKmh(int edge) { return edgeSpeedKmh[edge]; }
+
+    public int getFirstReverseEdge(int node) { return firstReverseEdge[node]; }
+    public int getReverseEdgeEnd(int node) { return firstReverseEdge[node + 1]; }
+    public int getReverseEdgeSource(int reverseEdge) { return reverseEdgeSource[reverseEdge]; }
+    public int getReverseEdgeIndex(int reverseEdge) { return reverseEdgeIndex[reverseEdge]; }
+}
@@ -0,0 +1,422 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.RoutePlan;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Shortest paths over the bundled road graph: A* with landmark (ALT) lower bounds precomputed on load
+@Service
+public class RouteEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RouteEngine.class);
+
+    private static final double DEFAULT_KM_PER_LITER = 10.0;
+    private static final Pattern COORDINATES = Pattern.compile("\\s*(-?\\d+(?:\\.\\d+)?)\\s*,\\s*(-?\\d+(?:\\.\\d+)?)\\s*");
+
+    public enum Metric {
+        TIME, DISTANCE
+    }
+
+    @Value("${neurofleetx.routing.graph-file:classpath:roads/delhi-ncr-sample.graph}")
+    private Resource graphFile;
+
+    @Value("${neurofleetx.routing.landmarks:8}")
+    private int landmarkCount;
+
+    private RoadGraph graph;
+    private int[] landmarks;
+    // Travel time in hours from each landmark to every node, and from every node to each landmark
+    private double[][] hoursFromLandmark;
+    private double[][] hoursToLandmark;
+    private long loadMillis;
+
+    @PostConstruct
+    public void load() {
+        long started = System.nanoTime();
+        try (InputStream input = graphFile.getInputStream()) {
+            graph = RoadGraph.load(input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load road graph from " + graphFile + ": " + e.getMessage(), e);
+        }
+        selectLandmarks();
+        loadMillis = (System.nanoTime() - started) / 1_000_000;
+        logger.info("Loaded road graph with {} nodes, {} edges and {} landmarks in {} ms",
+                graph.getNodeCount(), graph.getEdgeCount(), landmarks.length, loadMillis);
+    }
+
+    // Fastest route, compared against the shortest-distance route a naive planner would take
+    public RoutePlan plan(String origin, String destination, Double kmPerLiter) {
+        long started = System.nanoTime();
+        int from = resolve(origin);
+        int to = resolve(destination);
+        if (from < 0) {
+            throw new IllegalArgumentException("Unknown location: " + origin);
+        }
+        if (to < 0) {
+            throw new IllegalArgumentException("Unknown location: " + destination);
+        }
+
+        PathResult fastest = findPath(from, to, Metric.TIME);
+        PathResult naive = findPath(from, to, Metric.DISTANCE);
+        if (fastest == null || naive == null) {
+            throw new IllegalArgumentException("No road connection between " + origin + " and " + destination);
+        }
+
+        int minutes = (int) Math.round(fastest.hours * 60);
+        int naiveMinutes = (int) Math.round(naive.hours * 60);
+        double fuel = fuelLiters(fastest.fuelWeightedKm, kmPerLiter);
+        double naiveFuel = fuelLiters(naive.fuelWeightedKm, kmPerLiter);
+
+        RoutePlan plan = new RoutePlan();
+        plan.setOrigin(origin);
+        plan.setDestination(destination);
+        plan.setDistanceKm(round(fastest.distanceKm, 2));
+        plan.setEstimatedTimeMinutes(Math.max(1, minutes));
+        plan.setFuelLiters(round(fuel, 2));
+        plan.setNaiveDistanceKm(round(naive.distanceKm, 2));
+        plan.setNaiveTimeMinutes(Math.max(1, naiveMinutes));
+        plan.setNaiveFuelLiters(round(naiveFuel, 2));
+        plan.setTimeSavedMinutes(Math.max(0, naiveMinutes - minutes));
+        // The fastest path can burn more than the shortest one at higher speeds; that is no saving, not a negative one
+        plan.setFuelSavedLiters(round(Math.max(0, naiveFuel - fuel), 2));
+        plan.setSavingsPercent(naive.hours > 0 ? round((naive.hours - fastest.hours) / naive.hours * 100.0, 1) : 0.0);
+        plan.setPath(fastest.coordinates(graph));
+        plan.setComputeMillis(round((System.nanoTime() - started) / 1_000_000.0, 3));
+        return plan;
+    }
+
+    // Accepts a named place from the graph or "lat,lng", which snaps to the nearest road node
+    public int resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return -1;
+        }
+        double[] coordinates = parseCoordinates(location);
+        if (coordinates != null) {
+            return Math.abs(coordinates[0]) <= 90 && Math.abs(coordinates[1]) <= 180
+                    ? graph.nearestNode(coordinates[0], coordinates[1]) : -1;
+        }
+        Integer named = graph.findNamedNode(location);
+        return named != null ? named : -1;
+    }
+
+    // {latitude, longitude} for a "lat,lng" string, otherwise null
+    public static double[] parseCoordinates(String location) {
+        if (location == null) {
+            return null;
+        }
+        Matcher matcher = COORDINATES.matcher(location);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new double[] {Double.parseDouble(matcher.group(1)), Double.parseDouble(matcher.group(2))};
+    }
+
+    public PathResult findPath(int source, int target, Metric metric) {
+        int nodeCount = graph.getNodeCount();
+        double[] cost = new double[nodeCount];
+        int[] parentEdge = new int[nodeCount];
+        int[] parentNode = new int[nodeCount];
+        boolean[] settled = new boolean[nodeCount];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(parentEdge, -1);
+
+        NodeHeap open = new NodeHeap(nodeCount);
+        cost[source] = 0;
+        open.push(source, heuristic(source, target, metric));
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            if (node == target) {
+                break;
+            }
+            settled[node] = true;
+            for (int e = graph.getFirstEdge(node); e < graph.getEdgeEnd(node); e++) {
+                int next = graph.getEdgeTarget(e);
+                if (settled[next]) {
+                    continue;
+                }
+                double candidate = cost[node] + weight(e, metric);
+                if (candidate < cost[next]) {
+                    cost[next] = candidate;
+                    parentEdge[next] = e;
+                    parentNode[next] = node;
+                    open.push(next, candidate + heuristic(next, target, metric));
+                }
+            }
+        }
+        if (cost[target] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        List<Integer> edges = new ArrayList<>();
+        List<Integer> nodes = new ArrayList<>();
+        for (int node = target; node != source; node = parentNode[node]) {
+            edges.add(0, parentEdge[node]);
+            nodes.add(0, node);
+        }
+        nodes.add(0, source);
+        return new PathResult(graph, nodes, edges);
+    }
+
+    // One-to-all fastest paths: hours, km and fuel-weighted km to every node, for building travel matrices
+    public double[][] travelFrom(int source) {
+        int nodeCount = graph.getNodeCount();
+        double[] hours = new double[nodeCount];
+        double[] km = new double[nodeCount];
+        double[] fuelWeightedKm = new double[nodeCount];
+        Arrays.fill(hours, Double.POSITIVE_INFINITY);
+        NodeHeap open = new NodeHeap(nodeCount);
+        hours[source] = 0;
+        open.push(source, 0);
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            for (int e = graph.getFirstEdge(node); e < graph.getEdgeEnd(node); e++) {
+                int next = graph.getEdgeTarget(e);
+                double candidate = hours[node] + weight(e, Metric.TIME);
+                if (candidate < hours[next]) {
+                    double lengthKm = graph.getEdgeLengthKm(e);
+                    hours[next] = candidate;
+                    km[next] = km[node] + lengthKm;
+                    fuelWeightedKm[next] = fuelWeightedKm[node] + lengthKm * consumptionFactor(graph.getEdgeSpeedKmh(e));
+                    open.push(next, candidate);
+                }
+            }
+        }
+        return new double[][] {hours, km, fuelWeightedKm};
+    }
+
+    public static double fuelLiters(double fuelWeightedKm, Double kmPerLiter) {
+        return fuelWeightedKm / (kmPerLiter != null && kmPerLiter > 0 ? kmPerLiter : DEFAULT_KM_PER_LITER);
+    }
+
+    public RoadGraph getGraph() {
+        return graph;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("graphFile", graphFile.getDescription());
+        stats.put("nodes", graph.getNodeCount());
+        stats.put("edges", graph.getEdgeCount());
+        stats.put("namedPlaces", graph.getNamedNodeCount());
+        stats.put("landmarks", landmarks.length);
+        stats.put("loadMillis", loadMillis);
+        return stats;
+    }
+
+    private double weight(int edge, Metric metric) {
+        double lengthKm = graph.getEdgeLengthKm(edge);
+        return metric == Metric.TIME ? lengthKm / graph.getEdgeSpeedKmh(edge) : lengthKm;
+    }
+
+    // Both bounds never overestimate, so A* still returns optimal paths
+    private double heuristic(int node, int target, Metric metric) {
+        double straightKm = VehicleGeoIndex.haversineKm(graph.getLatitude(node), graph.getLongitude(node),
+                graph.getLatitude(target), graph.getLongitude(target));
+        if (metric == Metric.DISTANCE) {
+            return straightKm;
+        }
+        double bound = straightKm / graph.getMaxSpeedKmh();
+        for (int l = 0; l < landmarks.length; l++) {
+            double[] from = hoursFromLandmark[l];
+            double[] to = hoursToLandmark[l];
+            if (from[target] != Double.POSITIVE_INFINITY && from[node] != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, from[target] - from[node]);
+            }
+            if (to[node] != Double.POSITIVE_INFINITY && to[target] != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, to[node] - to[target]);
+            }
+        }
+        return bound;
+    }
+
+    // Farthest-point selection spreads landmarks to the edges of the network, where their bounds are tightest
+    private void selectLandmarks() {
+        int count = Math.min(Math.max(landmarkCount, 0), graph.getNodeCount());
+        landmarks = new int[count];
+        hoursFromLandmark = new double[count][];
+        hoursToLandmark = new double[count][];
+        if (count == 0) {
+            return;
+        }
+
+        double[] nearestLandmarkHours = new double[graph.getNodeCount()];
+        Arrays.fill(nearestLandmarkHours, Double.POSITIVE_INFINITY);
+        int next = graph.nearestNode(-90, 0);
+        for (int l = 0; l < count; l++) {
+            landmarks[l] = next;
+            hoursFromLandmark[l] = dijkstra(next, false);
+            hoursToLandmark[l] = dijkstra(next, true);
+
+            double farthest = -1;
+            for (int node = 0; node < nearestLandmarkHours.length; node++) {
+                nearestLandmarkHours[node] = Math.min(nearestLandmarkHours[node], hoursFromLandmark[l][node]);
+                if (nearestLandmarkHours[node] != Double.POSITIVE_INFINITY && nearestLandmarkHours[node] > farthest) {
+                    farthest = nearestLandmarkHours[node];
+                    next = node;
+                }
+            }
+        }
+    }
+
+    private double[] dijkstra(int source, boolean reverse) {
+        double[] hours = new double[graph.getNodeCount()];
+        Arrays.fill(hours, Double.POSITIVE_INFINITY);
+        NodeHeap open = new NodeHeap(graph.getNodeCount());
+        hours[source] = 0;
+        open.push(source, 0);
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            int first = reverse ? graph.getFirstReverseEdge(node) : graph.getFirstEdge(node);
+            int end = reverse ? graph.getReverseEdgeEnd(node) : graph.getEdgeEnd(node);
+            for (int e = first; e < end; e++) {
+                int edge = reverse ? graph.getReverseEdgeIndex(e) : e;
+                int next = reverse ? graph.getReverseEdgeSource(e) : graph.getEdgeTarget(e);
+                double candidate = hours[node] + weight(edge, Metric.TIME);
+                if (candidate < hours[next]) {
+                    hours[next] = candidate;
+                    open.push(next, candidate);
+                }
+            }
+        }
+        return hours;
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+
+    // Consumption per km relative to rated efficiency: stop-and-go streets and high speeds both cost more
+    static double consumptionFactor(double speedKmh) {
+        double relative = speedKmh / 120.0;
+        return 0.6 + 12.0 / speedKmh + 0.5 * relative * relative;
+    }
+
+    public static final class PathResult {
+        private final List<Integer> nodes;
+        private final double distanceKm;
+        private final double hours;
+        private final double fuelWeightedKm;
+
+        private PathResult(RoadGraph graph, List<Integer> nodes, List<Integer> edges) {
+            this.nodes = nodes;
+            double distance = 0;
+            double time = 0;
+            double fuel = 0;
+            for (int edge : edges) {
+                double lengthKm = graph.getEdgeLengthKm(edge);
+                double speed = graph.getEdgeSpeedKmh(edge);
+                distance += lengthKm;
+                time += lengthKm / speed;
+                fuel += lengthKm * consumptionFactor(speed);
+            }
+            this.distanceKm = distance;
+            this.hours = time;
+            this.fuelWeightedKm = fuel;
+        }
+
+        public List<Integer> getNodes() { return nodes; }
+        public double getDistanceKm() { return distanceKm; }
+        public double getHours() { return hours; }
+        public double getFuelWeightedKm() { return fuelWeightedKm; }
+
+        private List<double[]> coordinates(RoadGraph graph) {
+            List<double[]> coordinates = new ArrayList<>(nodes.size());
+            for (int node : nodes) {
+                coordinates.add(new double[] {graph.getLatitude(node), graph.getLongitude(node)});
+            }
+            return coordinates;
+        }
+    }
+
+    // Binary min-heap over node ids with decrease-key, so each node is queued at most once
+    private static final class NodeHeap {
+        private final int[] heap;
+        private final double[] keys;
+        private final int[] positions;
+        private int size;
+
+        private NodeHeap(int capacity) {
+            heap = new int[capacity];
+            keys = new double[capacity];
+            positions = new int[capacity];
+            Arrays.fill(positions, -1);
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void push(int node, double key) {
+            if (positions[node] < 0) {
+                heap[size] = node;
+                positions[node] = size++;
+            } else if (key >= keys[node]) {
+                return;
+            }
+            keys[node] = key;
+            siftUp(positions[node]);
+        }
+
+        private int pop() {
+            int top = heap[0];
+            positions[top] = -2;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                positions[heap[0]] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        private void siftUp(int index) {
+            int node = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (keys[heap[parent]] <= keys[node]) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                positions[heap[index]] = index;
+                index = parent;
+            }
+            heap[index] = node;
+            positions[node] = index;
+        }
+
+        private void siftDown(int index) {
+            int node = heap[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                    child++;
+                }
+                if (keys[heap[child]] >= keys[node]) {
+                    break;
+                }
+                heap[index] = heap[child];
+                positions[heap[index]] = index;
+                index = child;
+            }
+            heap[index] = node;
+            positions[node] = index;
+        }
+    }
+}
@@ -1,27 +1,40 @@
 package com.neurofleetx.service;
 
+import com.neurofleetx.dto.RoutePlan;
 import com.neurofleetx.model.Route;
 import com.neurofleetx.repository.RouteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
 
 @Service
 public class RouteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RouteService.class);
     
     @Autowired
     private RouteRepository routeRepository;
 
-    private final Random random = new Random();
+    @Autowired
+    private RouteEngine routeEngine;
+
+    @Autowired
+    private TravelMatrixService travelMatrixService;
 
+    // The lists are cached; single routes are not, since callers modify and save what getRouteById returns
+    @Cacheable(cacheNames = ReferenceDataCache.ROUTES, key = "'all'")
     public List<Route> getAllRoutes() {
-        return routeRepository.findAll();
+        return routeRepository.findAllWithVehicle();
     }
 
+    @Cacheable(cacheNames = ReferenceDataCache.ROUTES, key = "'active'")
     public List<Route> getActiveRoutes() {
-        return routeRepository.findActiveRoutes();
+        return routeRepository.findActiveWithVehicle();
     }
 
     public Optional<Route> getRouteById(Long id) {
@@ -29,14 +42,25 @@ public class RouteService {
     }
 
     public Route createRoute(Route route) {
-        // Simulate AI optimization
-        route.setAiOptimizationSavings(15.0 + random.nextDouble() * 20.0); // 15-35% savings
-        route.setTimeSaved(5 + random.nextInt(20)); // 5-25 minutes saved
-        route.setFuelSaved(1.0 + random.nextDouble() * 4.0); // 1-5 liters saved
-        
+        // Places outside the road graph keep the distance and time supplied by the client
+        try {
+            applyPlan(route, planRoute(route.getOrigin(), route.getDestination(), route));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Route {} saved without optimization: {}", route.getRouteId(), e.getMessage());
+        }
         return routeRepository.save(route);
     }
 
+    public RoutePlan planRoute(String origin, String destination) {
+        return planRoute(origin, destination, null);
+    }
+
+    public Map<String, Object> getEngineStats() {
+        Map<String, Object> stats = routeEngine.getStats();
+        stats.put("travelMatrix", travelMatrixService.getStats());
+        return stats;
+    }
+
     public Route updateRoute(Route route) {
         return routeRepository.save(route);
     }
@@ -45,13 +69,7 @@ public class RouteService {
         Optional<Route> routeOpt = routeRepository.findByRouteId(routeId);
         if (routeOpt.isPresent()) {
             Route route = routeOpt.get();
-            
-            // Simulate AI optimization improvements
-            double currentSavings = route.getAiOptimizationSavings() != null ? route.getAiOptimizationSavings() : 0.0;
-            route.setAiOptimizationSavings(Math.min(currentSavings + 5.0, 40.0));
-            route.setTimeSaved((route.getTimeSaved() != null ? route.getTimeSaved() : 0) + 3);
-            route.setFuelSaved((route.getFuelSaved() != null ? route.getFuelSaved() : 0.0) + 0.5);
-            
+            applyPlan(route, planRoute(route.getOrigin(), route.getDestination(), route));
             return routeRepository.save(route);
         }
         throw new RuntimeException("Route not found: " + routeId);
@@ -65,4 +83,19 @@ public class RouteService {
     public void deleteRoute(Long id) {
         routeRepository.deleteById(id);
     }
+
+    // Vehicle mileage is recorded in km per liter; unknown or electric vehicles use the engine default
+    private RoutePlan planRoute(String origin, String destination, Route route) {
+        Double kmPerLiter = route != null && route.getVehicle() != null ? route.getVehicle().getMileage() : null;
+        return routeEngine.plan(origin, destination, kmPerLiter);
+    }
+
+    private void applyPlan(Route route, RoutePlan plan) {
+        route.setDistance(plan.getDistanceKm());
+        route.setEstimatedTime(plan.getEstimatedTimeMinutes());
+        route.setFuelConsumption(plan.getFuelLiters());
+        route.setAiOptimizationSavings(plan.getSavingsPercent());
+        route.setTimeSaved(plan.getTimeSavedMinutes());
+        route.setFuelSaved(plan.getFuelSavedLiters());
+    }
 }
\ No newline at end of file
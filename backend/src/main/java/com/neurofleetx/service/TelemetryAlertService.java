@@ -0,0 +1,257 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.TelemetryAlert;
+import com.neurofleetx.model.VehicleTelemetry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Evaluates alert rules on ingested telemetry off the request path. Samples are partitioned by vehicle onto
+// worker threads, so each vehicle's samples are seen in order and its rule state needs no locking. A full
+// partition queue drops the sample (counted) rather than slowing ingestion down.
+@Service
+public class TelemetryAlertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryAlertService.class);
+
+    private static final String ALERT_TOPIC = "/topic/alerts";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${neurofleetx.telemetry.alerts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${neurofleetx.telemetry.alerts.worker-threads:0}")
+    private int workerThreads;
+
+    @Value("${neurofleetx.telemetry.alerts.queue-capacity:20000}")
+    private int queueCapacity;
+
+    // An alert that stays active is raised again at most this often
+    @Value("${neurofleetx.telemetry.alerts.realert-minutes:15}")
+    private long realertMinutes;
+
+    // Rate rules ignore pairs of samples further apart than this
+    @Value("${neurofleetx.telemetry.alerts.max-rate-gap-seconds:300}")
+    private long maxRateGapSeconds;
+
+    private final List<AlertRule> rules = AlertRule.DEFAULT_RULES;
+    private final ConcurrentMap<String, TelemetryAlert> activeAlerts = new ConcurrentHashMap<>();
+
+    private List<BlockingQueue<VehicleTelemetry>> partitions;
+    private List<Thread> workers;
+    private volatile boolean running;
+
+    private final AtomicLong evaluated = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong raised = new AtomicLong();
+    private final AtomicLong cleared = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        int threads = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        partitions = new ArrayList<>(threads);
+        workers = new ArrayList<>(threads);
+        running = true;
+        for (int i = 0; i < threads; i++) {
+            BlockingQueue<VehicleTelemetry> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity / threads));
+            partitions.add(queue);
+            Thread worker = new Thread(() -> runWorker(queue), "telemetry-alerts-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    // Never blocks: the caller is the ingestion path
+    public void submit(VehicleTelemetry telemetry) {
+        if (!enabled || telemetry.getVehicleId() == null) {
+            return;
+        }
+        int partition = Math.floorMod(telemetry.getVehicleId().hashCode(), partitions.size());
+        if (!partitions.get(partition).offer(telemetry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public List<TelemetryAlert> getActiveAlerts(String vehicleId) {
+        List<TelemetryAlert> alerts = new ArrayList<>();
+        for (TelemetryAlert alert : activeAlerts.values()) {
+            if (vehicleId == null || vehicleId.equals(alert.getVehicleId())) {
+                alerts.add(alert);
+            }
+        }
+        alerts.sort(Comparator.comparing(TelemetryAlert::getTimestamp).reversed());
+        return alerts;
+    }
+
+    public Map<String, Object> getStats() {
+        int queued = 0;
+        for (BlockingQueue<VehicleTelemetry> queue : partitions) {
+            queued += queue.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("rules", rules.size());
+        stats.put("workers", workers.size());
+        stats.put("queueDepth", queued);
+        stats.put("evaluated", evaluated.get());
+        stats.put("dropped", dropped.get());
+        stats.put("raised", raised.get());
+        stats.put("cleared", cleared.get());
+        stats.put("active", activeAlerts.size());
+        return stats;
+    }
+
+    private void runWorker(BlockingQueue<VehicleTelemetry> queue) {
+        // Confined to this worker: every vehicle hashes to exactly one partition
+        Map<String, VehicleAlertState> states = new HashMap<>();
+        List<VehicleTelemetry> batch = new ArrayList<>();
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                for (VehicleTelemetry telemetry : batch) {
+                    VehicleAlertState state = states.computeIfAbsent(telemetry.getVehicleId(),
+                            id -> new VehicleAlertState(rules.size()));
+                    evaluate(telemetry, state);
+                }
+                evaluated.addAndGet(batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Failed to evaluate telemetry alerts: {}", e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private void evaluate(VehicleTelemetry telemetry, VehicleAlertState state) {
+        long time = telemetry.getTimestamp() != null
+                ? telemetry.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        for (int r = 0; r < rules.size(); r++) {
+            AlertRule rule = rules.get(r);
+            Double reading = rule.getMetric().read(telemetry);
+            if (reading == null) {
+                continue;
+            }
+            double value = reading;
+            boolean breach;
+            switch (rule.getType()) {
+                case THRESHOLD -> breach = rule.breaches(value, state.active[r]);
+                case SUSTAINED -> {
+                    if (rule.breaches(value, state.active[r])) {
+                        if (state.breachSince[r] == Long.MIN_VALUE) {
+                            state.breachSince[r] = time;
+                        }
+                        breach = time - state.breachSince[r] >= rule.getDurationMillis();
+                    } else {
+                        state.breachSince[r] = Long.MIN_VALUE;
+                        breach = false;
+                    }
+                }
+                default -> {
+                    int metric = rule.getMetric().ordinal();
+                    long elapsed = time - state.previousTime[metric];
+                    boolean comparable = state.previousTime[metric] != Long.MIN_VALUE
+                            && elapsed > 0 && elapsed <= TimeUnit.SECONDS.toMillis(maxRateGapSeconds);
+                    breach = comparable && rule.breachesRate(state.previousValue[metric], value, elapsed);
+                }
+            }
+            transition(telemetry, rule, r, state, breach, value, time);
+        }
+        // Rate rules compare against the previous sample of the same metric
+        for (AlertRule.Metric metric : AlertRule.Metric.values()) {
+            Double reading = metric.read(telemetry);
+            if (reading != null) {
+                state.previousValue[metric.ordinal()] = reading;
+                state.previousTime[metric.ordinal()] = time;
+            }
+        }
+    }
+
+    // Publishes only on changes, plus a reminder when an alert stays active past the re-alert interval
+    private void transition(VehicleTelemetry telemetry, AlertRule rule, int r, VehicleAlertState state,
+                            boolean breach, double value, long time) {
+        String key = telemetry.getVehicleId() + ":" + rule.getName();
+        if (breach) {
+            boolean remind = state.active[r] && time - state.lastRaised[r] >= TimeUnit.MINUTES.toMillis(realertMinutes);
+            if (!state.active[r] || remind) {
+                state.active[r] = true;
+                state.lastRaised[r] = time;
+                TelemetryAlert alert = alert(telemetry, rule, "RAISED", value, time);
+                activeAlerts.put(key, alert);
+                raised.incrementAndGet();
+                publish(alert);
+            }
+        } else if (state.active[r]) {
+            state.active[r] = false;
+            activeAlerts.remove(key);
+            cleared.incrementAndGet();
+            publish(alert(telemetry, rule, "CLEARED", value, time));
+        }
+    }
+
+    private TelemetryAlert alert(VehicleTelemetry telemetry, AlertRule rule, String alertState, double value, long time) {
+        String message = String.format("%s - %.1f", rule.getMessage(), value);
+        return new TelemetryAlert(telemetry.getVehicleId(), rule.getName(), rule.getMetric().name(),
+                rule.getSeverity().name(), alertState, value, rule.getLimit(), message,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault()));
+    }
+
+    private void publish(TelemetryAlert alert) {
+        try {
+            messagingTemplate.convertAndSend(ALERT_TOPIC, alert);
+            messagingTemplate.convertAndSend(ALERT_TOPIC + "/" + alert.getVehicleId(), alert);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to publish alert {} for {}: {}", alert.getRule(), alert.getVehicleId(), e.getMessage());
+        }
+    }
+
+    // Fixed size per vehicle: one slot per rule and per metric, whatever the sample rate
+    private static final class VehicleAlertState {
+        final boolean[] active;
+        final long[] lastRaised;
+        final long[] breachSince;
+        final double[] previousValue = new double[AlertRule.Metric.values().length];
+        final long[] previousTime = new long[AlertRule.Metric.values().length];
+
+        VehicleAlertState(int ruleCount) {
+            active = new boolean[ruleCount];
+            lastRaised = new long[ruleCount];
+            breachSince = new long[ruleCount];
+            Arrays.fill(breachSince, Long.MIN_VALUE);
+            Arrays.fill(previousTime, Long.MIN_VALUE);
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.model.VehicleTelemetry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Sliding-window telemetry statistics maintained on ingest, so dashboards read precomputed values.
+// Fleet windows sit on a ring of fixed-width buckets: each sample adds to its bucket and to every window's
+// running totals, and a bucket that ages out of a window is subtracted from it. Speed percentiles come from
+// a 1 km/h histogram per bucket and window. Window edges are bucket-aligned and use arrival time.
+@Service
+public class TelemetryAnalyticsService {
+
+    // Vehicles faster than this count as moving, matching the old dashboard definition
+    private static final double MOVING_SPEED_KMH = 5.0;
+    private static final int SPEED_BINS = 251;
+    private static final int VEHICLE_SLOTS = 60;
+
+    @Autowired
+    private LatestTelemetryStore latestTelemetryStore;
+
+    @Value("${neurofleetx.telemetry.analytics.bucket-seconds:5}")
+    private int bucketSeconds;
+
+    @Value("${neurofleetx.telemetry.analytics.windows-minutes:1,5,60}")
+    private int[] windowMinutes;
+
+    private Window[] windows;
+    private int ringSize;
+    private long[] bucketIds;
+    private long[] bucketSamples;
+    private double[] bucketSpeedSums;
+    private double[] bucketFuelSums;
+    private long[][] bucketSpeedHistograms;
+    // Vehicles whose most recent sample fell in the bucket, for distinct counts per window
+    private long[] bucketLastSeen;
+    private long currentBucket = Long.MIN_VALUE;
+
+    // Current state: the latest sample of every vehicle
+    private final ConcurrentMap<String, VehicleState> vehicles = new ConcurrentHashMap<>();
+    private long reportingVehicles;
+    private long movingVehicles;
+    private double latestSpeedSum;
+    private double latestFuelSum;
+
+    @PostConstruct
+    public void init() {
+        int[] minutes = windowMinutes.clone();
+        Arrays.sort(minutes);
+        windows = new Window[minutes.length];
+        for (int i = 0; i < minutes.length; i++) {
+            windows[i] = new Window(minutes[i], Math.max(1, minutes[i] * 60 / bucketSeconds));
+        }
+        ringSize = windows[windows.length - 1].buckets;
+        bucketIds = new long[ringSize];
+        Arrays.fill(bucketIds, Long.MIN_VALUE);
+        bucketSamples = new long[ringSize];
+        bucketSpeedSums = new double[ringSize];
+        bucketFuelSums = new double[ringSize];
+        bucketSpeedHistograms = new long[ringSize][SPEED_BINS];
+        bucketLastSeen = new long[ringSize];
+
+        // Current state starts from the last known sample; windows fill as telemetry arrives
+        synchronized (this) {
+            for (VehicleTelemetry telemetry : latestTelemetryStore.getAll()) {
+                updateLatest(vehicleState(telemetry.getVehicleId()), telemetry);
+            }
+        }
+    }
+
+    public void record(VehicleTelemetry telemetry) {
+        long now = System.currentTimeMillis();
+        double speed = value(telemetry.getSpeed());
+        double fuel = value(telemetry.getFuelLevel());
+        VehicleState vehicle = vehicleState(telemetry.getVehicleId());
+        synchronized (this) {
+            long bucket = advance(now);
+            int slot = slot(bucket);
+            int bin = speedBin(speed);
+            bucketSamples[slot]++;
+            bucketSpeedSums[slot] += speed;
+            bucketFuelSums[slot] += fuel;
+            bucketSpeedHistograms[slot][bin]++;
+            for (Window window : windows) {
+                window.samples++;
+                window.speedSum += speed;
+                window.fuelSum += fuel;
+                window.speedHistogram[bin]++;
+            }
+
+            long lastSeen = vehicle.lastSeenBucket;
+            if (lastSeen != bucket) {
+                if (lastSeen > bucket - ringSize) {
+                    bucketLastSeen[slot(lastSeen)]--;
+                    for (Window window : windows) {
+                        if (lastSeen > bucket - window.buckets) {
+                            window.vehicles--;
+                        }
+                    }
+                }
+                bucketLastSeen[slot]++;
+                for (Window window : windows) {
+                    window.vehicles++;
+                }
+                vehicle.lastSeenBucket = bucket;
+            }
+            updateLatest(vehicle, telemetry);
+        }
+        vehicle.minutes.add(now, speed, fuel);
+    }
+
+    public synchronized Map<String, Object> getDashboardStats() {
+        advance(System.currentTimeMillis());
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalVehicles", reportingVehicles);
+        stats.put("activeVehicles", movingVehicles);
+        stats.put("averageSpeed", round(reportingVehicles > 0 ? latestSpeedSum / reportingVehicles : 0.0));
+        stats.put("averageFuelLevel", round(reportingVehicles > 0 ? latestFuelSum / reportingVehicles : 0.0));
+        Map<String, Object> windowStats = new LinkedHashMap<>();
+        for (Window window : windows) {
+            windowStats.put(window.minutes + "m", window.toMap());
+        }
+        stats.put("windows", windowStats);
+        return stats;
+    }
+
+    public Map<String, Object> getVehicleStats(String vehicleId) {
+        VehicleState vehicle = vehicles.get(vehicleId);
+        if (vehicle == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("vehicleId", vehicleId);
+        for (int minutes : windowMinutes) {
+            if (minutes <= VEHICLE_SLOTS) {
+                stats.put(minutes + "m", vehicle.minutes.summary(now, minutes));
+            }
+        }
+        return stats;
+    }
+
+    private VehicleState vehicleState(String vehicleId) {
+        return vehicles.computeIfAbsent(vehicleId, id -> new VehicleState());
+    }
+
+    // Out-of-order samples never replace a newer current state
+    private void updateLatest(VehicleState vehicle, VehicleTelemetry telemetry) {
+        if (vehicle.hasLatest) {
+            if (telemetry.getTimestamp() != null && vehicle.latestTimestamp != null
+                    && telemetry.getTimestamp().isBefore(vehicle.latestTimestamp)) {
+                return;
+            }
+            latestSpeedSum -= vehicle.latestSpeed;
+            latestFuelSum -= vehicle.latestFuel;
+            if (vehicle.latestSpeed > MOVING_SPEED_KMH) {
+                movingVehicles--;
+            }
+        } else {
+            reportingVehicles++;
+        }
+        vehicle.hasLatest = true;
+        vehicle.latestTimestamp = telemetry.getTimestamp();
+        vehicle.latestSpeed = value(telemetry.getSpeed());
+        vehicle.latestFuel = value(telemetry.getFuelLevel());
+        latestSpeedSum += vehicle.latestSpeed;
+        latestFuelSum += vehicle.latestFuel;
+        if (vehicle.latestSpeed > MOVING_SPEED_KMH) {
+            movingVehicles++;
+        }
+    }
+
+    // Moves the ring forward to now, retracting every bucket that leaves a window; returns the current bucket
+    private long advance(long nowMillis) {
+        long bucket = nowMillis / (bucketSeconds * 1000L);
+        if (bucket <= currentBucket) {
+            return currentBucket;
+        }
+        if (currentBucket == Long.MIN_VALUE || bucket - currentBucket >= ringSize) {
+            // Idle for longer than the largest window: everything has expired
+            for (Window window : windows) {
+                window.clear();
+            }
+            for (int slot = 0; slot < ringSize; slot++) {
+                clearSlot(slot, Long.MIN_VALUE);
+            }
+            // Vehicles' last-seen buckets are now older than the ring, so they drop out on their own
+            clearSlot(slot(bucket), bucket);
+        } else {
+            for (long next = currentBucket + 1; next <= bucket; next++) {
+                for (Window window : windows) {
+                    long leaving = next - window.buckets;
+                    int slot = slot(leaving);
+                    if (bucketIds[slot] == leaving) {
+                        window.retract(bucketSamples[slot], bucketSpeedSums[slot], bucketFuelSums[slot],
+                                bucketSpeedHistograms[slot], bucketLastSeen[slot]);
+                    }
+                }
+                clearSlot(slot(next), next);
+            }
+        }
+        currentBucket = bucket;
+        return bucket;
+    }
+
+    private void clearSlot(int slot, long bucket) {
+        bucketIds[slot] = bucket;
+        bucketSamples[slot] = 0;
+        bucketSpeedSums[slot] = 0;
+        bucketFuelSums[slot] = 0;
+        Arrays.fill(bucketSpeedHistograms[slot], 0);
+        bucketLastSeen[slot] = 0;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) ringSize);
+    }
+
+    private static int speedBin(double speed) {
+        return (int) Math.max(0, Math.min(SPEED_BINS - 1, Math.round(speed)));
+    }
+
+    private static double value(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    // Running totals over the most recent buckets of one window length
+    private static final class Window {
+        final int minutes;
+        final int buckets;
+        long samples;
+        long vehicles;
+        double speedSum;
+        double fuelSum;
+        final long[] speedHistogram = new long[SPEED_BINS];
+
+        Window(int minutes, int buckets) {
+            this.minutes = minutes;
+            this.buckets = buckets;
+        }
+
+        void retract(long bucketSamples, double bucketSpeedSum, double bucketFuelSum, long[] bucketHistogram,
+                     long bucketVehicles) {
+            samples -= bucketSamples;
+            speedSum -= bucketSpeedSum;
+            fuelSum -= bucketFuelSum;
+            vehicles -= bucketVehicles;
+            if (bucketSamples > 0) {
+                for (int bin = 0; bin < SPEED_BINS; bin++) {
+                    speedHistogram[bin] -= bucketHistogram[bin];
+                }
+            }
+        }
+
+        void clear() {
+            samples = 0;
+            vehicles = 0;
+            speedSum = 0;
+            fuelSum = 0;
+            Arrays.fill(speedHistogram, 0);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("activeVehicles", vehicles);
+            stats.put("samples", samples);
+            stats.put("averageSpeed", round(samples > 0 ? speedSum / samples : 0.0));
+            stats.put("averageFuelLevel", round(samples > 0 ? fuelSum / samples : 0.0));
+            stats.put("p50Speed", percentile(0.50));
+            stats.put("p95Speed", percentile(0.95));
+            stats.put("p99Speed", percentile(0.99));
+            return stats;
+        }
+
+        private int percentile(double quantile) {
+            if (samples <= 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * samples);
+            long seen = 0;
+            for (int bin = 0; bin < SPEED_BINS; bin++) {
+                seen += speedHistogram[bin];
+                if (seen >= rank) {
+                    return bin;
+                }
+            }
+            return SPEED_BINS - 1;
+        }
+    }
+
+    // Guarded by the service lock except for the per-vehicle minute ring, which has its own
+    private static final class VehicleState {
+        long lastSeenBucket = Long.MIN_VALUE;
+        boolean hasLatest;
+        LocalDateTime latestTimestamp;
+        double latestSpeed;
+        double latestFuel;
+        final MinuteRing minutes = new MinuteRing();
+    }
+
+    // One vehicle's last hour in minute slots, rotated lazily when a slot is reused
+    private static final class MinuteRing {
+        private final long[] minuteIds = new long[VEHICLE_SLOTS];
+        private final int[] samples = new int[VEHICLE_SLOTS];
+        private final float[] speedSums = new float[VEHICLE_SLOTS];
+        private final float[] fuelSums = new float[VEHICLE_SLOTS];
+        private final float[] maxSpeeds = new float[VEHICLE_SLOTS];
+
+        MinuteRing() {
+            Arrays.fill(minuteIds, Long.MIN_VALUE);
+        }
+
+        synchronized void add(long nowMillis, double speed, double fuel) {
+            long minute = nowMillis / 60_000L;
+            int slot = (int) Math.floorMod(minute, (long) VEHICLE_SLOTS);
+            if (minuteIds[slot] != minute) {
+                minuteIds[slot] = minute;
+                samples[slot] = 0;
+                speedSums[slot] = 0;
+                fuelSums[slot] = 0;
+                maxSpeeds[slot] = 0;
+            }
+            samples[slot]++;
+            speedSums[slot] += (float) speed;
+            fuelSums[slot] += (float) fuel;
+            maxSpeeds[slot] = Math.max(maxSpeeds[slot], (float) speed);
+        }
+
+        synchronized Map<String, Object> summary(long nowMillis, int windowMinutes) {
+            long minute = nowMillis / 60_000L;
+            long count = 0;
+            double speedSum = 0;
+            double fuelSum = 0;
+            double maxSpeed = 0;
+            for (int slot = 0; slot < VEHICLE_SLOTS; slot++) {
+                if (minuteIds[slot] > minute - windowMinutes && minuteIds[slot] <= minute) {
+                    count += samples[slot];
+                    speedSum += speedSums[slot];
+                    fuelSum += fuelSums[slot];
+                    maxSpeed = Math.max(maxSpeed, maxSpeeds[slot]);
+                }
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("samples", count);
+            stats.put("averageSpeed", round(count > 0 ? speedSum / count : 0.0));
+            stats.put("maxSpeed", round(maxSpeed));
+            stats.put("averageFuelLevel", round(count > 0 ? fuelSum / count : 0.0));
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.neurofleetx.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neurofleetx.dto.ViewportRequest;
+import com.neurofleetx.model.VehicleTelemetry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class TelemetryBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryBroadcaster.class);
+
+    // Resolved per session by the user destination handler, e.g. /user/queue/telemetry-viewport
+    private static final String VIEWPORT_DESTINATION = "/queue/telemetry-viewport";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VehiclePositionIndex positionIndex;
+
+    @Autowired
+    private LatestTelemetryStore latestTelemetryStore;
+
+    @Value("${neurofleetx.telemetry.broadcast.frame-ms:250}")
+    private long frameMs;
+
+    @Value("${neurofleetx.telemetry.broadcast.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    // Latest pending update per vehicle; a newer sample replaces an unsent older one
+    private final ConcurrentMap<String, VehicleTelemetry> pending = new ConcurrentHashMap<>();
+
+    // Map viewport per STOMP session; those sessions only get vehicles inside their box
+    private final ConcurrentMap<String, ViewportRequest> viewports = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong viewportSent = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-broadcast");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleAtFixedRate(this::flushFrame, frameMs, frameMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdownNow();
+    }
+
+    public void publish(VehicleTelemetry telemetry) {
+        published.incrementAndGet();
+        pending.merge(telemetry.getVehicleId(), telemetry,
+                (current, candidate) -> candidate.getTimestamp().isBefore(current.getTimestamp()) ? current : candidate);
+    }
+
+    // Replaces the session's viewport and immediately sends the vehicles already inside it
+    public void registerViewport(String sessionId, ViewportRequest viewport) {
+        if (sessionId == null || viewport == null || !viewport.isValid()) {
+            throw new IllegalArgumentException("Invalid viewport bounds");
+        }
+        viewports.put(sessionId, viewport);
+
+        List<byte[]> snapshot = new ArrayList<>();
+        try {
+            for (String vehicleId : findInViewport(viewport)) {
+                VehicleTelemetry telemetry = latestTelemetryStore.get(vehicleId).orElse(null);
+                if (telemetry != null && viewport.contains(telemetry.getLatitude(), telemetry.getLongitude())) {
+                    snapshot.add(objectMapper.writeValueAsBytes(telemetry));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize viewport snapshot: {}", e.getMessage());
+            return;
+        }
+        sendToSession(sessionId, snapshot);
+    }
+
+    public void clearViewport(String sessionId) {
+        if (sessionId != null) {
+            viewports.remove(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        clearViewport(event.getSessionId());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("frameMs", frameMs);
+        stats.put("pendingVehicles", pending.size());
+        stats.put("published", published.get());
+        stats.put("sent", sent.get());
+        stats.put("conflated", Math.max(0, published.get() - sent.get() - pending.size()));
+        stats.put("frames", frames.get());
+        stats.put("viewportSessions", viewports.size());
+        stats.put("viewportSent", viewportSent.get());
+        stats.put("indexedVehicles", positionIndex.size());
+        stats.put("indexedCells", positionIndex.occupiedCells());
+        return stats;
+    }
+
+    private void flushFrame() {
+        try {
+            List<byte[]> payloads = new ArrayList<>(pending.size());
+            Map<String, VehicleTelemetry> frameSamples = new HashMap<>();
+            Map<String, byte[]> framePayloads = new HashMap<>();
+            for (String vehicleId : pending.keySet()) {
+                VehicleTelemetry telemetry = pending.remove(vehicleId);
+                if (telemetry == null) {
+                    continue;
+                }
+                // Serialized once and reused for the vehicle topic, the fleet-wide batch and viewports
+                byte[] payload = objectMapper.writeValueAsBytes(telemetry);
+                payloads.add(payload);
+                frameSamples.put(vehicleId, telemetry);
+                framePayloads.put(vehicleId, payload);
+                send("/topic/telemetry/" + vehicleId, payload);
+            }
+            if (payloads.isEmpty()) {
+                return;
+            }
+
+            for (Map.Entry<String, ViewportRequest> entry : viewports.entrySet()) {
+                sendToSession(entry.getKey(), collectVisible(entry.getValue(), frameSamples, framePayloads));
+            }
+
+            for (int from = 0; from < payloads.size(); from += maxBatchSize) {
+                int to = Math.min(from + maxBatchSize, payloads.size());
+                send("/topic/telemetry", toJsonArray(payloads, from, to));
+                frames.incrementAndGet();
+            }
+            sent.addAndGet(payloads.size());
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Failed to broadcast telemetry frame: {}", e.getMessage());
+        }
+    }
+
+    // Work per viewport is bounded by the vehicles inside it, not by the size of the frame
+    private List<byte[]> collectVisible(ViewportRequest viewport, Map<String, VehicleTelemetry> frameSamples,
+                                        Map<String, byte[]> framePayloads) {
+        List<byte[]> visible = new ArrayList<>();
+        for (String vehicleId : findInViewport(viewport)) {
+            VehicleTelemetry telemetry = frameSamples.get(vehicleId);
+            if (telemetry != null && viewport.contains(telemetry.getLatitude(), telemetry.getLongitude())) {
+                visible.add(framePayloads.get(vehicleId));
+            }
+        }
+        return visible;
+    }
+
+    private List<String> findInViewport(ViewportRequest viewport) {
+        return positionIndex.findInBox(viewport.getMinLatitude(), viewport.getMinLongitude(),
+                viewport.getMaxLatitude(), viewport.getMaxLongitude());
+    }
+
+    // Addressing the user destination by session id targets exactly one connection
+    private void sendToSession(String sessionId, List<byte[]> payloads) {
+        for (int from = 0; from < payloads.size(); from += maxBatchSize) {
+            int to = Math.min(from + maxBatchSize, payloads.size());
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setSessionId(sessionId);
+            accessor.setLeaveMutable(true);
+            messagingTemplate.send("/user/" + sessionId + VIEWPORT_DESTINATION,
+                    MessageBuilder.createMessage(toJsonArray(payloads, from, to), accessor.getMessageHeaders()));
+        }
+        viewportSent.addAndGet(payloads.size());
+    }
+
+    // Pre-serialized JSON bypasses the message converters and goes out as-is
+    private void send(String destination, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+    }
+
+    private byte[] toJsonArray(List<byte[]> payloads, int from, int to) {
+        int size = 2 + (to - from);
+        for (int i = from; i < to; i++) {
+            size += payloads.get(i).length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write('[');
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                out.write(',');
+            }
+            out.writeBytes(payloads.get(i));
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,302 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.model.VehicleTelemetry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class TelemetryIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryIngestionService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO vehicle_telemetry " +
+            "(vehicle_id, speed, fuel_level, battery_level, mileage, latitude, longitude, timestamp, " +
+            "maintenance_status, engine_temperature, tire_pressure, alert_message) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TelemetryBroadcaster broadcaster;
+
+    @Autowired
+    private TelemetryRollupService rollupService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${neurofleetx.telemetry.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${neurofleetx.telemetry.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${neurofleetx.telemetry.ingest.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${neurofleetx.telemetry.ingest.offer-timeout-ms:1000}")
+    private long offerTimeoutMs;
+
+    @Value("${neurofleetx.telemetry.ingest.max-sample-age-hours:12}")
+    private long maxSampleAgeHours;
+
+    private BlockingQueue<VehicleTelemetry> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private Timer batchTimer;
+    private volatile boolean running;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong tooOld = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    // Event time to commit for the oldest sample of the last batch written; zero once the queue is idle
+    private volatile long lagMillis;
+
+    private long lastPersisted;
+    private long lastRateSampleNanos = System.nanoTime();
+    private volatile double samplesPerSecond;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        registerMetrics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        writer = new Thread(this::runWriter, "telemetry-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void registerMetrics() {
+        Gauge.builder("neurofleetx.telemetry.ingest.queue", queue, BlockingQueue::size)
+                .description("Samples waiting for the batched writer")
+                .register(meterRegistry);
+        Gauge.builder("neurofleetx.telemetry.ingest.lag", this, service -> service.lagMillis / 1000.0)
+                .description("Age of the oldest sample in the last persisted batch, from its timestamp to commit")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        FunctionCounter.builder("neurofleetx.telemetry.ingest.samples", accepted, AtomicLong::get)
+                .tag("result", "accepted").register(meterRegistry);
+        FunctionCounter.builder("neurofleetx.telemetry.ingest.samples", rejected, AtomicLong::get)
+                .tag("result", "rejected").register(meterRegistry);
+        FunctionCounter.builder("neurofleetx.telemetry.ingest.samples", tooOld, AtomicLong::get)
+                .tag("result", "too_old").register(meterRegistry);
+        FunctionCounter.builder("neurofleetx.telemetry.ingest.samples", persisted, AtomicLong::get)
+                .tag("result", "persisted").register(meterRegistry);
+        FunctionCounter.builder("neurofleetx.telemetry.ingest.samples", failed, AtomicLong::get)
+                .tag("result", "failed").register(meterRegistry);
+        batchTimer = Timer.builder("neurofleetx.telemetry.ingest.batch")
+                .description("Insert and commit of one telemetry batch")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // Blocks for at most the offer timeout when the queue is full, then rejects the sample. Samples older than
+    // the max age are refused outright: their raw rows may already be purged, so their rollups can't be rebuilt.
+    public void submit(VehicleTelemetry telemetry) {
+        if (telemetry.getTimestamp().isBefore(LocalDateTime.now().minusHours(maxSampleAgeHours))) {
+            tooOld.incrementAndGet();
+            throw new IllegalArgumentException("Telemetry samples older than " + maxSampleAgeHours
+                    + " hours are not accepted");
+        }
+        try {
+            if (queue.offer(telemetry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                accepted.incrementAndGet();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.incrementAndGet();
+        throw new RejectedExecutionException("Telemetry ingestion queue is full");
+    }
+
+    public Map<String, Object> getStats() {
+        long batchCount = batches.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("accepted", accepted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("tooOld", tooOld.get());
+        stats.put("persisted", persisted.get());
+        stats.put("failed", failed.get());
+        stats.put("batches", batchCount);
+        stats.put("averageBatchSize", batchCount > 0 ? (double) persisted.get() / batchCount : 0.0);
+        stats.put("samplesPerSecond", Math.round(samplesPerSecond * 10.0) / 10.0);
+        return stats;
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void sampleThroughput() {
+        long now = System.nanoTime();
+        long current = persisted.get();
+        double elapsedSeconds = (now - lastRateSampleNanos) / 1_000_000_000.0;
+        if (elapsedSeconds > 0) {
+            samplesPerSecond = (current - lastPersisted) / elapsedSeconds;
+        }
+        lastPersisted = current;
+        lastRateSampleNanos = now;
+    }
+
+    private void runWriter() {
+        List<VehicleTelemetry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                VehicleTelemetry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // Nothing waiting, so nothing is behind
+                    lagMillis = 0;
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Keep collecting until the batch is full or the flush window has elapsed
+    private void fillBatch(List<VehicleTelemetry> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            VehicleTelemetry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<VehicleTelemetry> batch) {
+        List<VehicleTelemetry> written = batch;
+        try {
+            batchTimer.record(() -> transactionTemplate.executeWithoutResult(status -> insertBatch(batch)));
+            persisted.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            logger.warn("Telemetry batch of {} samples failed, retrying row by row: {}", batch.size(), e.getMessage());
+            written = flushRowByRow(batch);
+        }
+        batches.incrementAndGet();
+        LocalDateTime oldest = oldestTimestamp(written);
+        lagMillis = oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()) : 0;
+        if (oldest != null) {
+            rollupService.recordPersisted(oldest);
+        }
+
+        for (VehicleTelemetry telemetry : written) {
+            broadcaster.publish(telemetry);
+        }
+    }
+
+    // One transaction per sample, so a single bad row costs only itself instead of the whole batch
+    private List<VehicleTelemetry> flushRowByRow(List<VehicleTelemetry> batch) {
+        List<VehicleTelemetry> written = new ArrayList<>(batch.size());
+        for (VehicleTelemetry telemetry : batch) {
+            List<VehicleTelemetry> single = List.of(telemetry);
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertBatch(single));
+                persisted.incrementAndGet();
+                written.add(telemetry);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                logger.error("Failed to persist telemetry sample for vehicle {}: {}",
+                        telemetry.getVehicleId(), e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    private static LocalDateTime oldestTimestamp(List<VehicleTelemetry> batch) {
+        LocalDateTime oldest = null;
+        for (VehicleTelemetry telemetry : batch) {
+            if (telemetry.getTimestamp() != null && (oldest == null || telemetry.getTimestamp().isBefore(oldest))) {
+                oldest = telemetry.getTimestamp();
+            }
+        }
+        return oldest;
+    }
+
+    private void insertBatch(List<VehicleTelemetry> batch) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+                for (VehicleTelemetry t : batch) {
+                    ps.setString(1, t.getVehicleId());
+                    ps.setObject(2, t.getSpeed());
+                    ps.setObject(3, t.getFuelLevel());
+                    ps.setObject(4, t.getBatteryLevel());
+                    ps.setObject(5, t.getMileage());
+                    ps.setObject(6, t.getLatitude());
+                    ps.setObject(7, t.getLongitude());
+                    ps.setTimestamp(8, Timestamp.valueOf(t.getTimestamp()));
+                    ps.setString(9, t.getMaintenanceStatus() != null ? t.getMaintenanceStatus().name() : null);
+                    ps.setObject(10, t.getEngineTemperature());
+                    ps.setObject(11, t.getTirePressure());
+                    ps.setString(12, t.getAlertMessage());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < batch.size()) {
+                        batch.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
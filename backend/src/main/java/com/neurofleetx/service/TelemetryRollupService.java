@@ -0,0 +1,230 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.model.TelemetryRollup;
+import com.neurofleetx.repository.TelemetryRollupRepository;
+import com.neurofleetx.repository.VehicleTelemetryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class TelemetryRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryRollupService.class);
+
+    // Samples may still be in the ingestion queue, so the newest minute is left open
+    private static final Duration LATE_ARRIVAL_GRACE = Duration.ofMinutes(1);
+
+    private static final String ROLLUP_RAW_TO_MINUTE_SQL = "INSERT INTO telemetry_rollups " +
+            "(vehicle_id, resolution, bucket_start, sample_count, " +
+            "min_speed, max_speed, avg_speed, min_fuel_level, max_fuel_level, avg_fuel_level, " +
+            "min_battery_level, max_battery_level, avg_battery_level, " +
+            "min_engine_temperature, max_engine_temperature, avg_engine_temperature) " +
+            "SELECT vehicle_id, 'MINUTE', DATE_TRUNC('MINUTE', timestamp), COUNT(*), " +
+            "MIN(speed), MAX(speed), AVG(speed), MIN(fuel_level), MAX(fuel_level), AVG(fuel_level), " +
+            "MIN(battery_level), MAX(battery_level), AVG(battery_level), " +
+            "MIN(engine_temperature), MAX(engine_temperature), AVG(engine_temperature) " +
+            "FROM vehicle_telemetry WHERE timestamp >= ? AND timestamp < ? " +
+            "GROUP BY vehicle_id, DATE_TRUNC('MINUTE', timestamp)";
+
+    // Hourly averages are weighted by the sample count of each minute bucket
+    private static final String ROLLUP_MINUTE_TO_HOUR_SQL = "INSERT INTO telemetry_rollups " +
+            "(vehicle_id, resolution, bucket_start, sample_count, " +
+            "min_speed, max_speed, avg_speed, min_fuel_level, max_fuel_level, avg_fuel_level, " +
+            "min_battery_level, max_battery_level, avg_battery_level, " +
+            "min_engine_temperature, max_engine_temperature, avg_engine_temperature) " +
+            "SELECT vehicle_id, 'HOUR', DATE_TRUNC('HOUR', bucket_start), SUM(sample_count), " +
+            "MIN(min_speed), MAX(max_speed), SUM(avg_speed * sample_count) / SUM(sample_count), " +
+            "MIN(min_fuel_level), MAX(max_fuel_level), SUM(avg_fuel_level * sample_count) / SUM(sample_count), " +
+            "MIN(min_battery_level), MAX(max_battery_level), SUM(avg_battery_level * sample_count) / SUM(sample_count), " +
+            "MIN(min_engine_temperature), MAX(max_engine_temperature), " +
+            "SUM(avg_engine_temperature * sample_count) / SUM(sample_count) " +
+            "FROM telemetry_rollups WHERE resolution = 'MINUTE' AND bucket_start >= ? AND bucket_start < ? " +
+            "GROUP BY vehicle_id, DATE_TRUNC('HOUR', bucket_start)";
+
+    private static final String DELETE_BUCKETS_SQL =
+            "DELETE FROM telemetry_rollups WHERE resolution = ? AND bucket_start >= ? AND bucket_start < ?";
+
+    private static final String PURGE_RAW_SQL = "DELETE FROM vehicle_telemetry WHERE timestamp < ?";
+
+    private static final String PURGE_MINUTE_ROLLUPS_SQL =
+            "DELETE FROM telemetry_rollups WHERE resolution = 'MINUTE' AND bucket_start < ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VehicleTelemetryRepository telemetryRepository;
+
+    @Autowired
+    private TelemetryRollupRepository rollupRepository;
+
+    @Value("${neurofleetx.telemetry.retention.raw-hours:24}")
+    private long rawRetentionHours;
+
+    @Value("${neurofleetx.telemetry.retention.minute-days:7}")
+    private long minuteRetentionDays;
+
+    // Everything before a watermark has been rolled up into the next tier
+    private volatile LocalDateTime minuteWatermark;
+    private volatile LocalDateTime hourWatermark;
+    // Oldest sample timestamp the writer has committed since the last run; older than the minute watermark
+    // means a late sample landed in buckets that were already built
+    private final AtomicReference<LocalDateTime> oldestPersisted = new AtomicReference<>();
+    // Held across the rollup queries, so it is a ReentrantLock: blocking inside a monitor pins virtual threads
+    private final ReentrantLock rollupLock = new ReentrantLock();
+
+    @Scheduled(fixedDelayString = "${neurofleetx.telemetry.rollup.interval-ms:60000}")
+    public void rollupAndPurge() {
+        rollupLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            rebuildLateBuckets(oldestPersisted.getAndSet(null));
+            rollupMinutes(now);
+            rollupHours();
+            purge(now);
+        } catch (RuntimeException e) {
+            logger.error("Telemetry rollup failed: {}", e.getMessage());
+        } finally {
+            rollupLock.unlock();
+        }
+    }
+
+    // Called by the batched writer after each commit with the oldest timestamp it wrote
+    public void recordPersisted(LocalDateTime oldest) {
+        oldestPersisted.accumulateAndGet(oldest,
+                (current, next) -> current == null || next.isBefore(current) ? next : current);
+    }
+
+    // End of the rolled-up data in a tier; samples after it are still only in the raw table
+    public LocalDateTime getRolledUpTo(TelemetryRollup.Resolution resolution) {
+        return resolution == TelemetryRollup.Resolution.MINUTE ? minuteWatermark : hourWatermark;
+    }
+
+    // Picks the coarsest tier that still gives useful resolution and still holds the requested range
+    public String selectResolution(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+        Duration span = Duration.between(from, to);
+        boolean rawAvailable = !from.isBefore(now.minusHours(rawRetentionHours));
+        boolean minuteAvailable = !from.isBefore(now.minusDays(minuteRetentionDays));
+
+        if (span.compareTo(Duration.ofHours(2)) <= 0 && rawAvailable) {
+            return "RAW";
+        }
+        if (span.compareTo(Duration.ofDays(2)) <= 0 && minuteAvailable) {
+            return TelemetryRollup.Resolution.MINUTE.name();
+        }
+        return TelemetryRollup.Resolution.HOUR.name();
+    }
+
+    // Deletes and re-aggregates the minute buckets from the late sample up to the watermark, and the hour buckets
+    // above them. Ingest refuses samples older than the max sample age, which is kept below the raw retention,
+    // so the raw rows for those minutes and the minute rollups for those hours are all still there.
+    private void rebuildLateBuckets(LocalDateTime oldest) {
+        if (oldest == null || minuteWatermark == null || !oldest.isBefore(minuteWatermark)) {
+            return;
+        }
+        LocalDateTime minuteFrom = oldest.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime minuteTo = minuteWatermark;
+        LocalDateTime hourFrom = minuteFrom.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime hourTo = hourWatermark;
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_BUCKETS_SQL, TelemetryRollup.Resolution.MINUTE.name(),
+                    Timestamp.valueOf(minuteFrom), Timestamp.valueOf(minuteTo));
+            jdbcTemplate.update(ROLLUP_RAW_TO_MINUTE_SQL, Timestamp.valueOf(minuteFrom), Timestamp.valueOf(minuteTo));
+            if (hourTo != null && hourFrom.isBefore(hourTo)) {
+                jdbcTemplate.update(DELETE_BUCKETS_SQL, TelemetryRollup.Resolution.HOUR.name(),
+                        Timestamp.valueOf(hourFrom), Timestamp.valueOf(hourTo));
+                jdbcTemplate.update(ROLLUP_MINUTE_TO_HOUR_SQL, Timestamp.valueOf(hourFrom), Timestamp.valueOf(hourTo));
+            }
+        });
+        logger.info("Rebuilt telemetry rollups from {} for late samples", minuteFrom);
+    }
+
+    private void rollupMinutes(LocalDateTime now) {
+        if (minuteWatermark == null) {
+            LocalDateTime latest = rollupRepository.findLatestBucketStart(TelemetryRollup.Resolution.MINUTE);
+            LocalDateTime earliestRaw = telemetryRepository.findEarliestTimestamp();
+            if (latest != null) {
+                minuteWatermark = latest.plusMinutes(1);
+            } else if (earliestRaw != null) {
+                minuteWatermark = earliestRaw.truncatedTo(ChronoUnit.MINUTES);
+            } else {
+                return;
+            }
+        }
+
+        LocalDateTime upTo = now.minus(LATE_ARRIVAL_GRACE).truncatedTo(ChronoUnit.MINUTES);
+        if (!upTo.isAfter(minuteWatermark)) {
+            return;
+        }
+        int buckets = jdbcTemplate.update(ROLLUP_RAW_TO_MINUTE_SQL,
+                Timestamp.valueOf(minuteWatermark), Timestamp.valueOf(upTo));
+        minuteWatermark = upTo;
+        logger.debug("Rolled up {} minute buckets up to {}", buckets, upTo);
+    }
+
+    private void rollupHours() {
+        if (minuteWatermark == null) {
+            return;
+        }
+        if (hourWatermark == null) {
+            LocalDateTime latest = rollupRepository.findLatestBucketStart(TelemetryRollup.Resolution.HOUR);
+            LocalDateTime earliestMinute = rollupRepository.findEarliestBucketStart(TelemetryRollup.Resolution.MINUTE);
+            if (latest != null) {
+                hourWatermark = latest.plusHours(1);
+            } else if (earliestMinute != null) {
+                hourWatermark = earliestMinute.truncatedTo(ChronoUnit.HOURS);
+            } else {
+                return;
+            }
+        }
+
+        LocalDateTime upTo = minuteWatermark.truncatedTo(ChronoUnit.HOURS);
+        if (!upTo.isAfter(hourWatermark)) {
+            return;
+        }
+        int buckets = jdbcTemplate.update(ROLLUP_MINUTE_TO_HOUR_SQL,
+                Timestamp.valueOf(hourWatermark), Timestamp.valueOf(upTo));
+        hourWatermark = upTo;
+        logger.debug("Rolled up {} hour buckets up to {}", buckets, upTo);
+    }
+
+    // Only rows that have already been rolled up into the next tier are eligible for deletion
+    private void purge(LocalDateTime now) {
+        if (minuteWatermark != null) {
+            LocalDateTime rawCutoff = earliest(now.minusHours(rawRetentionHours), minuteWatermark);
+            int purged = jdbcTemplate.update(PURGE_RAW_SQL, Timestamp.valueOf(rawCutoff));
+            if (purged > 0) {
+                logger.info("Purged {} raw telemetry rows older than {}", purged, rawCutoff);
+            }
+        }
+        if (hourWatermark != null) {
+            LocalDateTime minuteCutoff = earliest(now.minusDays(minuteRetentionDays), hourWatermark);
+            int purged = jdbcTemplate.update(PURGE_MINUTE_ROLLUPS_SQL, Timestamp.valueOf(minuteCutoff));
+            if (purged > 0) {
+                logger.info("Purged {} minute rollups older than {}", purged, minuteCutoff);
+            }
+        }
+    }
+
+    private LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,351 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.model.Vehicle;
+import com.neurofleetx.model.VehicleTelemetry;
+import com.neurofleetx.repository.VehicleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class TelemetrySimulatorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetrySimulatorService.class);
+
+    private static final long TICK_MILLIS = 5000;
+
+    private static final String UPDATE_VEHICLE_SQL = "UPDATE vehicles SET latitude = ?, longitude = ?, speed = ?, " +
+            "battery_level = ?, fuel_level = ?, last_updated = ? WHERE id = ?";
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleTelemetryService telemetryService;
+
+    @Autowired
+    private LatestTelemetryStore latestTelemetryStore;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${neurofleetx.telemetry.simulator.enabled:true}")
+    private boolean enabled;
+
+    @Value("${neurofleetx.telemetry.simulator.worker-threads:0}")
+    private int workerThreads;
+
+    @Value("${neurofleetx.telemetry.simulator.synthetic-vehicles:0}")
+    private int syntheticVehicleCount;
+
+    @Value("${neurofleetx.telemetry.simulator.update-batch-size:1000}")
+    private int updateBatchSize;
+
+    private ExecutorService workers;
+    private int workerCount;
+    private TransactionTemplate transactionTemplate;
+    private List<Vehicle> syntheticVehicles;
+
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong overruns = new AtomicLong();
+    private final AtomicLong skippedTicks = new AtomicLong();
+    // The virtual-thread scheduler starts every fixed-rate run on a new thread, so a slow tick could overlap the next
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long lastTickMillis;
+    private Timer tickTimer;
+    private volatile int lastTickVehicles;
+
+    @PostConstruct
+    public void init() {
+        workerCount = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-sim-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        syntheticVehicles = createSyntheticVehicles(syntheticVehicleCount);
+        tickTimer = Timer.builder("neurofleetx.simulator.tick")
+                .description("Generate and store one round of simulated telemetry for the whole fleet")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void simulateTelemetryData() {
+        if (!enabled) {
+            return;
+        }
+        if (!ticking.compareAndSet(false, true)) {
+            skippedTicks.incrementAndGet();
+            return;
+        }
+        try {
+            tick();
+        } finally {
+            ticking.set(false);
+        }
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+
+        List<Vehicle> vehicles = new ArrayList<>(vehicleRepository.findAll());
+        vehicles.addAll(syntheticVehicles);
+
+        VehicleTelemetry[] generated = generateInParallel(vehicles);
+        updateVehicles(vehicles, generated);
+
+        long elapsedNanos = System.nanoTime() - start;
+        tickTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        lastTickMillis = elapsedMillis;
+        lastTickVehicles = vehicles.size();
+        ticks.incrementAndGet();
+        if (elapsedMillis > TICK_MILLIS) {
+            overruns.incrementAndGet();
+            logger.warn("Telemetry simulator tick for {} vehicles took {} ms, longer than the {} ms period",
+                    vehicles.size(), elapsedMillis, TICK_MILLIS);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("workerThreads", workerCount);
+        stats.put("syntheticVehicles", syntheticVehicles.size());
+        stats.put("ticks", ticks.get());
+        stats.put("overruns", overruns.get());
+        stats.put("skippedTicks", skippedTicks.get());
+        stats.put("droppedSamples", dropped.get());
+        stats.put("lastTickVehicles", lastTickVehicles);
+        stats.put("lastTickMillis", lastTickMillis);
+        return stats;
+    }
+
+    // Each worker owns a contiguous slice of the fleet and writes only its own slots
+    private VehicleTelemetry[] generateInParallel(List<Vehicle> vehicles) {
+        VehicleTelemetry[] generated = new VehicleTelemetry[vehicles.size()];
+        int sliceSize = (vehicles.size() + workerCount - 1) / Math.max(workerCount, 1);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < vehicles.size(); from += sliceSize) {
+            int sliceStart = from;
+            int sliceEnd = Math.min(from + sliceSize, vehicles.size());
+            tasks.add(() -> {
+                for (int i = sliceStart; i < sliceEnd; i++) {
+                    VehicleTelemetry telemetry = generateSimulatedTelemetry(vehicles.get(i));
+                    try {
+                        telemetryService.saveTelemetry(telemetry);
+                        generated[i] = telemetry;
+                    } catch (RejectedExecutionException e) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : workers.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Telemetry simulator worker failed: {}", e.getCause().getMessage());
+        }
+        return generated;
+    }
+
+    // One batched UPDATE for the whole fleet instead of a save per vehicle
+    private void updateVehicles(List<Vehicle> vehicles, VehicleTelemetry[] generated) {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(updatedAt);
+        List<Object[]> updates = new ArrayList<>();
+        Map<String, VehicleTelemetry> telemetryByVehicle = new HashMap<>();
+        for (int i = 0; i < vehicles.size(); i++) {
+            Vehicle vehicle = vehicles.get(i);
+            VehicleTelemetry telemetry = generated[i];
+            if (vehicle.getId() == null || telemetry == null) {
+                continue;
+            }
+            telemetryByVehicle.put(vehicle.getVehicleId(), telemetry);
+            updates.add(new Object[] {
+                telemetry.getLatitude(),
+                telemetry.getLongitude(),
+                telemetry.getSpeed(),
+                telemetry.getBatteryLevel().intValue(),
+                telemetry.getFuelLevel(),
+                now,
+                vehicle.getId()
+            });
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < updates.size(); from += updateBatchSize) {
+                jdbcTemplate.batchUpdate(UPDATE_VEHICLE_SQL,
+                        updates.subList(from, Math.min(from + updateBatchSize, updates.size())));
+            }
+        });
+        // Plain JDBC bypasses the entity listeners, so the cached vehicle reads are patched with the new positions
+        referenceDataCache.applyPositions(telemetryByVehicle, updatedAt);
+    }
+
+    public VehicleTelemetry generateSimulatedTelemetry(Vehicle vehicle) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // Previous state comes from the in-memory store, not a per-vehicle query
+        Optional<VehicleTelemetry> previousTelemetry = latestTelemetryStore.get(vehicle.getVehicleId());
+
+        double baseLatitude = previousTelemetry.map(VehicleTelemetry::getLatitude).orElse(vehicle.getLatitude());
+        double baseLongitude = previousTelemetry.map(VehicleTelemetry::getLongitude).orElse(vehicle.getLongitude());
+        double baseMileage = previousTelemetry.map(VehicleTelemetry::getMileage).orElse(0.0);
+        double baseFuelLevel = previousTelemetry.map(VehicleTelemetry::getFuelLevel).orElse(100.0);
+        double baseBatteryLevel = previousTelemetry.map(VehicleTelemetry::getBatteryLevel).orElse(100.0);
+
+        // Simulate movement (small random changes in position)
+        double latitudeChange = (random.nextDouble() - 0.5) * 0.01; // ±0.005 degrees
+        double longitudeChange = (random.nextDouble() - 0.5) * 0.01;
+        double newLatitude = baseLatitude + latitudeChange;
+        double newLongitude = baseLongitude + longitudeChange;
+
+        // Simulate speed based on vehicle status
+        double speed = 0.0;
+        if (vehicle.getStatus() == Vehicle.VehicleStatus.EN_ROUTE) {
+            speed = 20 + random.nextDouble() * 60; // 20-80 km/h
+        } else if (vehicle.getStatus() == Vehicle.VehicleStatus.LOADING) {
+            speed = random.nextDouble() * 5; // 0-5 km/h
+        }
+
+        // Simulate fuel consumption (decrease over time)
+        double fuelLevel = Math.max(10.0, baseFuelLevel - (random.nextDouble() * 2));
+
+        // Simulate battery level
+        double batteryLevel;
+        if (Boolean.TRUE.equals(vehicle.getIsElectric())) {
+            batteryLevel = Math.max(15.0, baseBatteryLevel - (random.nextDouble() * 3));
+        } else {
+            batteryLevel = 100.0; // Non-electric vehicles don't have battery tracking
+        }
+
+        // Simulate mileage increase
+        double mileageIncrease = speed * (5.0 / 3600.0); // 5 seconds worth of distance
+        double newMileage = baseMileage + mileageIncrease;
+
+        // Determine maintenance status based on various factors
+        VehicleTelemetry.MaintenanceStatus maintenanceStatus = determineMaintenanceStatus(
+            fuelLevel, batteryLevel, newMileage, speed
+        );
+
+        VehicleTelemetry telemetry = new VehicleTelemetry(
+            vehicle.getVehicleId(),
+            speed,
+            fuelLevel,
+            batteryLevel,
+            newMileage,
+            newLatitude,
+            newLongitude,
+            maintenanceStatus
+        );
+
+        // Sensors drift from their previous reading so rate and duration alert rules see realistic series
+        double baseEngineTemperature = previousTelemetry.map(VehicleTelemetry::getEngineTemperature).orElse(90.0);
+        double baseTirePressure = previousTelemetry.map(VehicleTelemetry::getTirePressure).orElse(35.0);
+        telemetry.setEngineTemperature(Math.max(70.0, Math.min(125.0, baseEngineTemperature + (random.nextDouble() - 0.5) * 4))); // 70-125°C
+        telemetry.setTirePressure(Math.max(26.0, Math.min(40.0, baseTirePressure + (random.nextDouble() - 0.5) * 0.4))); // 26-40 PSI
+
+        // Generate alert messages for critical conditions
+        if (maintenanceStatus == VehicleTelemetry.MaintenanceStatus.CRITICAL) {
+            telemetry.setAlertMessage(generateCriticalAlert(fuelLevel, batteryLevel));
+        } else if (maintenanceStatus == VehicleTelemetry.MaintenanceStatus.DUE) {
+            telemetry.setAlertMessage("Scheduled maintenance due soon");
+        }
+
+        return telemetry;
+    }
+
+    private VehicleTelemetry.MaintenanceStatus determineMaintenanceStatus(
+            double fuelLevel, double batteryLevel, double mileage, double speed) {
+
+        // Critical conditions
+        if (fuelLevel < 15 || batteryLevel < 20 || mileage > 50000) {
+            return VehicleTelemetry.MaintenanceStatus.CRITICAL;
+        }
+
+        // Due for maintenance
+        if (fuelLevel < 30 || batteryLevel < 40 || mileage > 30000) {
+            return VehicleTelemetry.MaintenanceStatus.DUE;
+        }
+
+        return VehicleTelemetry.MaintenanceStatus.HEALTHY;
+    }
+
+    private String generateCriticalAlert(double fuelLevel, double batteryLevel) {
+        if (fuelLevel < 15) {
+            return "Critical: Low fuel level - " + String.format("%.1f", fuelLevel) + "%";
+        }
+        if (batteryLevel < 20) {
+            return "Critical: Low battery level - " + String.format("%.1f", batteryLevel) + "%";
+        }
+        return "Critical: Immediate maintenance required";
+    }
+
+    // In-memory vehicles for load testing; they produce telemetry but have no vehicles row
+    private List<Vehicle> createSyntheticVehicles(int count) {
+        List<Vehicle> vehicles = new ArrayList<>(count);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 1; i <= count; i++) {
+            Vehicle vehicle = new Vehicle("SIM-" + i, "Simulated Van", "Load Test", 1000, "Diesel",
+                    Vehicle.VehicleStatus.EN_ROUTE,
+                    28.6139 + (random.nextDouble() - 0.5),
+                    77.2090 + (random.nextDouble() - 0.5));
+            vehicle.setIsElectric(i % 4 == 0);
+            vehicles.add(vehicle);
+        }
+        return vehicles;
+    }
+}
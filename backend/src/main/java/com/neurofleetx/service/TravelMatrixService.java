@@ -0,0 +1,396 @@
+package com.neurofleetx.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+// Cached travel times between road nodes. Coordinates snap to small cells before the nearest-node lookup,
+// single legs are cached per node pair, and bulk matrices reuse one-to-all rows per origin node.
+@Service
+public class TravelMatrixService {
+
+    // Per-row bookkeeping on top of the three double arrays, used to size the row cache
+    private static final long ROW_OVERHEAD_BYTES = 96;
+
+    @Autowired
+    private RouteEngine routeEngine;
+
+    @Value("${neurofleetx.routing.matrix.snap-cell-degrees:0.001}")
+    private double snapCellDegrees;
+
+    @Value("${neurofleetx.routing.matrix.snap-cache-entries:100000}")
+    private long snapCacheEntries;
+
+    @Value("${neurofleetx.routing.matrix.leg-cache-entries:200000}")
+    private long legCacheEntries;
+
+    @Value("${neurofleetx.routing.matrix.row-cache-mb:64}")
+    private long rowCacheMegabytes;
+
+    @Value("${neurofleetx.routing.matrix.threads:0}")
+    private int threads;
+
+    @Value("${neurofleetx.routing.matrix.max-cells:250000}")
+    private int maxCells;
+
+    private LruCache<Long, Integer> snapCache;
+    private LruCache<Long, Leg> legCache;
+    private LruCache<Integer, double[][]> rowCache;
+    private ExecutorService workers;
+    private int workerCount;
+
+    private final AtomicLong matricesComputed = new AtomicLong();
+    private final AtomicLong matrixCells = new AtomicLong();
+    private final AtomicLong rowsComputed = new AtomicLong();
+    private final AtomicLong rowComputeNanos = new AtomicLong();
+    private final AtomicLong legsComputed = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        snapCache = new LruCache<>(snapCacheEntries, node -> 1);
+        legCache = new LruCache<>(legCacheEntries, leg -> 1);
+        rowCache = new LruCache<>(rowCacheMegabytes * 1024 * 1024,
+                row -> 3L * Double.BYTES * row[0].length + ROW_OVERHEAD_BYTES);
+        workerCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "travel-matrix-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // Named place or "lat,lng"; -1 when the location cannot be placed on the road graph
+    public int resolve(String location) {
+        double[] coordinates = RouteEngine.parseCoordinates(location);
+        if (coordinates != null) {
+            return snap(coordinates[0], coordinates[1]);
+        }
+        return routeEngine.resolve(location);
+    }
+
+    // Nearest road node to the centre of the snap cell containing the point
+    public int snap(double latitude, double longitude) {
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            return -1;
+        }
+        long row = (long) Math.floor(latitude / snapCellDegrees);
+        long col = (long) Math.floor(longitude / snapCellDegrees);
+        long key = (row << 32) | (col & 0xffffffffL);
+        Integer node = snapCache.get(key);
+        if (node == null) {
+            node = routeEngine.getGraph().nearestNode((row + 0.5) * snapCellDegrees, (col + 0.5) * snapCellDegrees);
+            snapCache.put(key, node);
+        }
+        return node;
+    }
+
+    // Fastest leg between two locations, or null when either end cannot be resolved
+    public Leg leg(String origin, String destination) {
+        int from = resolve(origin);
+        int to = resolve(destination);
+        return from < 0 || to < 0 ? null : leg(from, to);
+    }
+
+    public Leg leg(int from, int to) {
+        if (from == to) {
+            return Leg.ZERO;
+        }
+        long key = ((long) from << 32) | (to & 0xffffffffL);
+        Leg leg = legCache.get(key);
+        if (leg != null) {
+            return leg;
+        }
+        double[][] row = rowCache.peek(from);
+        if (row != null) {
+            leg = new Leg(row[0][to], row[1][to], row[2][to]);
+        } else {
+            RouteEngine.PathResult path = routeEngine.findPath(from, to, RouteEngine.Metric.TIME);
+            leg = path == null ? Leg.UNREACHABLE : new Leg(path.getHours(), path.getDistanceKm(), path.getFuelWeightedKm());
+            legsComputed.incrementAndGet();
+        }
+        legCache.put(key, leg);
+        return leg;
+    }
+
+    // Independent legs computed in parallel, for sparse candidate pairs that do not justify whole rows
+    public Leg[] legs(int[] from, int[] to) {
+        Leg[] legs = new Leg[from.length];
+        int chunk = Math.max(1, (from.length + workerCount - 1) / workerCount);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int start = 0; start < from.length; start += chunk) {
+            int first = start;
+            int last = Math.min(from.length, start + chunk);
+            tasks.add(() -> {
+                for (int i = first; i < last; i++) {
+                    legs[i] = leg(from[i], to[i]);
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : workers.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Travel leg computation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Travel leg computation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return legs;
+    }
+
+    // N x M matrix between road nodes; missing origin rows are computed in parallel and cached
+    public Matrix compute(int[] origins, int[] destinations) {
+        Map<Integer, double[][]> rows = new HashMap<>();
+        Set<Integer> missing = new LinkedHashSet<>();
+        for (int origin : origins) {
+            if (!rows.containsKey(origin) && !missing.contains(origin)) {
+                double[][] row = rowCache.get(origin);
+                if (row != null) {
+                    rows.put(origin, row);
+                } else {
+                    missing.add(origin);
+                }
+            }
+        }
+        rows.putAll(computeRows(missing));
+
+        Matrix matrix = new Matrix(origins.length, destinations.length);
+        for (int i = 0; i < origins.length; i++) {
+            double[][] row = rows.get(origins[i]);
+            for (int j = 0; j < destinations.length; j++) {
+                int node = destinations[j];
+                matrix.hours[i][j] = row[0][node];
+                matrix.km[i][j] = row[1][node];
+                matrix.fuelWeightedKm[i][j] = row[2][node];
+            }
+        }
+        matricesComputed.incrementAndGet();
+        matrixCells.addAndGet((long) origins.length * destinations.length);
+        return matrix;
+    }
+
+    // Minutes and km between locations for the API; cells with an unresolved or unreachable end are null
+    public Map<String, Object> computeForLocations(List<String> origins, List<String> destinations) {
+        long started = System.nanoTime();
+        if (origins == null || origins.isEmpty() || destinations == null || destinations.isEmpty()) {
+            throw new IllegalArgumentException("Origins and destinations are required");
+        }
+        if ((long) origins.size() * destinations.size() > maxCells) {
+            throw new IllegalArgumentException("Matrix of " + origins.size() + " x " + destinations.size()
+                    + " exceeds the limit of " + maxCells + " cells");
+        }
+        List<String> unresolved = new ArrayList<>();
+        int[] originNodes = resolveAll(origins, unresolved);
+        int[] destinationNodes = resolveAll(destinations, unresolved);
+        Matrix matrix = compute(placeholderForUnresolved(originNodes), placeholderForUnresolved(destinationNodes));
+
+        Double[][] minutes = new Double[origins.size()][destinations.size()];
+        Double[][] km = new Double[origins.size()][destinations.size()];
+        for (int i = 0; i < originNodes.length; i++) {
+            for (int j = 0; j < destinationNodes.length; j++) {
+                if (originNodes[i] >= 0 && destinationNodes[j] >= 0 && matrix.hours[i][j] != Double.POSITIVE_INFINITY) {
+                    minutes[i][j] = Math.round(matrix.hours[i][j] * 600.0) / 10.0;
+                    km[i][j] = Math.round(matrix.km[i][j] * 100.0) / 100.0;
+                }
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("origins", origins);
+        result.put("destinations", destinations);
+        result.put("unresolved", unresolved);
+        result.put("durationMinutes", minutes);
+        result.put("distanceKm", km);
+        result.put("computeMillis", Math.round((System.nanoTime() - started) / 1_000.0) / 1_000.0);
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", workerCount);
+        stats.put("matricesComputed", matricesComputed.get());
+        stats.put("matrixCells", matrixCells.get());
+        long rows = rowsComputed.get();
+        stats.put("rowsComputed", rows);
+        stats.put("averageRowMillis", rows > 0 ? Math.round(rowComputeNanos.get() / (double) rows / 1_000.0) / 1_000.0 : 0.0);
+        stats.put("legsComputed", legsComputed.get());
+        stats.put("snapCache", snapCache.stats());
+        stats.put("legCache", legCache.stats());
+        stats.put("rowCache", rowCache.stats());
+        return stats;
+    }
+
+    private int[] resolveAll(List<String> locations, List<String> unresolved) {
+        int[] nodes = new int[locations.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = resolve(locations.get(i));
+            if (nodes[i] < 0) {
+                unresolved.add(locations.get(i));
+            }
+        }
+        return nodes;
+    }
+
+    // Unresolved locations are computed as node 0 and blanked afterwards, keeping the matrix rectangular
+    private static int[] placeholderForUnresolved(int[] nodes) {
+        int[] placed = nodes.clone();
+        for (int i = 0; i < placed.length; i++) {
+            placed[i] = Math.max(placed[i], 0);
+        }
+        return placed;
+    }
+
+    private Map<Integer, double[][]> computeRows(Set<Integer> origins) {
+        Map<Integer, double[][]> rows = new HashMap<>();
+        if (origins.isEmpty()) {
+            return rows;
+        }
+        List<Integer> sources = new ArrayList<>(origins);
+        List<Callable<double[][]>> tasks = new ArrayList<>(sources.size());
+        for (int source : sources) {
+            tasks.add(() -> {
+                long started = System.nanoTime();
+                double[][] row = routeEngine.travelFrom(source);
+                rowComputeNanos.addAndGet(System.nanoTime() - started);
+                return row;
+            });
+        }
+        try {
+            List<Future<double[][]>> futures = workers.invokeAll(tasks);
+            for (int i = 0; i < sources.size(); i++) {
+                double[][] row = futures.get(i).get();
+                rows.put(sources.get(i), row);
+                rowCache.put(sources.get(i), row);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Travel matrix computation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Travel matrix computation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        rowsComputed.addAndGet(sources.size());
+        return rows;
+    }
+
+    // Hours are infinite when the destination cannot be reached
+    public static final class Leg {
+        private static final Leg ZERO = new Leg(0, 0, 0);
+        private static final Leg UNREACHABLE = new Leg(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.POSITIVE_INFINITY);
+
+        private final double hours;
+        private final double km;
+        private final double fuelWeightedKm;
+
+        private Leg(double hours, double km, double fuelWeightedKm) {
+            this.hours = hours;
+            this.km = km;
+            this.fuelWeightedKm = fuelWeightedKm;
+        }
+
+        public boolean isReachable() { return hours != Double.POSITIVE_INFINITY; }
+        public double getHours() { return hours; }
+        public double getKm() { return km; }
+        public double getFuelWeightedKm() { return fuelWeightedKm; }
+    }
+
+    // Row i is origin i, column j is destination j; unreachable cells hold infinite hours
+    public static final class Matrix {
+        private final double[][] hours;
+        private final double[][] km;
+        private final double[][] fuelWeightedKm;
+
+        private Matrix(int origins, int destinations) {
+            hours = new double[origins][destinations];
+            km = new double[origins][destinations];
+            fuelWeightedKm = new double[origins][destinations];
+        }
+
+        public double[][] getHours() { return hours; }
+        public double[][] getKm() { return km; }
+        public double[][] getFuelWeightedKm() { return fuelWeightedKm; }
+    }
+
+    // Access-ordered map that evicts least recently used entries once their total weight exceeds the limit
+    private static final class LruCache<K, V> {
+        private final long maxWeight;
+        private final ToLongFunction<V> weigher;
+        private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(256, 0.75f, true);
+        private long weight;
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        private LruCache(long maxWeight, ToLongFunction<V> weigher) {
+            this.maxWeight = maxWeight;
+            this.weigher = weigher;
+        }
+
+        private synchronized V get(K key) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits++;
+            } else {
+                misses++;
+            }
+            return value;
+        }
+
+        // Lookup that does not count towards the hit rate
+        private synchronized V peek(K key) {
+            return entries.get(key);
+        }
+
+        private synchronized void put(K key, V value) {
+            V previous = entries.put(key, value);
+            if (previous != null) {
+                weight -= weigher.applyAsLong(previous);
+            }
+            weight += weigher.applyAsLong(value);
+            Iterator<V> eldest = entries.values().iterator();
+            while (weight > maxWeight && eldest.hasNext()) {
+                weight -= weigher.applyAsLong(eldest.next());
+                eldest.remove();
+                evictions++;
+            }
+        }
+
+        private synchronized Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("entries", entries.size());
+            stats.put("weight", weight);
+            stats.put("maxWeight", maxWeight);
+            stats.put("hits", hits);
+            stats.put("misses", misses);
+            long lookups = hits + misses;
+            stats.put("hitRate", lookups > 0 ? Math.round(hits * 1000.0 / lookups) / 1000.0 : 0.0);
+            stats.put("evictions", evictions);
+            return stats;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.neurofleetx.service;
 
+import com.neurofleetx.dto.TripResponse;
 import com.neurofleetx.model.Trip;
 import com.neurofleetx.model.User;
 import com.neurofleetx.repository.TripRepository;
@@ -8,7 +9,7 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class TripService {
@@ -16,22 +17,28 @@ public class TripService {
     @Autowired
     private TripRepository tripRepository;
 
-    private final Random random = new Random();
+    @Autowired
+    private IdGenerator idGenerator;
 
     public List<Trip> getAllTrips() {
         return tripRepository.findAll();
     }
 
-    public List<Trip> getTripsByDriver(User driver) {
-        return tripRepository.findByDriverIdOrderByCreatedAtDesc(driver.getId());
+    // Driver-facing reads come back as TripResponse rows from a single joined select
+    public List<TripResponse> getTripsByDriver(User driver) {
+        return tripRepository.findResponsesByDriverId(driver.getId());
+    }
+
+    public Optional<TripResponse> getCurrentTripByDriver(User driver) {
+        return tripRepository.findCurrentResponseByDriverId(driver.getId());
     }
 
-    public Optional<Trip> getCurrentTripByDriver(User driver) {
-        return tripRepository.findCurrentTripByDriverId(driver.getId());
+    public List<TripResponse> getUpcomingTripsByDriver(User driver) {
+        return tripRepository.findUpcomingResponsesByDriverId(driver.getId());
     }
 
-    public List<Trip> getUpcomingTripsByDriver(User driver) {
-        return tripRepository.findUpcomingTripsByDriverId(driver.getId());
+    public Optional<TripResponse> getTripResponse(String tripId) {
+        return tripRepository.findResponseByTripId(tripId);
     }
 
     public Optional<Trip> getTripById(Long id) {
@@ -44,10 +51,10 @@ public class TripService {
 
     public Trip createTrip(Trip trip) {
         // Generate trip ID
-        trip.setTripId("TR-" + String.format("%03d", random.nextInt(1000)));
+        trip.setTripId(idGenerator.nextId("TR-"));
         
         // Set estimated completion time
-        trip.setEstimatedCompletion(LocalDateTime.now().plusHours(2 + random.nextInt(4)));
+        trip.setEstimatedCompletion(LocalDateTime.now().plusHours(2 + ThreadLocalRandom.current().nextInt(4)));
         
         return tripRepository.save(trip);
     }
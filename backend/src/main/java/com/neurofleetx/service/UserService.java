@@ -4,9 +4,9 @@ import com.neurofleetx.dto.RegisterRequest;
 import com.neurofleetx.model.User;
 import com.neurofleetx.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
@@ -19,8 +19,13 @@ public class UserService {
     private PasswordEncoder passwordEncoder;
 
     public User createUser(RegisterRequest registerRequest) {
+        return createUser(registerRequest, passwordEncoder.encode(registerRequest.getPassword()));
+    }
+
+    // For callers that hashed the password already (on the password hashing pool)
+    public User createUser(RegisterRequest registerRequest, String passwordHash) {
         if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new RuntimeException("Email is already in use!");
+            throw new DuplicateKeyException("Email is already in use!");
         }
 
         User user = new User(
@@ -28,7 +33,7 @@ public class UserService {
             registerRequest.getLastName(),
             registerRequest.getEmail(),
             registerRequest.getCompany(),
-            passwordEncoder.encode(registerRequest.getPassword()),
+            passwordHash,
             registerRequest.getUserType()
         );
 
@@ -39,13 +44,9 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
 
-    public void updateLastLogin(String email) {
-        Optional<User> userOpt = userRepository.findByEmail(email);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
-        }
+    // A reference by id for associations and id-based queries; it loads the row only if a field is read
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
     }
 
     public boolean existsByEmail(String email) {
@@ -0,0 +1,270 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.dto.NearbyVehicleResponse;
+import com.neurofleetx.model.Vehicle;
+import com.neurofleetx.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// In-memory lat/long grid over fleet vehicles for k-nearest dispatch queries
+@Component
+public class VehicleGeoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleGeoIndex.class);
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Value("${neurofleetx.dispatch.geo-index.cell-degrees:0.02}")
+    private double cellDegrees;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<String>> vehiclesByCell = new ConcurrentHashMap<>();
+
+    // Runs after the data initializer so seeded vehicles are included
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        entries.clear();
+        vehiclesByCell.clear();
+        for (Vehicle vehicle : vehicleRepository.findAll()) {
+            put(vehicle);
+        }
+        logger.info("Indexed {} vehicles in {} geo cells", entries.size(), vehiclesByCell.size());
+    }
+
+    public void put(Vehicle vehicle) {
+        Long driverId = vehicle.getAssignedDriver() != null ? vehicle.getAssignedDriver().getId() : null;
+        Entry entry = new Entry(vehicle.getId(), vehicle.getVehicleId(), vehicle.getType(), vehicle.getModel(),
+                vehicle.getCapacity(), vehicle.getStatus(), vehicle.getLatitude(), vehicle.getLongitude(),
+                vehicle.getCurrentLocation(), vehicle.getDriverName(), driverId, vehicle.getIsElectric());
+        entries.compute(entry.vehicleId, (id, previous) -> {
+            replace(previous, entry);
+            return entry;
+        });
+    }
+
+    // Position-only update from the telemetry path; vehicles not in the fleet table are ignored. The cell move
+    // runs inside compute on the vehicle's entry, so a concurrent put or update cannot drop it or reorder it.
+    public void updatePosition(String vehicleId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        entries.computeIfPresent(vehicleId, (id, current) -> {
+            Entry moved = current.withPosition(latitude, longitude);
+            replace(current, moved);
+            return moved;
+        });
+    }
+
+    public void remove(String vehicleId) {
+        entries.computeIfPresent(vehicleId, (id, removed) -> {
+            if (removed.hasPosition()) {
+                removeFromCell(removed.cell, vehicleId);
+            }
+            return null;
+        });
+    }
+
+    public List<NearbyVehicleResponse> findNearest(double latitude, double longitude, int k, double radiusKm,
+                                                   Vehicle.VehicleStatus status, Integer minCapacity) {
+        return findNearest(latitude, longitude, k, radiusKm, status, minCapacity, false);
+    }
+
+    // Searches rings of cells outward from the pickup until no unvisited cell can beat the current k-th result
+    public List<NearbyVehicleResponse> findNearest(double latitude, double longitude, int k, double radiusKm,
+                                                   Vehicle.VehicleStatus status, Integer minCapacity,
+                                                   boolean requireDriver) {
+        Comparator<Candidate> byDistance = Comparator.comparingDouble(candidate -> candidate.distanceKm);
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k, byDistance.reversed());
+
+        int centerRow = row(latitude);
+        int centerColumn = column(longitude);
+        double cellKm = minCellKm(latitude, radiusKm);
+        int maxRing = (int) Math.ceil(radiusKm / cellKm) + 1;
+        long ringCells = (long) (2 * maxRing + 1) * (2 * maxRing + 1);
+
+        if (ringCells > vehiclesByCell.size()) {
+            // A sparse fleet or a huge radius: scanning the occupied cells is cheaper than walking rings
+            for (Set<String> vehicles : vehiclesByCell.values()) {
+                collect(vehicles, latitude, longitude, radiusKm, status, minCapacity, requireDriver, k, best);
+            }
+        } else {
+            for (int ring = 0; ring <= maxRing; ring++) {
+                // Anything in this ring or beyond is at least (ring - 1) cells away
+                double ringDistanceKm = Math.max(0, ring - 1) * cellKm;
+                if (ringDistanceKm > radiusKm || (best.size() == k && ringDistanceKm > best.peek().distanceKm)) {
+                    break;
+                }
+                for (int r = centerRow - ring; r <= centerRow + ring; r++) {
+                    boolean edgeRow = r == centerRow - ring || r == centerRow + ring;
+                    int step = edgeRow ? 1 : 2 * ring;
+                    for (int c = centerColumn - ring; c <= centerColumn + ring; c += Math.max(step, 1)) {
+                        Set<String> vehicles = vehiclesByCell.get(cellKey(r, c));
+                        if (vehicles != null) {
+                            collect(vehicles, latitude, longitude, radiusKm, status, minCapacity, requireDriver,
+                                    k, best);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<NearbyVehicleResponse> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Candidate candidate = best.poll();
+            result.add(0, candidate.entry.toResponse(candidate.distanceKm));
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void collect(Set<String> vehicleIds, double latitude, double longitude, double radiusKm,
+                         Vehicle.VehicleStatus status, Integer minCapacity, boolean requireDriver, int k,
+                         PriorityQueue<Candidate> best) {
+        for (String vehicleId : vehicleIds) {
+            Entry entry = entries.get(vehicleId);
+            if (entry == null || !entry.hasPosition() || (status != null && entry.status != status)) {
+                continue;
+            }
+            if (minCapacity != null && (entry.capacity == null || entry.capacity < minCapacity)) {
+                continue;
+            }
+            if (requireDriver && entry.driverId == null) {
+                continue;
+            }
+            double distanceKm = haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (distanceKm > radiusKm) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(new Candidate(entry, distanceKm));
+            } else if (distanceKm < best.peek().distanceKm) {
+                best.poll();
+                best.add(new Candidate(entry, distanceKm));
+            }
+        }
+    }
+
+    private void replace(Entry previous, Entry current) {
+        if (previous != null && previous.hasPosition()
+                && (!current.hasPosition() || previous.cell != current.cell)) {
+            removeFromCell(previous.cell, previous.vehicleId);
+        }
+        if (current.hasPosition()) {
+            vehiclesByCell.computeIfAbsent(current.cell, key -> ConcurrentHashMap.newKeySet()).add(current.vehicleId);
+        }
+    }
+
+    private void removeFromCell(long cell, String vehicleId) {
+        vehiclesByCell.computeIfPresent(cell, (key, vehicles) -> {
+            vehicles.remove(vehicleId);
+            return vehicles.isEmpty() ? null : vehicles;
+        });
+    }
+
+    // East-west cell width shrinks with latitude, so use the narrowest cell the search can reach
+    private double minCellKm(double latitude, double radiusKm) {
+        double farthestLatitude = Math.min(89.0, Math.abs(latitude) + radiusKm / KM_PER_DEGREE + cellDegrees);
+        return cellDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude));
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    private static final class Candidate {
+        private final Entry entry;
+        private final double distanceKm;
+
+        private Candidate(Entry entry, double distanceKm) {
+            this.entry = entry;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    // Immutable snapshot so readers never observe a half-updated vehicle
+    private final class Entry {
+        private final Long id;
+        private final String vehicleId;
+        private final String type;
+        private final String model;
+        private final Integer capacity;
+        private final Vehicle.VehicleStatus status;
+        private final Double latitude;
+        private final Double longitude;
+        private final String currentLocation;
+        private final String driverName;
+        private final Long driverId;
+        private final Boolean isElectric;
+        private final long cell;
+
+        private Entry(Long id, String vehicleId, String type, String model, Integer capacity,
+                      Vehicle.VehicleStatus status, Double latitude, Double longitude, String currentLocation,
+                      String driverName, Long driverId, Boolean isElectric) {
+            this.id = id;
+            this.vehicleId = vehicleId;
+            this.type = type;
+            this.model = model;
+            this.capacity = capacity;
+            this.status = status;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.currentLocation = currentLocation;
+            this.driverName = driverName;
+            this.driverId = driverId;
+            this.isElectric = isElectric;
+            this.cell = hasPosition() ? cellKey(row(latitude), column(longitude)) : 0L;
+        }
+
+        private boolean hasPosition() {
+            return latitude != null && longitude != null;
+        }
+
+        private Entry withPosition(Double newLatitude, Double newLongitude) {
+            return new Entry(id, vehicleId, type, model, capacity, status, newLatitude, newLongitude,
+                    currentLocation, driverName, driverId, isElectric);
+        }
+
+        private NearbyVehicleResponse toResponse(double distanceKm) {
+            return new NearbyVehicleResponse(id, vehicleId, type, model, capacity,
+                    status != null ? status.name() : null, latitude, longitude, currentLocation, driverName,
+                    isElectric, Math.round(distanceKm * 1000.0) / 1000.0);
+        }
+    }
+}
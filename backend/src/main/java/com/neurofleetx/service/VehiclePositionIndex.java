@@ -0,0 +1,114 @@
+package com.neurofleetx.service;
+
+import com.neurofleetx.model.VehicleTelemetry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Uniform lat/long grid over the latest known vehicle positions
+@Component
+public class VehiclePositionIndex {
+
+    @Autowired
+    private LatestTelemetryStore latestTelemetryStore;
+
+    @Value("${neurofleetx.telemetry.viewport.cell-degrees:0.05}")
+    private double cellDegrees;
+
+    private final ConcurrentMap<Long, Set<String>> vehiclesByCell = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> cellByVehicle = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        vehiclesByCell.clear();
+        cellByVehicle.clear();
+        for (VehicleTelemetry telemetry : latestTelemetryStore.getAll()) {
+            update(telemetry);
+        }
+    }
+
+    // Only moves the vehicle when it crosses into a different cell. The move runs inside compute on the
+    // vehicle's entry, so concurrent updates for one vehicle cannot leave it behind in an old cell.
+    public void update(VehicleTelemetry telemetry) {
+        if (telemetry.getLatitude() == null || telemetry.getLongitude() == null) {
+            return;
+        }
+        String vehicleId = telemetry.getVehicleId();
+        long cell = cellKey(row(telemetry.getLatitude()), column(telemetry.getLongitude()));
+        cellByVehicle.compute(vehicleId, (id, previous) -> {
+            if (previous != null && previous == cell) {
+                return previous;
+            }
+            if (previous != null) {
+                vehiclesByCell.computeIfPresent(previous, (key, vehicles) -> {
+                    vehicles.remove(vehicleId);
+                    return vehicles.isEmpty() ? null : vehicles;
+                });
+            }
+            vehiclesByCell.compute(cell, (key, vehicles) -> {
+                Set<String> members = vehicles != null ? vehicles : ConcurrentHashMap.newKeySet();
+                members.add(vehicleId);
+                return members;
+            });
+            return cell;
+        });
+    }
+
+    // Candidates from every cell overlapping the box; callers check exact positions
+    public List<String> findInBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        int minRow = row(minLatitude);
+        int maxRow = row(maxLatitude);
+        int minColumn = column(minLongitude);
+        int maxColumn = column(maxLongitude);
+        long boxCells = (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+
+        List<String> result = new ArrayList<>();
+        if (boxCells > vehiclesByCell.size()) {
+            // Zoomed far out: walking the occupied cells is cheaper than walking the box
+            for (Map.Entry<Long, Set<String>> entry : vehiclesByCell.entrySet()) {
+                int cellRow = (int) (entry.getKey() >> 32);
+                int cellColumn = (int) (long) entry.getKey();
+                if (cellRow >= minRow && cellRow <= maxRow && cellColumn >= minColumn && cellColumn <= maxColumn) {
+                    result.addAll(entry.getValue());
+                }
+            }
+            return result;
+        }
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                Set<String> vehicles = vehiclesByCell.get(cellKey(r, c));
+                if (vehicles != null) {
+                    result.addAll(vehicles);
+                }
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return cellByVehicle.size();
+    }
+
+    public int occupiedCells() {
+        return vehiclesByCell.size();
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+}
@@ -5,9 +5,11 @@ import com.neurofleetx.model.User;
 import com.neurofleetx.dto.VehicleRequest;
 import com.neurofleetx.dto.VehicleResponse;
 import com.neurofleetx.dto.DriverDto;
+import com.neurofleetx.dto.NearbyVehicleResponse;
 import com.neurofleetx.repository.VehicleRepository;
 import com.neurofleetx.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,31 +25,67 @@ public class VehicleService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private VehicleGeoIndex geoIndex;
+
+    private static final int MAX_NEAREST_RESULTS = 100;
+
+    // Reads go through the WithDriver queries so VehicleResponse finds the assigned driver already loaded.
+    // Results are cached until a vehicle or user write clears them (ReferenceDataCache).
+    @Cacheable(cacheNames = ReferenceDataCache.VEHICLES, key = "'all'")
     public List<VehicleResponse> getAllVehicles() {
-        return vehicleRepository.findAll().stream()
+        return vehicleRepository.findAllWithDriver().stream()
+                .map(VehicleResponse::new)
+                .collect(Collectors.toList());
+    }
+
+    @Cacheable(cacheNames = ReferenceDataCache.VEHICLES, key = "'active'")
+    public List<VehicleResponse> getActiveVehicles() {
+        return vehicleRepository.findActiveWithDriver().stream()
                 .map(VehicleResponse::new)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(cacheNames = ReferenceDataCache.VEHICLES, key = "'available'")
     public List<VehicleResponse> getAvailableVehicles() {
-        return vehicleRepository.findByStatus(Vehicle.VehicleStatus.AVAILABLE).stream()
+        return vehicleRepository.findByStatusWithDriver(Vehicle.VehicleStatus.AVAILABLE).stream()
                 .map(VehicleResponse::new)
                 .collect(Collectors.toList());
     }
 
+    // Answered from the in-memory geo index rather than the vehicles table
+    public List<NearbyVehicleResponse> findNearestVehicles(Double latitude, Double longitude, int limit,
+                                                           double radiusKm, String status, Integer minCapacity) {
+        if (latitude == null || longitude == null || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new IllegalArgumentException("Invalid pickup coordinates");
+        }
+        if (limit < 1 || radiusKm <= 0) {
+            throw new IllegalArgumentException("limit and radiusKm must be positive");
+        }
+        // ANY searches the whole fleet regardless of status
+        Vehicle.VehicleStatus vehicleStatus = status != null && !status.isBlank() && !"ANY".equalsIgnoreCase(status)
+                ? Vehicle.VehicleStatus.valueOf(status.toUpperCase())
+                : null;
+        return geoIndex.findNearest(latitude, longitude, Math.min(limit, MAX_NEAREST_RESULTS), radiusKm,
+                vehicleStatus, minCapacity);
+    }
+
+    @Cacheable(cacheNames = ReferenceDataCache.VEHICLES, key = "'driver:' + #driverId")
     public List<VehicleResponse> getVehiclesByDriver(Long driverId) {
-        return vehicleRepository.findByAssignedDriverId(driverId).stream()
+        return vehicleRepository.findByAssignedDriverIdWithDriver(driverId).stream()
                 .map(VehicleResponse::new)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(cacheNames = ReferenceDataCache.VEHICLES, key = "'id:' + #id")
     public Optional<VehicleResponse> getVehicleById(Long id) {
-        return vehicleRepository.findById(id)
+        return vehicleRepository.findByIdWithDriver(id)
                 .map(VehicleResponse::new);
     }
 
+    @Cacheable(cacheNames = ReferenceDataCache.VEHICLES, key = "'vehicleId:' + #vehicleId")
     public Optional<VehicleResponse> getVehicleByVehicleId(String vehicleId) {
-        return vehicleRepository.findByVehicleId(vehicleId)
+        return vehicleRepository.findByVehicleIdWithDriver(vehicleId)
                 .map(VehicleResponse::new);
     }
 
@@ -85,6 +123,7 @@ public class VehicleService {
         }
 
         Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        geoIndex.put(savedVehicle);
         return new VehicleResponse(savedVehicle);
     }
 
@@ -125,11 +164,12 @@ public class VehicleService {
 
         vehicle.setLastUpdated(LocalDateTime.now());
         Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        geoIndex.put(updatedVehicle);
         return new VehicleResponse(updatedVehicle);
     }
 
     public VehicleResponse updateVehicleLocation(String vehicleId, Double latitude, Double longitude, String location) {
-        Optional<Vehicle> vehicleOpt = vehicleRepository.findByVehicleId(vehicleId);
+        Optional<Vehicle> vehicleOpt = vehicleRepository.findByVehicleIdWithDriver(vehicleId);
         if (vehicleOpt.isPresent()) {
             Vehicle vehicle = vehicleOpt.get();
             vehicle.setLatitude(latitude);
@@ -137,6 +177,7 @@ public class VehicleService {
             vehicle.setCurrentLocation(location);
             vehicle.setLastUpdated(LocalDateTime.now());
             Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+            geoIndex.put(updatedVehicle);
             return new VehicleResponse(updatedVehicle);
         }
         throw new RuntimeException("Vehicle not found: " + vehicleId);
@@ -150,6 +191,7 @@ public class VehicleService {
         return vehicleRepository.count();
     }
 
+    @Cacheable(cacheNames = ReferenceDataCache.DRIVERS, key = "'available'")
     public List<DriverDto> getAvailableDrivers() {
         try {
             List<User> drivers = userRepository.findByUserType("driver");
@@ -162,9 +204,9 @@ public class VehicleService {
     }
 
     public void deleteVehicle(Long id) {
-        if (!vehicleRepository.existsById(id)) {
-            throw new RuntimeException("Vehicle not found: " + id);
-        }
+        Vehicle vehicle = vehicleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Vehicle not found: " + id));
         vehicleRepository.deleteById(id);
+        geoIndex.remove(vehicle.getVehicleId());
     }
 }
\ No newline at end of file
@@ -1,179 +1,270 @@
 package com.neurofleetx.service;
 
-import com.neurofleetx.model.Vehicle;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neurofleetx.dto.TelemetryAlert;
+import com.neurofleetx.dto.TelemetryPage;
+import com.neurofleetx.model.TelemetryRollup;
 import com.neurofleetx.model.VehicleTelemetry;
-import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.repository.TelemetryRollupRepository;
 import com.neurofleetx.repository.VehicleTelemetryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class VehicleTelemetryService {
+
+    private static final int MAX_PAGE_SIZE = 5000;
+
+    // Cursor used for the first page: sorts after every stored sample
+    private static final LocalDateTime FIRST_PAGE_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
     
     @Autowired
     private VehicleTelemetryRepository telemetryRepository;
     
     @Autowired
-    private VehicleRepository vehicleRepository;
-    
+    private TelemetryIngestionService ingestionService;
+
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
-    
-    private final Random random = new Random();
+    private LatestTelemetryStore latestTelemetryStore;
+
+    @Autowired
+    private VehiclePositionIndex positionIndex;
+
+    @Autowired
+    private VehicleGeoIndex geoIndex;
+
+    @Autowired
+    private FleetMetricsAggregator fleetMetrics;
+
+    @Autowired
+    private TelemetryAnalyticsService analyticsService;
+
+    @Autowired
+    private TelemetryAlertService alertService;
 
+    @Autowired
+    private TelemetryRollupRepository rollupRepository;
+
+    @Autowired
+    private TelemetryRollupService rollupService;
+
+    @Autowired
+    private TelemetryBroadcaster broadcaster;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer saveTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        saveTimer = Timer.builder("neurofleetx.telemetry.save")
+                .description("Time to accept one telemetry sample, including any wait for ingest queue space")
+                .register(meterRegistry);
+    }
+    
     public List<VehicleTelemetry> getLatestTelemetryForAllVehicles() {
-        return telemetryRepository.findLatestTelemetryForAllVehicles();
+        return latestTelemetryStore.getAll();
     }
 
-    public List<VehicleTelemetry> getTelemetryByVehicleId(String vehicleId) {
-        return telemetryRepository.findByVehicleIdOrderByTimestampDesc(vehicleId);
+    public TelemetryPage getTelemetryPageByVehicleId(String vehicleId, String cursor, int limit) {
+        int pageSize = clampPageSize(limit);
+        LocalDateTime beforeTimestamp = FIRST_PAGE_TIMESTAMP;
+        Long beforeId = Long.MAX_VALUE;
+        if (cursor != null) {
+            String[] parts = decodeCursor(cursor);
+            beforeTimestamp = LocalDateTime.parse(parts[0]);
+            beforeId = Long.valueOf(parts[1]);
+        }
+        List<VehicleTelemetry> items = telemetryRepository.findPageByVehicleId(
+                vehicleId, beforeTimestamp, beforeId, PageRequest.of(0, pageSize));
+        return toPage(items, pageSize);
+    }
+
+    public TelemetryPage getRecentTelemetryPage(LocalDateTime since, String cursor, int limit) {
+        int pageSize = clampPageSize(limit);
+        LocalDateTime beforeTimestamp = FIRST_PAGE_TIMESTAMP;
+        Long beforeId = Long.MAX_VALUE;
+        if (cursor != null) {
+            String[] parts = decodeCursor(cursor);
+            beforeTimestamp = LocalDateTime.parse(parts[0]);
+            beforeId = Long.valueOf(parts[1]);
+        }
+        List<VehicleTelemetry> items = telemetryRepository.findRecentPage(
+                since, beforeTimestamp, beforeId, PageRequest.of(0, pageSize));
+        return toPage(items, pageSize);
+    }
+
+    public void streamTelemetryByVehicleId(String vehicleId, OutputStream out) throws IOException {
+        writeNdjson(() -> telemetryRepository.streamByVehicleId(vehicleId), out);
+    }
+
+    public void streamRecentTelemetry(LocalDateTime since, OutputStream out) throws IOException {
+        writeNdjson(() -> telemetryRepository.streamRecent(since), out);
     }
 
     public Optional<VehicleTelemetry> getLatestTelemetryByVehicleId(String vehicleId) {
-        return telemetryRepository.findLatestByVehicleId(vehicleId);
+        return latestTelemetryStore.get(vehicleId);
     }
 
-    public List<VehicleTelemetry> getRecentTelemetry(LocalDateTime since) {
-        return telemetryRepository.findRecentTelemetry(since);
+    public Map<String, Object> getTelemetryHistory(String vehicleId, LocalDateTime from, LocalDateTime to) {
+        String resolution = rollupService.selectResolution(from, to);
+        List<?> points;
+        if ("RAW".equals(resolution)) {
+            points = telemetryRepository.findByVehicleIdInRange(vehicleId, from, to);
+        } else {
+            points = rollupRepository.findByVehicleIdAndResolutionInRange(
+                    vehicleId, TelemetryRollup.Resolution.valueOf(resolution), from, to);
+        }
+
+        Map<String, Object> history = new LinkedHashMap<>();
+        history.put("vehicleId", vehicleId);
+        history.put("from", from);
+        history.put("to", to);
+        history.put("resolution", resolution);
+        if (!"RAW".equals(resolution)) {
+            // Rollups trail ingest by about a minute (an hour for HOUR); points stop here even if "to" is later
+            history.put("rolledUpTo", rollupService.getRolledUpTo(TelemetryRollup.Resolution.valueOf(resolution)));
+        }
+        history.put("points", points);
+        return history;
     }
 
+    // Latest status per vehicle, counted as telemetry arrives
     public Map<String, Long> getMaintenanceStatusCounts() {
-        return Map.of(
-            "HEALTHY", telemetryRepository.countByMaintenanceStatus(VehicleTelemetry.MaintenanceStatus.HEALTHY),
-            "DUE", telemetryRepository.countByMaintenanceStatus(VehicleTelemetry.MaintenanceStatus.DUE),
-            "CRITICAL", telemetryRepository.countByMaintenanceStatus(VehicleTelemetry.MaintenanceStatus.CRITICAL)
-        );
+        return fleetMetrics.getMaintenanceStatusCounts();
     }
 
     public VehicleTelemetry saveTelemetry(VehicleTelemetry telemetry) {
-        VehicleTelemetry saved = telemetryRepository.save(telemetry);
-        
-        // Send real-time update via WebSocket
-        messagingTemplate.convertAndSend("/topic/telemetry", saved);
-        messagingTemplate.convertAndSend("/topic/telemetry/" + saved.getVehicleId(), saved);
-        
-        return saved;
-    }
-
-    @Scheduled(fixedRate = 5000) // Every 5 seconds
-    public void simulateTelemetryData() {
-        List<Vehicle> vehicles = vehicleRepository.findAll();
-        
-        for (Vehicle vehicle : vehicles) {
-            VehicleTelemetry telemetry = generateSimulatedTelemetry(vehicle);
-            saveTelemetry(telemetry);
-            
-            // Update vehicle location in the main vehicle entity
-            vehicle.setLatitude(telemetry.getLatitude());
-            vehicle.setLongitude(telemetry.getLongitude());
-            vehicle.setSpeed(telemetry.getSpeed());
-            vehicle.setBatteryLevel(telemetry.getBatteryLevel().intValue());
-            vehicle.setFuelLevel(telemetry.getFuelLevel());
-            vehicle.setLastUpdated(LocalDateTime.now());
-            vehicleRepository.save(vehicle);
+        // The in-memory stores and indexes are keyed and placed by these, so reject the sample before any of them
+        if (telemetry.getVehicleId() == null || telemetry.getVehicleId().isBlank() || telemetry.getTimestamp() == null
+                || telemetry.getLatitude() == null || telemetry.getLongitude() == null) {
+            throw new IllegalArgumentException("Telemetry needs a vehicleId, timestamp, latitude and longitude");
+        }
+        long start = System.nanoTime();
+        try {
+            // Persisted and broadcast via WebSocket by the batched writer stage
+            ingestionService.submit(telemetry);
+            VehicleTelemetry latest = latestTelemetryStore.update(telemetry);
+            analyticsService.record(telemetry);
+            alertService.submit(telemetry);
+            positionIndex.update(latest);
+            geoIndex.updatePosition(latest.getVehicleId(), latest.getLatitude(), latest.getLongitude());
+            return telemetry;
+        } finally {
+            saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
-    private VehicleTelemetry generateSimulatedTelemetry(Vehicle vehicle) {
-        // Get previous telemetry for realistic progression
-        Optional<VehicleTelemetry> previousTelemetry = getLatestTelemetryByVehicleId(vehicle.getVehicleId());
-        
-        double baseLatitude = previousTelemetry.map(VehicleTelemetry::getLatitude).orElse(vehicle.getLatitude());
-        double baseLongitude = previousTelemetry.map(VehicleTelemetry::getLongitude).orElse(vehicle.getLongitude());
-        double baseMileage = previousTelemetry.map(VehicleTelemetry::getMileage).orElse(0.0);
-        double baseFuelLevel = previousTelemetry.map(VehicleTelemetry::getFuelLevel).orElse(100.0);
-        double baseBatteryLevel = previousTelemetry.map(VehicleTelemetry::getBatteryLevel).orElse(100.0);
-
-        // Simulate movement (small random changes in position)
-        double latitudeChange = (random.nextDouble() - 0.5) * 0.01; // ±0.005 degrees
-        double longitudeChange = (random.nextDouble() - 0.5) * 0.01;
-        double newLatitude = baseLatitude + latitudeChange;
-        double newLongitude = baseLongitude + longitudeChange;
-
-        // Simulate speed based on vehicle status
-        double speed = 0.0;
-        if (vehicle.getStatus() == Vehicle.VehicleStatus.EN_ROUTE) {
-            speed = 20 + random.nextDouble() * 60; // 20-80 km/h
-        } else if (vehicle.getStatus() == Vehicle.VehicleStatus.LOADING) {
-            speed = random.nextDouble() * 5; // 0-5 km/h
-        }
+    // Precomputed on ingest; maintenance counts are per vehicle from the latest sample
+    public Map<String, Object> getDashboardStats() {
+        Map<String, Object> stats = analyticsService.getDashboardStats();
+        stats.put("maintenanceStats", getMaintenanceStatusCounts());
+        return stats;
+    }
 
-        // Simulate fuel consumption (decrease over time)
-        double fuelLevel = Math.max(10.0, baseFuelLevel - (random.nextDouble() * 2));
-        
-        // Simulate battery level
-        double batteryLevel;
-        if (vehicle.getIsElectric()) {
-            batteryLevel = Math.max(15.0, baseBatteryLevel - (random.nextDouble() * 3));
-        } else {
-            batteryLevel = 100.0; // Non-electric vehicles don't have battery tracking
-        }
+    public Optional<Map<String, Object>> getVehicleStats(String vehicleId) {
+        return Optional.ofNullable(analyticsService.getVehicleStats(vehicleId));
+    }
 
-        // Simulate mileage increase
-        double mileageIncrease = speed * (5.0 / 3600.0); // 5 seconds worth of distance
-        double newMileage = baseMileage + mileageIncrease;
-
-        // Determine maintenance status based on various factors
-        VehicleTelemetry.MaintenanceStatus maintenanceStatus = determineMaintenanceStatus(
-            fuelLevel, batteryLevel, newMileage, speed
-        );
-
-        VehicleTelemetry telemetry = new VehicleTelemetry(
-            vehicle.getVehicleId(),
-            speed,
-            fuelLevel,
-            batteryLevel,
-            newMileage,
-            newLatitude,
-            newLongitude,
-            maintenanceStatus
-        );
-
-        // Add additional sensor data
-        telemetry.setEngineTemperature(80 + random.nextDouble() * 40); // 80-120°C
-        telemetry.setTirePressure(30 + random.nextDouble() * 10); // 30-40 PSI
-
-        // Generate alert messages for critical conditions
-        if (maintenanceStatus == VehicleTelemetry.MaintenanceStatus.CRITICAL) {
-            telemetry.setAlertMessage(generateCriticalAlert(fuelLevel, batteryLevel));
-        } else if (maintenanceStatus == VehicleTelemetry.MaintenanceStatus.DUE) {
-            telemetry.setAlertMessage("Scheduled maintenance due soon");
-        }
+    public List<TelemetryAlert> getActiveAlerts(String vehicleId) {
+        return alertService.getActiveAlerts(vehicleId);
+    }
 
-        return telemetry;
+    public Map<String, Object> getAlertStats() {
+        return alertService.getStats();
     }
 
-    private VehicleTelemetry.MaintenanceStatus determineMaintenanceStatus(
-            double fuelLevel, double batteryLevel, double mileage, double speed) {
-        
-        // Critical conditions
-        if (fuelLevel < 15 || batteryLevel < 20 || mileage > 50000) {
-            return VehicleTelemetry.MaintenanceStatus.CRITICAL;
-        }
-        
-        // Due for maintenance
-        if (fuelLevel < 30 || batteryLevel < 40 || mileage > 30000 || random.nextDouble() < 0.1) {
-            return VehicleTelemetry.MaintenanceStatus.DUE;
+    public Map<String, Object> getIngestionStats() {
+        return ingestionService.getStats();
+    }
+
+    public Map<String, Object> getBroadcastStats() {
+        return broadcaster.getStats();
+    }
+
+    // Rows are serialized and detached one at a time so memory stays flat regardless of result size
+    private void writeNdjson(Supplier<Stream<VehicleTelemetry>> query, OutputStream out) throws IOException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<VehicleTelemetry> rows = query.get()) {
+                    rows.forEach(telemetry -> {
+                        try {
+                            out.write(objectMapper.writeValueAsBytes(telemetry));
+                            out.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        entityManager.detach(telemetry);
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        
-        return VehicleTelemetry.MaintenanceStatus.HEALTHY;
+        out.flush();
     }
 
-    private String generateCriticalAlert(double fuelLevel, double batteryLevel) {
-        if (fuelLevel < 15) {
-            return "Critical: Low fuel level - " + String.format("%.1f", fuelLevel) + "%";
+    private TelemetryPage toPage(List<VehicleTelemetry> items, int pageSize) {
+        String nextCursor = null;
+        if (items.size() == pageSize) {
+            VehicleTelemetry last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getTimestamp(), last.getId());
         }
-        if (batteryLevel < 20) {
-            return "Critical: Low battery level - " + String.format("%.1f", batteryLevel) + "%";
+        return new TelemetryPage(items, nextCursor);
+    }
+
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private String encodeCursor(LocalDateTime timestamp, Long id) {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
         }
-        return "Critical: Immediate maintenance required";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,497 @@
+package com.neurofleetx.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pickup-and-delivery solver: regret insertion, then or-opt / 2-opt / relocate local search with
+// ruin-and-recreate restarts. Each worker searches independently until the shared deadline.
+@Component
+public class VrpSolver {
+
+    private static final double EPSILON = 1e-9;
+
+    @Value("${neurofleetx.vrp.worker-threads:0}")
+    private int workerThreads;
+
+    private int workerCount;
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void init() {
+        workerCount = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "vrp-solver-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public Solution solve(Problem problem, long budgetMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        List<Callable<Solution>> searches = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            // The first worker is deterministic; the others add noise to explore different insertion orders
+            long seed = 31L * i + 17;
+            double noise = i == 0 ? 0.0 : 0.15;
+            searches.add(() -> new Search(problem, seed, noise).run(deadline));
+        }
+
+        Solution best = null;
+        int iterations = 0;
+        try {
+            for (Future<Solution> future : workers.invokeAll(searches)) {
+                Solution candidate = future.get();
+                iterations += candidate.iterations;
+                if (best == null || candidate.isBetterThan(best)) {
+                    best = candidate;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Route solver interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Route solver failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        best.iterations = iterations;
+        return best;
+    }
+
+    // Points index the travel-time matrix; each vehicle starts empty at its start point and ends at its last stop
+    public static final class Problem {
+        private final int[] vehicleStart;
+        private final int[] capacity;
+        private final int[] pickup;
+        private final int[] delivery;
+        private final int[] load;
+        private final double[][] time;
+
+        public Problem(int[] vehicleStart, int[] capacity, int[] pickup, int[] delivery, int[] load, double[][] time) {
+            this.vehicleStart = vehicleStart;
+            this.capacity = capacity;
+            this.pickup = pickup;
+            this.delivery = delivery;
+            this.load = load;
+            this.time = time;
+        }
+
+        public int getVehicleCount() { return vehicleStart.length; }
+        public int getBookingCount() { return pickup.length; }
+
+        // Stops are encoded as 2 * booking for the pickup and 2 * booking + 1 for the delivery
+        int point(int stop) {
+            return (stop & 1) == 0 ? pickup[stop >> 1] : delivery[stop >> 1];
+        }
+
+        double routeCost(int vehicle, List<Integer> stops) {
+            double cost = 0;
+            int previous = vehicleStart[vehicle];
+            for (int stop : stops) {
+                int point = point(stop);
+                cost += time[previous][point];
+                previous = point;
+            }
+            return cost;
+        }
+
+        boolean isFeasible(int vehicle, List<Integer> stops) {
+            int onboard = 0;
+            boolean[] picked = new boolean[pickup.length];
+            for (int stop : stops) {
+                int booking = stop >> 1;
+                if ((stop & 1) == 0) {
+                    picked[booking] = true;
+                    onboard += load[booking];
+                    if (onboard > capacity[vehicle]) {
+                        return false;
+                    }
+                } else {
+                    if (!picked[booking]) {
+                        return false;
+                    }
+                    onboard -= load[booking];
+                }
+            }
+            return true;
+        }
+    }
+
+    public static final class Solution {
+        private final List<List<Integer>> routes;
+        private final List<Integer> unassigned;
+        private final double cost;
+        private int iterations;
+
+        private Solution(List<List<Integer>> routes, List<Integer> unassigned, double cost, int iterations) {
+            this.routes = routes;
+            this.unassigned = unassigned;
+            this.cost = cost;
+            this.iterations = iterations;
+        }
+
+        // Serving more bookings always wins over a shorter total travel time
+        private boolean isBetterThan(Solution other) {
+            if (unassigned.size() != other.unassigned.size()) {
+                return unassigned.size() < other.unassigned.size();
+            }
+            return cost < other.cost - EPSILON;
+        }
+
+        public List<List<Integer>> getRoutes() { return routes; }
+        public List<Integer> getUnassigned() { return unassigned; }
+        public double getCost() { return cost; }
+        public int getIterations() { return iterations; }
+    }
+
+    private static final class Insertion {
+        private final int vehicle;
+        private final int pickupIndex;
+        private final int deliveryIndex;
+        private final double delta;
+
+        private Insertion(int vehicle, int pickupIndex, int deliveryIndex, double delta) {
+            this.vehicle = vehicle;
+            this.pickupIndex = pickupIndex;
+            this.deliveryIndex = deliveryIndex;
+            this.delta = delta;
+        }
+    }
+
+    private static final class Search {
+        private final Problem problem;
+        private final Random random;
+        private final double noise;
+        private final List<List<Integer>> routes = new ArrayList<>();
+        private final List<Integer> unassigned = new ArrayList<>();
+        private int iterations;
+        private long deadline;
+
+        private Search(Problem problem, long seed, double noise) {
+            this.problem = problem;
+            this.random = new Random(seed);
+            this.noise = noise;
+        }
+
+        private Solution run(long deadline) {
+            this.deadline = deadline;
+            for (int v = 0; v < problem.getVehicleCount(); v++) {
+                routes.add(new ArrayList<>());
+            }
+            List<Integer> all = new ArrayList<>();
+            for (int b = 0; b < problem.getBookingCount(); b++) {
+                all.add(b);
+            }
+            recreate(all);
+            localSearch();
+            Solution current = snapshot();
+            Solution best = current;
+
+            while (System.nanoTime() < deadline && problem.getBookingCount() > 1) {
+                iterations++;
+                ruin();
+                localSearch();
+                Solution candidate = snapshot();
+                if (candidate.isBetterThan(current) || !current.isBetterThan(candidate)) {
+                    current = candidate;
+                    if (candidate.isBetterThan(best)) {
+                        best = candidate;
+                    }
+                } else {
+                    restore(current);
+                }
+            }
+            best.iterations = iterations;
+            return best;
+        }
+
+        // Removes a few related bookings (those on a random route plus random others) and reinserts them
+        private void ruin() {
+            int count = Math.max(1, Math.min(problem.getBookingCount() / 2, 2 + random.nextInt(3 + problem.getBookingCount() / 10)));
+            List<Integer> removed = new ArrayList<>(unassigned);
+            unassigned.clear();
+            while (removed.size() < count) {
+                int booking = random.nextInt(problem.getBookingCount());
+                if (!removed.contains(booking)) {
+                    removeBooking(booking);
+                    removed.add(booking);
+                }
+            }
+            Collections.shuffle(removed, random);
+            recreate(removed);
+        }
+
+        // Regret-2 insertion: place first the booking that would lose most by not getting its best vehicle
+        private void recreate(List<Integer> bookings) {
+            List<Integer> pending = new ArrayList<>(bookings);
+            int vehicles = problem.getVehicleCount();
+            Insertion[][] cache = new Insertion[problem.getBookingCount()][vehicles];
+            for (int booking : pending) {
+                for (int v = 0; v < vehicles; v++) {
+                    cache[booking][v] = bestInsertion(v, booking);
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                int chosenIndex = -1;
+                Insertion chosen = null;
+                double chosenRegret = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < pending.size(); i++) {
+                    int booking = pending.get(i);
+                    Insertion first = null;
+                    Insertion second = null;
+                    for (int v = 0; v < vehicles; v++) {
+                        Insertion option = cache[booking][v];
+                        if (option == null) {
+                            continue;
+                        }
+                        if (first == null || option.delta < first.delta) {
+                            second = first;
+                            first = option;
+                        } else if (second == null || option.delta < second.delta) {
+                            second = option;
+                        }
+                    }
+                    if (first == null) {
+                        continue;
+                    }
+                    double regret = second == null ? Double.MAX_VALUE / 2 : second.delta - first.delta;
+                    if (noise > 0) {
+                        regret *= 1.0 + noise * (random.nextDouble() - 0.5);
+                    }
+                    if (regret > chosenRegret) {
+                        chosenRegret = regret;
+                        chosen = first;
+                        chosenIndex = i;
+                    }
+                }
+                if (chosen == null) {
+                    unassigned.addAll(pending);
+                    return;
+                }
+
+                int booking = pending.remove(chosenIndex);
+                apply(booking, chosen);
+                for (int other : pending) {
+                    cache[other][chosen.vehicle] = bestInsertion(chosen.vehicle, other);
+                }
+            }
+        }
+
+        private boolean expired() {
+            return System.nanoTime() >= deadline;
+        }
+
+        // Every move loop checks the deadline, since one pass over long routes can outlast the whole budget
+        private void localSearch() {
+            boolean improved = true;
+            while (improved && !expired()) {
+                improved = false;
+                for (int v = 0; v < routes.size() && !expired(); v++) {
+                    improved |= orOpt(v);
+                    improved |= twoOpt(v);
+                }
+                improved |= relocateBookings();
+            }
+        }
+
+        // Moves a run of 1-3 consecutive stops to a better position in the same route
+        private boolean orOpt(int vehicle) {
+            List<Integer> stops = routes.get(vehicle);
+            double cost = problem.routeCost(vehicle, stops);
+            boolean improved = false;
+            for (int length = 1; length <= 3; length++) {
+                for (int from = 0; from + length <= stops.size() && !expired(); from++) {
+                    List<Integer> segment = new ArrayList<>(stops.subList(from, from + length));
+                    List<Integer> rest = new ArrayList<>(stops);
+                    rest.subList(from, from + length).clear();
+                    for (int to = 0; to <= rest.size(); to++) {
+                        if (to == from) {
+                            continue;
+                        }
+                        List<Integer> candidate = new ArrayList<>(rest);
+                        candidate.addAll(to, segment);
+                        double candidateCost = problem.routeCost(vehicle, candidate);
+                        if (candidateCost < cost - EPSILON && problem.isFeasible(vehicle, candidate)) {
+                            stops.clear();
+                            stops.addAll(candidate);
+                            cost = candidateCost;
+                            improved = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            return improved;
+        }
+
+        private boolean twoOpt(int vehicle) {
+            List<Integer> stops = routes.get(vehicle);
+            double cost = problem.routeCost(vehicle, stops);
+            boolean improved = false;
+            for (int i = 0; i + 1 < stops.size() && !expired(); i++) {
+                for (int j = i + 1; j < stops.size(); j++) {
+                    List<Integer> candidate = new ArrayList<>(stops);
+                    Collections.reverse(candidate.subList(i, j + 1));
+                    double candidateCost = problem.routeCost(vehicle, candidate);
+                    if (candidateCost < cost - EPSILON && problem.isFeasible(vehicle, candidate)) {
+                        stops.clear();
+                        stops.addAll(candidate);
+                        cost = candidateCost;
+                        improved = true;
+                    }
+                }
+            }
+            return improved;
+        }
+
+        // Moves whole bookings between vehicles, and retries unassigned bookings once capacity frees up
+        private boolean relocateBookings() {
+            boolean improved = false;
+            for (int v = 0; v < routes.size(); v++) {
+                List<Integer> stops = routes.get(v);
+                for (int index = 0; index < stops.size() && !expired(); index++) {
+                    int stop = stops.get(index);
+                    if ((stop & 1) != 0) {
+                        continue;
+                    }
+                    int booking = stop >> 1;
+                    double before = problem.routeCost(v, stops);
+                    List<Integer> without = new ArrayList<>(stops);
+                    without.remove(Integer.valueOf(2 * booking));
+                    without.remove(Integer.valueOf(2 * booking + 1));
+                    double saving = before - problem.routeCost(v, without);
+
+                    Insertion best = null;
+                    for (int other = 0; other < routes.size(); other++) {
+                        if (other == v) {
+                            continue;
+                        }
+                        Insertion option = bestInsertion(other, booking);
+                        if (option != null && (best == null || option.delta < best.delta)) {
+                            best = option;
+                        }
+                    }
+                    if (best != null && best.delta < saving - EPSILON) {
+                        stops.clear();
+                        stops.addAll(without);
+                        apply(booking, best);
+                        improved = true;
+                        index--;
+                    }
+                }
+            }
+            if (!unassigned.isEmpty() && !expired()) {
+                List<Integer> retry = new ArrayList<>(unassigned);
+                unassigned.clear();
+                recreate(retry);
+                improved |= unassigned.size() < retry.size();
+            }
+            return improved;
+        }
+
+        // Cheapest feasible pickup/delivery positions in one route, in O(n^2) with incremental capacity checks
+        private Insertion bestInsertion(int vehicle, int booking) {
+            List<Integer> stops = routes.get(vehicle);
+            int n = stops.size();
+            int[] points = new int[n];
+            int[] onboard = new int[n + 1];
+            for (int k = 0; k < n; k++) {
+                int stop = stops.get(k);
+                points[k] = problem.point(stop);
+                int delta = problem.load[stop >> 1];
+                onboard[k + 1] = onboard[k] + ((stop & 1) == 0 ? delta : -delta);
+            }
+            int pickupPoint = problem.pickup[booking];
+            int deliveryPoint = problem.delivery[booking];
+            int load = problem.load[booking];
+            int capacity = problem.capacity[vehicle];
+            double[][] time = problem.time;
+
+            Insertion best = null;
+            for (int i = 0; i <= n; i++) {
+                int before = i == 0 ? problem.vehicleStart[vehicle] : points[i - 1];
+                double pickupDelta = time[before][pickupPoint] + (i < n ? time[pickupPoint][points[i]] - time[before][points[i]] : 0);
+                int maxOnboard = onboard[i];
+                for (int j = i; j <= n; j++) {
+                    if (j > i) {
+                        maxOnboard = Math.max(maxOnboard, onboard[j]);
+                    }
+                    if (maxOnboard + load > capacity) {
+                        break;
+                    }
+                    double delta;
+                    if (j == i) {
+                        delta = time[before][pickupPoint] + time[pickupPoint][deliveryPoint]
+                                + (i < n ? time[deliveryPoint][points[i]] - time[before][points[i]] : 0);
+                    } else {
+                        int previous = points[j - 1];
+                        delta = pickupDelta + time[previous][deliveryPoint]
+                                + (j < n ? time[deliveryPoint][points[j]] - time[previous][points[j]] : 0);
+                    }
+                    if (best == null || delta < best.delta) {
+                        best = new Insertion(vehicle, i, j, delta);
+                    }
+                }
+            }
+            return best;
+        }
+
+        private void apply(int booking, Insertion insertion) {
+            List<Integer> stops = routes.get(insertion.vehicle);
+            stops.add(insertion.deliveryIndex, 2 * booking + 1);
+            stops.add(insertion.pickupIndex, 2 * booking);
+        }
+
+        private void removeBooking(int booking) {
+            for (List<Integer> stops : routes) {
+                if (stops.remove(Integer.valueOf(2 * booking))) {
+                    stops.remove(Integer.valueOf(2 * booking + 1));
+                    return;
+                }
+            }
+        }
+
+        private Solution snapshot() {
+            List<List<Integer>> copy = new ArrayList<>(routes.size());
+            double cost = 0;
+            for (int v = 0; v < routes.size(); v++) {
+                copy.add(new ArrayList<>(routes.get(v)));
+                cost += problem.routeCost(v, routes.get(v));
+            }
+            List<Integer> missing = new ArrayList<>(unassigned);
+            Collections.sort(missing);
+            return new Solution(copy, missing, cost, iterations);
+        }
+
+        private void restore(Solution solution) {
+            for (int v = 0; v < routes.size(); v++) {
+                routes.get(v).clear();
+                routes.get(v).addAll(solution.routes.get(v));
+            }
+            unassigned.clear();
+            unassigned.addAll(solution.unassigned);
+        }
+    }
+}
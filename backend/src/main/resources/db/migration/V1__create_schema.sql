@@ -0,0 +1,171 @@
+-- Schema as previously generated from the entities. Entities saved through JPA draw IDs from pooled
+-- sequences (allocation 50, matching @SequenceGenerator) so Hibernate can batch their inserts; the two
+-- telemetry tables keep identity columns because they are written with plain JDBC batches.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE vehicles_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE routes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE trips_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    first_name VARCHAR(50),
+    last_name VARCHAR(50),
+    email VARCHAR(100),
+    company VARCHAR(100),
+    password VARCHAR(120),
+    user_type VARCHAR(20),
+    role VARCHAR(255) CHECK (role IN ('USER', 'ADMIN', 'FLEET_MANAGER')),
+    created_at TIMESTAMP(6),
+    last_login TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE vehicles (
+    id BIGINT NOT NULL,
+    vehicle_id VARCHAR(255),
+    type VARCHAR(255),
+    model VARCHAR(255),
+    capacity INTEGER,
+    fuel_type VARCHAR(255),
+    license_plate VARCHAR(255),
+    year INTEGER,
+    manufacturer VARCHAR(255),
+    mileage DOUBLE PRECISION,
+    last_service_date TIMESTAMP(6),
+    next_service_date TIMESTAMP(6),
+    status VARCHAR(255) CHECK (status IN ('AVAILABLE', 'EN_ROUTE', 'LOADING', 'MAINTENANCE', 'OFFLINE', 'OUT_OF_SERVICE')),
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    current_location VARCHAR(255),
+    destination VARCHAR(255),
+    battery_level INTEGER,
+    speed DOUBLE PRECISION,
+    driver_name VARCHAR(255),
+    fuel_level DOUBLE PRECISION,
+    is_electric BOOLEAN,
+    assigned_driver_id BIGINT,
+    last_updated TIMESTAMP(6),
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_vehicles_vehicle_id UNIQUE (vehicle_id),
+    CONSTRAINT fk_vehicles_assigned_driver FOREIGN KEY (assigned_driver_id) REFERENCES users (id)
+);
+
+CREATE TABLE routes (
+    id BIGINT NOT NULL,
+    route_id VARCHAR(255),
+    origin VARCHAR(255),
+    destination VARCHAR(255),
+    distance DOUBLE PRECISION,
+    estimated_time INTEGER,
+    fuel_consumption DOUBLE PRECISION,
+    ai_optimization_savings DOUBLE PRECISION,
+    time_saved INTEGER,
+    fuel_saved DOUBLE PRECISION,
+    status VARCHAR(255) CHECK (status IN ('PLANNED', 'ACTIVE', 'COMPLETED', 'CANCELLED')),
+    vehicle_id BIGINT,
+    created_at TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_routes_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles (id)
+);
+
+CREATE TABLE bookings (
+    id BIGINT NOT NULL,
+    booking_id VARCHAR(255),
+    customer_id BIGINT,
+    driver_id BIGINT,
+    vehicle_id BIGINT,
+    pickup_location VARCHAR(255),
+    delivery_location VARCHAR(255),
+    distance DOUBLE PRECISION,
+    estimated_cost DOUBLE PRECISION,
+    progress INTEGER,
+    status VARCHAR(255) CHECK (status IN ('SCHEDULED', 'IN_TRANSIT', 'DELIVERED', 'CANCELLED')),
+    pickup_time TIMESTAMP(6),
+    delivery_time TIMESTAMP(6),
+    estimated_delivery TIMESTAMP(6),
+    created_at TIMESTAMP(6),
+    rating INTEGER,
+    notes VARCHAR(255),
+    load_weight INTEGER,
+    dispatch_retry_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_bookings_booking_id UNIQUE (booking_id),
+    CONSTRAINT fk_bookings_customer FOREIGN KEY (customer_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_driver FOREIGN KEY (driver_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles (id)
+);
+
+CREATE TABLE trips (
+    id BIGINT NOT NULL,
+    trip_id VARCHAR(255),
+    driver_id BIGINT,
+    vehicle_id BIGINT,
+    booking_id BIGINT,
+    route_id BIGINT,
+    pickup_sequence INTEGER,
+    delivery_sequence INTEGER,
+    origin VARCHAR(255),
+    destination VARCHAR(255),
+    distance DOUBLE PRECISION,
+    earnings DOUBLE PRECISION,
+    progress INTEGER,
+    status VARCHAR(255) CHECK (status IN ('SCHEDULED', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    start_time TIMESTAMP(6),
+    end_time TIMESTAMP(6),
+    estimated_completion TIMESTAMP(6),
+    created_at TIMESTAMP(6),
+    rating INTEGER,
+    customer_name VARCHAR(255),
+    customer_phone VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_trips_trip_id UNIQUE (trip_id),
+    CONSTRAINT fk_trips_driver FOREIGN KEY (driver_id) REFERENCES users (id),
+    CONSTRAINT fk_trips_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles (id),
+    CONSTRAINT fk_trips_booking FOREIGN KEY (booking_id) REFERENCES bookings (id),
+    CONSTRAINT fk_trips_route FOREIGN KEY (route_id) REFERENCES routes (id)
+);
+
+CREATE TABLE vehicle_telemetry (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    vehicle_id VARCHAR(255) NOT NULL,
+    speed DOUBLE PRECISION,
+    fuel_level DOUBLE PRECISION,
+    battery_level DOUBLE PRECISION,
+    mileage DOUBLE PRECISION,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    timestamp TIMESTAMP(6) NOT NULL,
+    maintenance_status VARCHAR(255) CHECK (maintenance_status IN ('HEALTHY', 'DUE', 'CRITICAL')),
+    engine_temperature DOUBLE PRECISION,
+    tire_pressure DOUBLE PRECISION,
+    alert_message VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE telemetry_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    vehicle_id VARCHAR(255) NOT NULL,
+    resolution VARCHAR(255) NOT NULL CHECK (resolution IN ('MINUTE', 'HOUR')),
+    bucket_start TIMESTAMP(6) NOT NULL,
+    sample_count BIGINT,
+    min_speed DOUBLE PRECISION,
+    max_speed DOUBLE PRECISION,
+    avg_speed DOUBLE PRECISION,
+    min_fuel_level DOUBLE PRECISION,
+    max_fuel_level DOUBLE PRECISION,
+    avg_fuel_level DOUBLE PRECISION,
+    min_battery_level DOUBLE PRECISION,
+    max_battery_level DOUBLE PRECISION,
+    avg_battery_level DOUBLE PRECISION,
+    min_engine_temperature DOUBLE PRECISION,
+    max_engine_temperature DOUBLE PRECISION,
+    avg_engine_temperature DOUBLE PRECISION,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_rollup_vehicle_resolution_bucket ON telemetry_rollups (vehicle_id, resolution, bucket_start);
@@ -0,0 +1,24 @@
+-- Composite indexes for the repository queries. Column order follows the equality filter first, then the
+-- range or ORDER BY column, so each query reads only its own rows in order instead of scanning and sorting.
+
+-- Per-vehicle history, latest sample and range reads
+CREATE INDEX idx_telemetry_vehicle_timestamp ON vehicle_telemetry (vehicle_id, timestamp);
+-- Fleet-wide recent window, rollup source ranges and the retention purge
+CREATE INDEX idx_telemetry_timestamp ON vehicle_telemetry (timestamp);
+
+-- Driver's current and upcoming trips, and the driver trip list newest first
+CREATE INDEX idx_trips_driver_status ON trips (driver_id, status);
+CREATE INDEX idx_trips_driver_created ON trips (driver_id, created_at);
+
+-- Customer and driver booking lists newest first
+CREATE INDEX idx_bookings_customer_created ON bookings (customer_id, created_at);
+CREATE INDEX idx_bookings_driver_created ON bookings (driver_id, created_at);
+-- Dispatch queue and active bookings: status filter, oldest or newest first
+CREATE INDEX idx_bookings_status_created ON bookings (status, created_at);
+
+CREATE INDEX idx_vehicles_status ON vehicles (status);
+CREATE INDEX idx_routes_route_id ON routes (route_id);
+CREATE INDEX idx_users_user_type ON users (user_type);
+
+-- Latest rollup bucket per resolution and the minute-rollup purge
+CREATE INDEX idx_rollup_resolution_bucket ON telemetry_rollups (resolution, bucket_start);
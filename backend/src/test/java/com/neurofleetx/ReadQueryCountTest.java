@@ -0,0 +1,145 @@
+package com.neurofleetx;
+
+import com.neurofleetx.model.Booking;
+import com.neurofleetx.model.Trip;
+import com.neurofleetx.model.User;
+import com.neurofleetx.model.Vehicle;
+import com.neurofleetx.repository.BookingRepository;
+import com.neurofleetx.repository.TripRepository;
+import com.neurofleetx.repository.UserRepository;
+import com.neurofleetx.repository.VehicleRepository;
+import com.neurofleetx.security.JwtUtils;
+import com.neurofleetx.security.PrincipalCache;
+import com.neurofleetx.security.UserDetailsImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Guards the list endpoints against N+1 loading: each must answer with a single prepared statement however
+// many rows it returns. Background jobs that query through Hibernate are off so the statistics stay exact.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "neurofleetx.telemetry.simulator.enabled=false",
+        "neurofleetx.dispatch.enabled=false",
+        "neurofleetx.telemetry.rollup.interval-ms=3600000",
+        "neurofleetx.metrics.reconcile-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class ReadQueryCountTest {
+
+    private static final String ADMIN = "admin@neurofleetx.com";
+    private static final String DRIVER = "driver@neurofleetx.com";
+    private static final String CUSTOMER = "customer@techsolutions.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    private Statistics statistics;
+
+    // The seed has one booking and one trip; a few more on other vehicles make per-row loading visible
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (bookingRepository.findByBookingId("BK-QC-1").isEmpty()) {
+            User customer = userRepository.findByEmail(CUSTOMER).orElseThrow();
+            User driver = userRepository.findByEmail(DRIVER).orElseThrow();
+            for (int i = 1; i <= 3; i++) {
+                Vehicle vehicle = vehicleRepository.findByVehicleId("FL-00" + (i + 1)).orElseThrow();
+                Booking booking = new Booking("BK-QC-" + i, customer, "Delhi Central Warehouse",
+                        "Connaught Place Hub", 18.5, 1500.0);
+                booking.setDriver(driver);
+                booking.setVehicle(vehicle);
+                booking = bookingRepository.save(booking);
+
+                Trip trip = new Trip("TR-QC-" + i, driver, vehicle, "Delhi Central Warehouse",
+                        "Connaught Place Hub", 18.5, 850.0);
+                trip.setBooking(booking);
+                tripRepository.save(trip);
+            }
+        }
+        for (String name : cacheManager.getCacheNames()) {
+            cacheManager.getCache(name).clear();
+        }
+    }
+
+    @Test
+    void vehicleListIsOneStatement() throws Exception {
+        String token = tokenFor(ADMIN);
+        long vehicles = vehicleRepository.count();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/vehicles").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(vehicles));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void driverTripsAreOneStatement() throws Exception {
+        String token = tokenFor(DRIVER);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/driver/trips").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void customerBookingsAreOneStatement() throws Exception {
+        String token = tokenFor(CUSTOMER);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/customer/bookings").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // Primes the principal cache as sign-in does, so the measured request counts only the endpoint's own reads
+    private String tokenFor(String email) {
+        User user = userRepository.findByEmail(email).orElseThrow();
+        principalCache.put(UserDetailsImpl.build(user), principalCache.generation());
+        return jwtUtils.generateJwtToken(email);
+    }
+}
@@ -1,8 +1,9 @@
 import React, { useState, useEffect, useRef } from 'react';
-import { MapContainer, TileLayer, Marker, Popup, Polyline } from 'react-leaflet';
+import { MapContainer, TileLayer, Marker, Popup, Polyline, useMapEvents } from 'react-leaflet';
 import L from 'leaflet';
 import { MapPin, Navigation, Clock, Car, Truck, AlertCircle } from 'lucide-react';
 import 'leaflet/dist/leaflet.css';
+import { webSocketService, TelemetryData, ViewportBounds } from '../services/websocket';
 
 // Fix for default markers in react-leaflet
 delete (L.Icon.Default.prototype as any)._getIconUrl;
@@ -12,6 +13,27 @@ L.Icon.Default.mergeOptions({
   shadowUrl: 'https://cdnjs.cloudflare.com/ajax/libs/leaflet/1.7.1/images/marker-shadow.png',
 });
 
+// Leaflet bounds can extend past the antimeridian when zoomed out; the server expects valid coordinates
+const toViewportBounds = (bounds: L.LatLngBounds): ViewportBounds => ({
+  minLatitude: Math.max(-90, bounds.getSouth()),
+  minLongitude: Math.max(-180, bounds.getWest()),
+  maxLatitude: Math.min(90, bounds.getNorth()),
+  maxLongitude: Math.min(180, bounds.getEast()),
+});
+
+// Reports the visible map area so the server only streams vehicles inside it
+const ViewportTracker: React.FC<{ onChange: (bounds: ViewportBounds) => void }> = ({ onChange }) => {
+  const map = useMapEvents({
+    moveend: () => onChange(toViewportBounds(map.getBounds())),
+  });
+
+  useEffect(() => {
+    onChange(toViewportBounds(map.getBounds()));
+  }, []);
+
+  return null;
+};
+
 const VehicleMap: React.FC = () => {
   const [vehicles, setVehicles] = useState([
     { 
@@ -58,6 +80,52 @@ const VehicleMap: React.FC = () => {
 
   const [lastRefresh, setLastRefresh] = useState(new Date());
   const [isRefreshing, setIsRefreshing] = useState(false);
+  const viewportRef = useRef<ViewportBounds | null>(null);
+
+  // Merge a batch of live updates in one pass instead of one state update per vehicle
+  const applyTelemetryBatch = (batch: TelemetryData[]) => {
+    setVehicles(prevVehicles => {
+      const byId = new Map(prevVehicles.map(vehicle => [vehicle.id, vehicle]));
+      batch.forEach(data => {
+        const current = byId.get(data.vehicleId);
+        const status = data.speed > 0 ? 'moving' : 'stopped';
+        byId.set(data.vehicleId, {
+          id: data.vehicleId,
+          type: current?.type ?? 'van',
+          destination: current?.destination ?? '-',
+          driver: current?.driver ?? '-',
+          lat: data.latitude,
+          lng: data.longitude,
+          speed: `${Math.round(data.speed)} km/h`,
+          status: current?.status === 'loading' && status === 'stopped' ? 'loading' : status,
+        });
+      });
+      return Array.from(byId.values());
+    });
+    setLastRefresh(new Date());
+  };
+
+  const handleViewportChange = (bounds: ViewportBounds) => {
+    viewportRef.current = bounds;
+    webSocketService.updateViewport(bounds);
+  };
+
+  // Live positions for the visible area only; falls back to the local simulation when offline
+  useEffect(() => {
+    let active = true;
+    webSocketService.connect()
+      .then(() => {
+        if (active && viewportRef.current) {
+          webSocketService.subscribeToViewport(viewportRef.current, applyTelemetryBatch);
+        }
+      })
+      .catch(error => console.error('Live map updates unavailable:', error));
+
+    return () => {
+      active = false;
+      webSocketService.clearViewport();
+    };
+  }, []);
 
   const alerts = [
     { id: 1, type: 'traffic', message: 'Heavy traffic on Delhi-Gurgaon Expressway', severity: 'warning' },
@@ -183,6 +251,8 @@ const VehicleMap: React.FC = () => {
                 style={{ height: '100%', width: '100%' }}
                 className="z-0"
               >
+                <ViewportTracker onChange={handleViewportChange} />
+
                 <TileLayer
                   attribution='&copy; <a href="https://www.openstreetmap.org/copyright">OpenStreetMap</a> contributors'
                   url="https://{s}.tile.openstreetmap.org/{z}/{x}/{y}.png"
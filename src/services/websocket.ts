@@ -1,5 +1,5 @@
 import SockJS from 'sockjs-client';
-import { Client } from '@stomp/stompjs';
+import { Client, StompSubscription } from '@stomp/stompjs';
 
 export interface TelemetryData {
   id: number;
@@ -17,11 +17,19 @@ export interface TelemetryData {
   alertMessage?: string;
 }
 
+export interface ViewportBounds {
+  minLatitude: number;
+  minLongitude: number;
+  maxLatitude: number;
+  maxLongitude: number;
+}
+
 class WebSocketService {
   private client: Client | null = null;
   private connected = false;
+  private viewportSubscription: StompSubscription | null = null;
 
-  connect(onTelemetryUpdate: (data: TelemetryData) => void): Promise<void> {
+  connect(onTelemetryUpdate?: (data: TelemetryData) => void): Promise<void> {
     return new Promise((resolve, reject) => {
       try {
         const socket = new SockJS('/ws-telemetry');
@@ -34,11 +42,14 @@ class WebSocketService {
             console.log('WebSocket connected');
             this.connected = true;
             
-            // Subscribe to all telemetry updates
-            this.client?.subscribe('/topic/telemetry', (message) => {
-              const telemetryData: TelemetryData = JSON.parse(message.body);
-              onTelemetryUpdate(telemetryData);
-            });
+            // Subscribe to all telemetry updates (each frame is a batch of conflated updates).
+            // Map views should use subscribeToViewport instead of receiving the whole fleet.
+            if (onTelemetryUpdate) {
+              this.client?.subscribe('/topic/telemetry', (message) => {
+                const batch: TelemetryData[] = JSON.parse(message.body);
+                batch.forEach(onTelemetryUpdate);
+              });
+            }
             
             resolve();
           },
@@ -70,6 +81,31 @@ class WebSocketService {
     }
   }
 
+  // Only vehicles inside the bounds are pushed; the first batch is a snapshot of the area
+  subscribeToViewport(bounds: ViewportBounds, onBatch: (batch: TelemetryData[]) => void): void {
+    if (this.client && this.connected) {
+      this.viewportSubscription?.unsubscribe();
+      this.viewportSubscription = this.client.subscribe('/user/queue/telemetry-viewport', (message) => {
+        onBatch(JSON.parse(message.body));
+      });
+      this.updateViewport(bounds);
+    }
+  }
+
+  updateViewport(bounds: ViewportBounds): void {
+    if (this.client && this.connected && this.viewportSubscription) {
+      this.client.publish({ destination: '/app/telemetry/viewport', body: JSON.stringify(bounds) });
+    }
+  }
+
+  clearViewport(): void {
+    if (this.client && this.connected && this.viewportSubscription) {
+      this.viewportSubscription.unsubscribe();
+      this.client.publish({ destination: '/app/telemetry/viewport/clear', body: '' });
+    }
+    this.viewportSubscription = null;
+  }
+
   disconnect(): void {
     if (this.client) {
       this.client.deactivate();